@@ -0,0 +1,51 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 벤치마크용 UserPointTable
+ * - 템플릿 UserPointTable 은 고치지 않고, 같은 저장 방식(HashMap)과 지연을 다시 구현해 지연만 켜고 끌 수 있게 한다.
+ * - 지연을 끄면 Thread.sleep 이 아닌 우리 코드의 비용을 측정한다.
+ */
+public class BenchmarkUserPointTable extends UserPointTable {
+
+    private final Map<Long, UserPoint> table = new HashMap<>();
+    private volatile boolean throttled;
+
+    public BenchmarkUserPointTable(boolean throttled) {
+        this.throttled = throttled;
+    }
+
+    public void setThrottled(boolean throttled) {
+        this.throttled = throttled;
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        throttle(200);
+        return table.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        throttle(300);
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        table.put(id, userPoint);
+        return userPoint;
+    }
+
+    private void throttle(long millis) {
+        if (!throttled) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep((long) (Math.random() * millis));
+        } catch (InterruptedException ignored) {
+
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.lock.AdaptiveFairLock.Fairness;
+import io.hhplus.tdd.point.lock.LockObserver;
+import io.hhplus.tdd.point.lock.StripedLockManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저 락 획득/해제 비용
+ * - 경합 없음(1 스레드), 같은 유저에 대한 경합, 서로 다른 유저에 대한 병렬 처리를 공정/비공정/적응형 락으로 비교한다.
+ * - fair 가 기존 동작(항상 공정)이고, adaptive 는 기본 설정 값(5ms, 대기 8)으로 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LockBenchmark {
+
+    private static final long HOT_USER_ID = 1L;
+    private static final int USER_COUNT = 10_000;
+
+    @Param({"fair", "non-fair", "adaptive"})
+    public String policy;
+
+    private StripedLockManager lockManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        lockManager = new StripedLockManager(1024, Fairness.of(policy, 5L, 8), new long[0], 0L, LockObserver.NOOP);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Long uncontended(ThreadState state) {
+        long userId = state.random.nextInt(USER_COUNT) + 1L;
+        return lockManager.executeWithLock(userId, () -> userId);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Long sameUser_8Threads() {
+        return lockManager.executeWithLock(HOT_USER_ID, () -> HOT_USER_ID);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Long distinctUsers_8Threads(ThreadState state) {
+        long userId = state.random.nextInt(USER_COUNT) + 1L;
+        return lockManager.executeWithLock(userId, () -> userId);
+    }
+}
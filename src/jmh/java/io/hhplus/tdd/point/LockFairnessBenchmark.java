@@ -0,0 +1,111 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.lock.AdaptiveFairLock;
+import io.hhplus.tdd.point.lock.AdaptiveFairLock.Fairness;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 한 유저(락 하나)에 몰린 요청의 처리량과 대기 시간 분포
+ * - reentrant-fair 가 기존 동작(ReentrantLock(true))이고, reentrant-non-fair 는 새치기를 허용했을 때의 상한이다.
+ * - adaptive 는 기다린 시간/대기 스레드 수가 기준을 넘을 때만 공정으로 바꾸므로, 짧은 경합에서는 비공정에 가깝고
+ *   긴 경합에서는 공정에 가까운 꼬리 지연(p99, p99.99)을 보여야 한다.
+ *   adaptive-fixed 는 대기 기준을 점유 시간과 관계없이 고정(5ms)한 것으로, 점유가 긴 락에서 adaptive 와 비교하는 용도다.
+ * - tokens 는 락을 잡은 동안 하는 일의 양(Blackhole.consumeCPU)이다.
+ * - 구간별로 adaptive 가 어느 쪽에 가까워야 하는지
+ *   hotUser_16Threads : 대기 스레드가 queue-threshold(8)를 넘으므로 공정과 같아야 한다.
+ *   burst_4Threads : 락 밖에서 일하다 가끔 부딪히는 경우. 대기가 짧고 적어 비공정으로 머물러야 한다.
+ *   slowHold_4Threads : 저장소 호출처럼 락을 10ms 씩 잡고, 락 밖에서 평균 60ms 쉬었다 오는 경우.
+ *   앞 사람 한 명만 기다려도 5ms 를 넘으므로 adaptive-fixed 는 거의 항상 공정이지만,
+ *   adaptive 는 대기가 평균 점유 시간의 4배(40ms)를 넘을 때만 공정으로 바뀌어 대부분 비공정으로 머물러야 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LockFairnessBenchmark {
+
+    @Param({"reentrant-fair", "reentrant-non-fair", "adaptive", "adaptive-fixed"})
+    public String lock;
+
+    @Param({"10", "1000"})
+    public long tokens;
+
+    private static final long SLOW_HOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(10L);
+    private static final long SLOW_THINK_NANOS = TimeUnit.MILLISECONDS.toNanos(60L);
+
+    private Lock hotLock;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        hotLock = switch (lock) {
+            case "reentrant-fair" -> new ReentrantLock(true);
+            case "reentrant-non-fair" -> new ReentrantLock(false);
+            case "adaptive" -> new AdaptiveFairLock(Fairness.adaptive(5L, 8));
+            case "adaptive-fixed" -> new AdaptiveFairLock(Fairness.adaptive(5L, 8, 0));
+            default -> throw new IllegalArgumentException("알 수 없는 락: " + lock);
+        };
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void uncontended() {
+        withLock();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void hotUser_4Threads() {
+        withLock();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void hotUser_16Threads() {
+        withLock();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void burst_4Threads() {
+        withLock();
+        Blackhole.consumeCPU(tokens * 20);
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void slowHold_4Threads() {
+        hotLock.lock();
+        try {
+            LockSupport.parkNanos(SLOW_HOLD_NANOS);
+        } finally {
+            hotLock.unlock();
+        }
+        // 쉬는 시간이 일정하면 스레드들이 서로 엇갈린 주기로 맞물려 경합이 사라지므로 무작위로 쉰다.
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(2 * SLOW_THINK_NANOS));
+    }
+
+    private void withLock() {
+        hotLock.lock();
+        try {
+            Blackhole.consumeCPU(tokens);
+        } finally {
+            hotLock.unlock();
+        }
+    }
+}
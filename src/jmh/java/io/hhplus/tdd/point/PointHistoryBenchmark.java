@@ -0,0 +1,77 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.BenchmarkPointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.infrastructure.ColumnarPointHistoryStore;
+import io.hhplus.tdd.point.infrastructure.PointHistoryStore;
+import io.hhplus.tdd.point.infrastructure.TablePointHistoryStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저별 포인트 내역 조회 비용
+ * - 전체 내역 수를 늘려가며 PointHistoryTable 의 전체 스캔과 PointHistoryStore 의 유저별 인덱스를 비교한다.
+ * - columnar 는 ColumnarPointHistoryStore 의 전체 조회와 기간 조회(최근 1%) 비용이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointHistoryBenchmark {
+
+    private static final int USER_COUNT = 100;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private PointHistoryTable pointHistoryTable;
+    private PointHistoryStore pointHistoryStore;
+    private PointHistoryStore columnarPointHistoryStore;
+    private final SplittableRandom random = new SplittableRandom();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pointHistoryTable = new BenchmarkPointHistoryTable(false);
+        pointHistoryStore = new TablePointHistoryStore(new BenchmarkPointHistoryTable(false));
+        columnarPointHistoryStore = new ColumnarPointHistoryStore();
+        for (int i = 0; i < size; i++) {
+            long userId = i % USER_COUNT + 1L;
+            pointHistoryTable.insert(userId, 100L, TransactionType.CHARGE, i);
+            pointHistoryStore.insert(userId, 100L, TransactionType.CHARGE, i);
+            columnarPointHistoryStore.insert(userId, 100L, TransactionType.CHARGE, i);
+        }
+    }
+
+    @Benchmark
+    public List<PointHistory> tableSelectAllByUserId() {
+        return pointHistoryTable.selectAllByUserId(random.nextInt(USER_COUNT) + 1L);
+    }
+
+    @Benchmark
+    public List<PointHistory> storeSelectAllByUserId() {
+        return pointHistoryStore.selectAllByUserId(random.nextInt(USER_COUNT) + 1L);
+    }
+
+    @Benchmark
+    public List<PointHistory> columnarSelectAllByUserId() {
+        return columnarPointHistoryStore.selectAllByUserId(random.nextInt(USER_COUNT) + 1L);
+    }
+
+    @Benchmark
+    public List<PointHistory> columnarSelectRecentPeriod() {
+        return columnarPointHistoryStore.selectByUserId(
+                random.nextInt(USER_COUNT) + 1L, 0L, size - size / 100, Long.MAX_VALUE, Integer.MAX_VALUE);
+    }
+}
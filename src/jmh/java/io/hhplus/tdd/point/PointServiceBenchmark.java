@@ -0,0 +1,129 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.BenchmarkPointHistoryTable;
+import io.hhplus.tdd.database.BenchmarkUserPointTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.domain.PointCommandCoalescer;
+import io.hhplus.tdd.point.domain.PointService;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.execution.LockingPointCommandExecutor;
+import io.hhplus.tdd.point.infrastructure.IdempotencyCache;
+import io.hhplus.tdd.point.infrastructure.OptimisticUserPointStore;
+import io.hhplus.tdd.point.infrastructure.PointHistoryStore;
+import io.hhplus.tdd.point.infrastructure.PointHistoryWriter;
+import io.hhplus.tdd.point.infrastructure.PointSummaryStore;
+import io.hhplus.tdd.point.infrastructure.TablePointHistoryStore;
+import io.hhplus.tdd.point.infrastructure.TableUserPointRepository;
+import io.hhplus.tdd.point.infrastructure.UserPointCache;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+import io.hhplus.tdd.point.lock.StripedLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.wal.PointTransactionLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 충전/사용 처리량
+ * - 1/8/64 스레드에서 균등(uniform) 분포와 편향(zipf) 분포의 유저 ID 로 충전과 사용을 섞어 호출한다.
+ * - Table 의 지연은 끄고, 락/캐시/내역 기록/합치기(coalescing)를 포함한 서비스 경로 전체를 측정한다.
+ * - concurrency 로 유저 락(lock) 경로와 낙관적(optimistic) 경로를 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PointServiceBenchmark {
+
+    private static final long INITIAL_POINT = 500_000L; // 충전/사용이 잔고 정책에 걸리지 않도록 중간값에서 시작
+    private static final long AMOUNT = 10L;
+
+    @Param({"uniform", "zipf"})
+    public String distribution;
+
+    @Param({"10000"})
+    public int userCount;
+
+    @Param({"lock", "optimistic"})
+    public String concurrency;
+
+    private PointService pointService;
+    private PointHistoryWriter pointHistoryWriter;
+    private UserIdDistribution userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserPointTable userPointTable = new BenchmarkUserPointTable(false);
+        for (long id = 1; id <= userCount; id++) {
+            userPointTable.insertOrUpdate(id, INITIAL_POINT);
+        }
+        pointHistoryWriter = new PointHistoryWriter(new TablePointHistoryStore(new BenchmarkPointHistoryTable(false)), 100, 100_000);
+        StripedLockManager lockManager = new StripedLockManager(1024, true, new long[0]);
+        UserPointRepository userPointRepository = new TableUserPointRepository(userPointTable, "optimistic".equals(concurrency));
+        pointService = new PointService(
+                userPointRepository,
+                new TablePointHistoryStore(new BenchmarkPointHistoryTable(false)),
+                new UserPointCache(100_000),
+                pointHistoryWriter,
+                new LockingPointCommandExecutor(lockManager),
+                new PointCommandCoalescer(256),
+                new PointMetrics(new SimpleMeterRegistry()),
+                new OptimisticUserPointStore(userPointRepository, pointHistoryWriter, PointTransactionLog.NOOP,
+                        "optimistic".equals(concurrency), 3, 8, new long[0]),
+                PointTransactionLog.NOOP,
+                new IdempotencyCache(1000, 60_000L),
+                new PointSummaryStore()
+        );
+        userIds = UserIdDistribution.of(distribution, userCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pointHistoryWriter.close();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UserPoint chargeOrUse_1Thread(ThreadState state) {
+        return chargeOrUse(state.random);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint chargeOrUse_8Threads(ThreadState state) {
+        return chargeOrUse(state.random);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public UserPoint chargeOrUse_64Threads(ThreadState state) {
+        return chargeOrUse(state.random);
+    }
+
+    private UserPoint chargeOrUse(SplittableRandom random) {
+        long userId = userIds.next(random);
+        try {
+            return random.nextBoolean()
+                    ? pointService.chargeUserPoint(userId, AMOUNT)
+                    : pointService.useUserPoint(userId, AMOUNT);
+        } catch (IllegalArgumentException e) {
+            return null; // 잔고 정책에 걸린 경우도 한 번의 처리로 센다.
+        }
+    }
+}
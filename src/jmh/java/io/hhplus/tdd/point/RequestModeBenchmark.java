@@ -0,0 +1,142 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.BenchmarkPointHistoryTable;
+import io.hhplus.tdd.database.BenchmarkUserPointTable;
+import io.hhplus.tdd.point.domain.PointCommandCoalescer;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointService;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.execution.LockingPointCommandExecutor;
+import io.hhplus.tdd.point.infrastructure.IdempotencyCache;
+import io.hhplus.tdd.point.infrastructure.OptimisticUserPointStore;
+import io.hhplus.tdd.point.infrastructure.PointHistoryStore;
+import io.hhplus.tdd.point.infrastructure.PointHistoryWriter;
+import io.hhplus.tdd.point.infrastructure.PointSummaryStore;
+import io.hhplus.tdd.point.infrastructure.TablePointHistoryStore;
+import io.hhplus.tdd.point.infrastructure.TableUserPointRepository;
+import io.hhplus.tdd.point.infrastructure.UserPointCache;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+import io.hhplus.tdd.point.lock.StripedLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.wal.PointTransactionLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 요청 처리 스레드 모델별 부하 테스트
+ * - platform: Tomcat 기본 최대 스레드 수(200)만큼의 플랫폼 스레드 풀에서 요청을 처리한다.
+ * - virtual: 요청마다 가상 스레드를 만든다. (spring.threads.virtual.enabled=true 와 같은 구성)
+ * - Table 지연(sleep)을 켠 채 서로 다른 유저에게 requests 건의 충전을 한꺼번에 보내고,
+ *   모두 끝날 때까지 걸린 시간과 동시에 처리 중이던 최대 요청 수(peakInFlight)를 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class RequestModeBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"200", "1000", "5000"})
+    public int requests;
+
+    private PointService pointService;
+    private PointHistoryWriter pointHistoryWriter;
+    private ExecutorService executorService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 동시 쓰기에 안전하지 않은 테이블 맵이 자라지 않도록 유저를 미리 넣어 두고, 측정할 때만 지연을 켠다.
+        BenchmarkUserPointTable userPointTable = new BenchmarkUserPointTable(false);
+        for (long id = 1; id <= requests; id++) {
+            userPointTable.insertOrUpdate(id, 0L);
+        }
+        userPointTable.setThrottled(true);
+
+        // 내역은 요청 스레드와 무관한 단일 쓰기 스레드가 기록하므로 측정에서 제외한다.
+        PointHistoryStore discardingStore = new TablePointHistoryStore(new BenchmarkPointHistoryTable(false)) {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                return null;
+            }
+        };
+        pointHistoryWriter = new PointHistoryWriter(discardingStore, 100, 100_000);
+        StripedLockManager lockManager = new StripedLockManager(1024, true, new long[0]);
+        UserPointRepository userPointRepository = new TableUserPointRepository(userPointTable);
+        pointService = new PointService(
+                userPointRepository,
+                discardingStore,
+                new UserPointCache(0),
+                pointHistoryWriter,
+                new LockingPointCommandExecutor(lockManager),
+                new PointCommandCoalescer(256),
+                new PointMetrics(new SimpleMeterRegistry()),
+                new OptimisticUserPointStore(userPointRepository, pointHistoryWriter, PointTransactionLog.NOOP,
+                        false, 3, 8, new long[0]),
+                PointTransactionLog.NOOP,
+                new IdempotencyCache(1000, 60_000L),
+                new PointSummaryStore()
+        );
+        executorService = "virtual".equals(mode)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executorService.shutdownNow();
+        pointHistoryWriter.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class InFlight {
+        public long peakInFlight;
+    }
+
+    @Benchmark
+    public void chargeConcurrently(InFlight inFlight) throws Exception {
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(requests);
+        for (long id = 1; id <= requests; id++) {
+            long userId = id;
+            futures.add(executorService.submit(() -> {
+                peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+                try {
+                    pointService.chargeUserPoint(userId, 10L);
+                } finally {
+                    current.decrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        inFlight.peakInFlight = Math.max(inFlight.peakInFlight, peak.get());
+    }
+}
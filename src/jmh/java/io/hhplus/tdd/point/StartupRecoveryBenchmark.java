@@ -0,0 +1,138 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.infrastructure.ColumnarPointHistoryStore;
+import io.hhplus.tdd.point.infrastructure.PointHistoryWriter;
+import io.hhplus.tdd.point.infrastructure.PointSummaryStore;
+import io.hhplus.tdd.point.infrastructure.PrimitiveUserPointRepository;
+import io.hhplus.tdd.point.wal.Durability;
+import io.hhplus.tdd.point.wal.MappedPointTransactionLog;
+import io.hhplus.tdd.point.wal.PointRecovery;
+import io.hhplus.tdd.point.wal.PointSnapshotStore;
+import io.hhplus.tdd.point.wal.PointSnapshotter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * 시작 시 복구 시간
+ * - users 명의 잔고를 담은 스냅샷, 스냅샷을 만들며 로그에서 옮겨 둔 내역 보관 파일 histories 건,
+ *   그 뒤의 로그 tail 건을 미리 만들어 두고 빈 PrimitiveUserPointRepository 로 복구한다.
+ * - recover : 요청을 받을 수 있을 때(잔고 복구)까지의 시간. 보관 내역 수와 무관해야 한다.
+ * - recoverWithHistories : 별도 스레드의 내역/집계 복구까지 끝날 때까지의 시간
+ * - 50M 유저는 스냅샷 파일 약 1.2GB, 잔고 저장소 약 3GB 를 쓰므로 JMH 힙을 충분히 준다. (-Xmx8g 이상)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class StartupRecoveryBenchmark {
+
+    @Param({"1000000", "10000000", "50000000"})
+    public int users;
+
+    @Param({"100000"})
+    public int tail;
+
+    @Param({"0", "10000000"})
+    public int histories;
+
+    @Param({"1", "8"})
+    public int parallelism;
+
+    private Path directory;
+    private PointSnapshotStore pointSnapshotStore;
+    private MappedPointTransactionLog pointTransactionLog;
+    private PointHistoryWriter pointHistoryWriter;
+    private PointRecovery pointRecovery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("point-recovery-");
+        pointSnapshotStore = new PointSnapshotStore(directory.resolve("snapshot"), 65_536, 1);
+        try (PointSnapshotStore.Writer writer = pointSnapshotStore.begin(0L, 0L)) {
+            for (long userId = 1; userId <= users; userId++) {
+                writer.add(userId, userId % 1_000_000L, userId);
+            }
+            writer.commit();
+        }
+        pointTransactionLog = new MappedPointTransactionLog(directory.resolve("wal"), 64 * 1024 * 1024, Durability.ASYNC, 5);
+        SplittableRandom random = new SplittableRandom(42);
+        long lastLsn = 0L;
+        for (int i = 0; i < histories; i++) {
+            lastLsn = pointTransactionLog.append(random.nextLong(1, users + 1L), TransactionType.CHARGE, 10L, 10L, i);
+        }
+        if (histories > 0) {
+            // ASYNC 는 awaitDurable 이 기다리지 않으므로, 스냅샷이 옮길 수 있게 그룹 커밋으로 반영될 때까지 기다린다.
+            while (pointTransactionLog.durableLsn() < lastLsn) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+            }
+            try (PointSnapshotter pointSnapshotter = new PointSnapshotter(pointTransactionLog, pointSnapshotStore, Long.MAX_VALUE)) {
+                pointSnapshotter.snapshot();
+            }
+        }
+        for (int i = 0; i < tail; i++) {
+            pointTransactionLog.append(random.nextLong(1, users + 1L), TransactionType.CHARGE, 10L, 10L, histories + i);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void finishRecovery() {
+        pointRecovery.historiesRestored().join();
+        pointHistoryWriter.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pointTransactionLog.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public PointRecovery.Result recover() {
+        return newRecovery().recover();
+    }
+
+    @Benchmark
+    public long recoverWithHistories() {
+        PointRecovery recovery = newRecovery();
+        recovery.recover();
+        return recovery.historiesRestored().join();
+    }
+
+    private PointRecovery newRecovery() {
+        ColumnarPointHistoryStore pointHistoryStore = new ColumnarPointHistoryStore();
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryStore, 100, 100_000);
+        pointRecovery = new PointRecovery(
+                new PrimitiveUserPointRepository(64, users),
+                pointHistoryStore,
+                pointHistoryWriter,
+                new PointSummaryStore(),
+                pointTransactionLog,
+                pointSnapshotStore,
+                parallelism
+        );
+        return pointRecovery;
+    }
+}
@@ -0,0 +1,50 @@
+package io.hhplus.tdd.point;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크용 유저 ID 분포
+ * - uniform: 1 ~ userCount 를 균등하게 고른다.
+ * - zipf: 순위 k 의 유저가 1 / k^s 에 비례해 선택된다. (소수의 인기 유저에 요청이 몰리는 상황)
+ */
+final class UserIdDistribution {
+
+    private final int userCount;
+    private final double[] cumulative; // zipf 일 때만 사용
+
+    private UserIdDistribution(int userCount, double[] cumulative) {
+        this.userCount = userCount;
+        this.cumulative = cumulative;
+    }
+
+    static UserIdDistribution of(String name, int userCount) {
+        return switch (name) {
+            case "uniform" -> new UserIdDistribution(userCount, null);
+            case "zipf" -> new UserIdDistribution(userCount, zipfCumulative(userCount, 1.0));
+            default -> throw new IllegalArgumentException("지원하지 않는 분포입니다. distribution: " + name);
+        };
+    }
+
+    long next(SplittableRandom random) {
+        if (cumulative == null) {
+            return random.nextInt(userCount) + 1L;
+        }
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return (index >= 0 ? index : -index - 1) + 1L;
+    }
+
+    private static double[] zipfCumulative(int userCount, double exponent) {
+        double[] cumulative = new double[userCount];
+        double sum = 0;
+        for (int rank = 1; rank <= userCount; rank++) {
+            sum += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < userCount; i++) {
+            cumulative[i] /= sum;
+        }
+        cumulative[userCount - 1] = 1.0;
+        return cumulative;
+    }
+}
@@ -0,0 +1,33 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserPoint 충전/사용 정책 비용
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserPointBenchmark {
+
+    private final UserPoint userPoint = new UserPoint(1L, 500_000L, 0L);
+    private long amount = 100L;
+
+    @Benchmark
+    public UserPoint charge() {
+        return userPoint.charge(amount);
+    }
+
+    @Benchmark
+    public UserPoint use() {
+        return userPoint.use(amount);
+    }
+}
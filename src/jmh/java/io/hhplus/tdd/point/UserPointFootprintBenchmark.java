@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.BenchmarkUserPointTable;
+import io.hhplus.tdd.point.infrastructure.PrimitiveUserPointRepository;
+import io.hhplus.tdd.point.infrastructure.TableUserPointRepository;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔고 저장소 메모리 사용량 비교
+ * - table: UserPointTable (HashMap<Long, UserPoint>)
+ * - primitive: PrimitiveUserPointRepository (long 배열 열린 주소법)
+ * - users 명의 잔고를 채우는 시간과, 채운 뒤 GC 후 늘어난 힙을 유저 수로 나눈 값(bytesPerUser)을 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class UserPointFootprintBenchmark {
+
+    @Param({"table", "primitive"})
+    public String store;
+
+    @Param({"1000000", "5000000"})
+    public int users;
+
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long bytesPerUser;
+    }
+
+    @Benchmark
+    public UserPointRepository fill(Footprint footprint) {
+        long before = usedHeapAfterGc();
+        UserPointRepository filled = "table".equals(store)
+                ? new TableUserPointRepository(new BenchmarkUserPointTable(false))
+                : new PrimitiveUserPointRepository(64, 1024);
+        for (long id = 1; id <= users; id++) {
+            filled.insertOrUpdate(id, id % 1_000_000L);
+        }
+        footprint.bytesPerUser = (usedHeapAfterGc() - before) / users;
+        return filled;
+    }
+
+    private long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoryMXBean.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -1,5 +1,8 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.point.lock.PointBusyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -7,6 +10,21 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 @RestControllerAdvice
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
+
+    private final int busyStatus;
+    private final long retryAfterSeconds;
+
+    ApiControllerAdvice(
+            @Value("${point.admission.busy-status:429}") int busyStatus,
+            @Value("${point.admission.retry-after-seconds:1}") long retryAfterSeconds
+    ) {
+        if (busyStatus != 429 && busyStatus != 503) {
+            throw new IllegalArgumentException("혼잡 응답 코드는 429 또는 503 이어야 합니다. busyStatus: " + busyStatus);
+        }
+        this.busyStatus = busyStatus;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
@@ -18,4 +36,15 @@ class ApiControllerAdvice extends ResponseEntityExceptionHandler {
                 .badRequest()
                 .body(new ErrorResponse("400", e.getMessage()));
     }
+
+    /**
+     * 유저 단위 처리 용량을 넘어 거절된 요청은 반영되지 않았으므로, 429(또는 503)와 Retry-After 로 다시 시도할 시점을 알려준다.
+     */
+    @ExceptionHandler(PointBusyException.class)
+    public ResponseEntity<ErrorResponse> handlePointBusyException(PointBusyException e) {
+        return ResponseEntity
+                .status(busyStatus)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ErrorResponse(String.valueOf(busyStatus), e.getMessage()));
+    }
 }
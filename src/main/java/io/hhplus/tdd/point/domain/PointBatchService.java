@@ -0,0 +1,155 @@
+package io.hhplus.tdd.point.domain;
+
+import io.hhplus.tdd.point.lock.PointBusyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 여러 유저의 포인트 충전/사용 일괄 처리
+ * - 명령을 유저별로 나눠, 서로 다른 유저는 병렬로 처리한다. 한 요청에서 동시에 처리하는 유저 수는 parallelism 으로 제한한다.
+ * - 같은 유저의 명령은 요청에 담긴 순서대로, 앞 명령이 끝난 뒤 다음 명령을 PointService 비동기 API 로 보낸다.
+ *   별도 스레드 풀 없이 PointService 의 실행기에서 처리되므로, 실행기가 가득 차면 해당 명령은 실패 결과로 반환된다.
+ * - 명령별로 성공/실패를 따로 반환하며, 한 명령의 실패가 다른 명령에 영향을 주지 않는다.
+ */
+@Service
+public class PointBatchService {
+
+    public static final int MAX_BATCH_SIZE = 10_000; // 한 번에 처리할 수 있는 최대 명령 수
+
+    private static final Logger log = LoggerFactory.getLogger(PointBatchService.class);
+
+    private final PointService pointService;
+    private final int parallelism;
+
+    public PointBatchService(
+            PointService pointService,
+            @Value("${point.batch.parallelism:16}") int parallelism
+    ) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("일괄 처리 병렬도는 1 이상이어야 합니다. parallelism: " + parallelism);
+        }
+        this.pointService = pointService;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * 명령 목록 일괄 처리
+     * - 목록 크기와 빈 명령은 처리 전에 검증해 IllegalArgumentException 으로 거절한다.
+     * - 요청 스레드를 기다리게 하지 않고, 모든 명령이 끝나면 요청한 명령과 같은 순서의 결과로 완료되는 future 를 반환한다.
+     */
+    public CompletableFuture<List<PointCommandResult>> execute(List<PointCommand> commands) {
+        if (commands.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("한 번에 처리할 수 있는 명령은 최대 " + MAX_BATCH_SIZE + "건입니다. size: " + commands.size());
+        }
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            PointCommand command = commands.get(i);
+            if (command == null) {
+                throw new IllegalArgumentException("빈 명령이 있습니다. index: " + i);
+            }
+            indexesByUser.computeIfAbsent(command.userId(), userId -> new ArrayList<>()).add(i);
+        }
+
+        BatchRun run = new BatchRun(commands, new ArrayList<>(indexesByUser.values()));
+        int laneCount = Math.min(parallelism, indexesByUser.size());
+        List<CompletableFuture<Void>> lanes = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            lanes.add(run.startLane());
+        }
+        return CompletableFuture.allOf(lanes.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> Arrays.asList(run.results));
+    }
+
+    // 실패는 예외가 아닌 실패 결과로 완료한다.
+    private CompletableFuture<PointCommandResult> executeCommand(PointCommand command) {
+        CompletableFuture<UserPoint> userPoint;
+        try {
+            UserPoint.validateId(command.userId());
+            if (command.type() == null) {
+                throw new IllegalArgumentException("포인트 트랜잭션 종류가 없습니다.");
+            }
+            userPoint = command.type() == TransactionType.CHARGE
+                    ? pointService.chargeUserPointAsync(command.userId(), command.amount())
+                    : pointService.useUserPointAsync(command.userId(), command.amount());
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(failure(command, e));
+        }
+        return userPoint.handle((updated, e) -> e == null ? PointCommandResult.success(command, updated) : failure(command, e));
+    }
+
+    private static PointCommandResult failure(PointCommand command, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof IllegalArgumentException || cause instanceof PointBusyException) {
+            return PointCommandResult.failure(command, cause.getMessage());
+        }
+        log.error("포인트 일괄 처리 중 에러가 발생했습니다. command: {}", command, cause);
+        return PointCommandResult.failure(command, "에러가 발생했습니다.");
+    }
+
+    /**
+     * 한 요청의 처리 상태
+     * - 각 Lane 은 아직 시작하지 않은 유저를 하나씩 가져가 그 유저의 명령을 끝낸 뒤 다음 유저로 넘어간다.
+     */
+    private final class BatchRun {
+
+        private final List<PointCommand> commands;
+        private final List<List<Integer>> groups;
+        private final PointCommandResult[] results;
+        private final AtomicInteger nextGroup = new AtomicInteger();
+
+        private BatchRun(List<PointCommand> commands, List<List<Integer>> groups) {
+            this.commands = commands;
+            this.groups = groups;
+            this.results = new PointCommandResult[commands.size()];
+        }
+
+        private CompletableFuture<Void> startLane() {
+            Lane lane = new Lane();
+            lane.run();
+            return lane.done;
+        }
+
+        private final class Lane {
+
+            private final CompletableFuture<Void> done = new CompletableFuture<>();
+            private List<Integer> group = List.of();
+            private int position;
+
+            // 바로 끝난 명령은 반복문으로 이어 가 스택이 깊어지지 않게 하고, 끝나지 않은 명령은 완료 콜백에서 이어 간다.
+            private void run() {
+                while (true) {
+                    if (position == group.size()) {
+                        int next = nextGroup.getAndIncrement();
+                        if (next >= groups.size()) {
+                            done.complete(null);
+                            return;
+                        }
+                        group = groups.get(next);
+                        position = 0;
+                    }
+                    int index = group.get(position++);
+                    CompletableFuture<PointCommandResult> result = executeCommand(commands.get(index));
+                    if (!result.isDone()) {
+                        result.thenAccept(commandResult -> {
+                            results[index] = commandResult;
+                            run();
+                        });
+                        return;
+                    }
+                    results[index] = result.join();
+                }
+            }
+        }
+    }
+}
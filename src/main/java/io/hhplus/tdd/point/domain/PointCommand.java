@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.domain;
+
+/**
+ * 포인트 충전/사용 명령
+ * - amount 는 충전/사용 모두 양수로 전달한다.
+ */
+public record PointCommand(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+}
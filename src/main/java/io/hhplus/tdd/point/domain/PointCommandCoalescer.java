@@ -0,0 +1,89 @@
+package io.hhplus.tdd.point.domain;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 유저별 대기 중인 충전/사용 요청 모음 (group commit)
+ * - 요청은 도착한 순서대로 유저별 대기열에 쌓인다.
+ * - 유저 단위 순차 실행 안에서 대기열을 한 번에 꺼내, 한 번의 조회와 한 번의 저장으로 묶어 처리한다.
+ * - 한 번에 꺼내는 요청 수는 max-batch-size 로 제한하고, 남은 요청은 다음 처리에서 꺼낸다.
+ */
+@Component
+public class PointCommandCoalescer {
+
+    private final int maxBatchSize;
+    private final ConcurrentMap<Long, Deque<PendingCommand>> pendingCommands = new ConcurrentHashMap<>();
+
+    public PointCommandCoalescer(@Value("${point.coalescing.max-batch-size:256}") int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("묶음 처리 최대 크기는 1 이상이어야 합니다. maxBatchSize: " + maxBatchSize);
+        }
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public PendingCommand add(long userId, TransactionType type, long amount) {
+        PendingCommand command = new PendingCommand(type, amount, new CompletableFuture<>());
+        pendingCommands.compute(userId, (id, commands) -> {
+            Deque<PendingCommand> queue = commands == null ? new ArrayDeque<>() : commands;
+            queue.addLast(command);
+            return queue;
+        });
+        return command;
+    }
+
+    /**
+     * 대기 중인 요청을 도착 순서대로 최대 max-batch-size 건 꺼낸다.
+     */
+    public List<PendingCommand> drain(long userId) {
+        List<PendingCommand> drained = new ArrayList<>();
+        pendingCommands.computeIfPresent(userId, (id, commands) -> {
+            while (!commands.isEmpty() && drained.size() < maxBatchSize) {
+                drained.add(commands.pollFirst());
+            }
+            return commands.isEmpty() ? null : commands;
+        });
+        return drained;
+    }
+
+    /**
+     * 아직 꺼내지지 않은 요청을 대기열에서 제거한다.
+     * - 이미 다른 처리에서 꺼냈다면 false 를 반환하며, 이 경우 요청 결과는 그 처리에서 채워진다.
+     */
+    public boolean remove(long userId, PendingCommand command) {
+        boolean[] removed = {false};
+        pendingCommands.computeIfPresent(userId, (id, commands) -> {
+            removed[0] = commands.remove(command);
+            return commands.isEmpty() ? null : commands;
+        });
+        return removed[0];
+    }
+
+    public int pendingCount(long userId) {
+        int[] count = {0};
+        pendingCommands.computeIfPresent(userId, (id, commands) -> {
+            count[0] = commands.size();
+            return commands;
+        });
+        return count[0];
+    }
+
+    /**
+     * 처리를 기다리는 충전/사용 요청
+     * - result : 요청별 처리 결과 (성공 시 반영된 UserPoint, 실패 시 해당 예외)
+     */
+    public record PendingCommand(
+            TransactionType type,
+            long amount,
+            CompletableFuture<UserPoint> result
+    ) {
+    }
+}
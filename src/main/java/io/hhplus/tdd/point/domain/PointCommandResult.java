@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point.domain;
+
+/**
+ * 포인트 충전/사용 명령 처리 결과
+ * - 성공하면 userPoint 에 반영된 포인트를, 실패하면 error 에 실패 사유를 담는다.
+ */
+public record PointCommandResult(
+        long userId,
+        TransactionType type,
+        long amount,
+        boolean success,
+        UserPoint userPoint,
+        String error
+) {
+
+    public static PointCommandResult success(PointCommand command, UserPoint userPoint) {
+        return new PointCommandResult(command.userId(), command.type(), command.amount(), true, userPoint, null);
+    }
+
+    public static PointCommandResult failure(PointCommand command, String error) {
+        return new PointCommandResult(command.userId(), command.type(), command.amount(), false, null, error);
+    }
+}
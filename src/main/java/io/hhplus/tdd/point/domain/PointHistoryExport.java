@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point.domain;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 포인트 내역 내보내기
+ * - 내역 전체를 목록으로 만들지 않고, 저장소를 커서로 이어 읽으며 청크 단위로 consumer 에 넘긴다.
+ * - consumer 가 (소켓 쓰기처럼) 막혀 있는 동안에는 다음 청크를 읽지 않으므로, 메모리에는 한 번에 한 청크만 남는다.
+ */
+@FunctionalInterface
+public interface PointHistoryExport {
+
+    void forEachChunk(ChunkConsumer consumer) throws IOException;
+
+    @FunctionalInterface
+    interface ChunkConsumer {
+
+        void accept(List<PointHistory> chunk) throws IOException;
+    }
+}
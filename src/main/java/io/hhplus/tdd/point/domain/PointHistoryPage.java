@@ -0,0 +1,41 @@
+package io.hhplus.tdd.point.domain;
+
+import java.util.List;
+
+/**
+ * 포인트 내역 페이지
+ * - nextCursor : 다음 페이지 조회 시 cursor 로 넘길 마지막 내역 ID (마지막 페이지면 null)
+ */
+public record PointHistoryPage(
+        List<PointHistory> histories,
+        Long nextCursor
+) {
+
+    public static final int MAX_LIMIT = 1_000; // 한 페이지 최대 크기
+
+    // 페이지 크기 유효성 검증
+    public static void validateLimit(int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("페이지 크기는 1 이상 " + MAX_LIMIT + " 이하여야 합니다. limit: " + limit);
+        }
+    }
+
+    // 조회 기간 유효성 검증
+    public static void validatePeriod(Long from, Long to) {
+        if (from != null && to != null && from > to) {
+            throw new IllegalArgumentException("조회 시작 시각은 종료 시각보다 늦을 수 없습니다.");
+        }
+    }
+
+    /**
+     * limit + 1 건까지 조회한 결과로 페이지 생성
+     * - limit 보다 많이 조회되었다면 다음 페이지가 있으므로 limit 건만 담고 마지막 ID 를 커서로 둔다.
+     */
+    public static PointHistoryPage of(List<PointHistory> fetched, int limit) {
+        if (fetched.size() <= limit) {
+            return new PointHistoryPage(fetched, null);
+        }
+        List<PointHistory> histories = fetched.subList(0, limit);
+        return new PointHistoryPage(List.copyOf(histories), histories.get(limit - 1).id());
+    }
+}
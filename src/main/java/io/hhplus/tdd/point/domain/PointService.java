@@ -1,81 +1,506 @@
 package io.hhplus.tdd.point.domain;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.domain.PointCommandCoalescer.PendingCommand;
+import io.hhplus.tdd.point.execution.PointCommandExecutor;
+import io.hhplus.tdd.point.infrastructure.IdempotencyCache;
+import io.hhplus.tdd.point.infrastructure.OptimisticUserPointStore;
+import io.hhplus.tdd.point.infrastructure.PointHistoryStore;
+import io.hhplus.tdd.point.infrastructure.PointHistoryWriter;
+import io.hhplus.tdd.point.infrastructure.PointSummaryStore;
+import io.hhplus.tdd.point.infrastructure.UserPointCache;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.Operation;
+import io.hhplus.tdd.point.wal.PointTransactionLog;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class PointService {
 
-    private final UserPointTable userPointTable;
-    private final PointHistoryTable pointHistoryTable;
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryStore pointHistoryStore;
+    private final UserPointCache userPointCache;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointCommandExecutor pointCommandExecutor;
+    private final PointCommandCoalescer pointCommandCoalescer;
+    private final PointMetrics pointMetrics;
+    private final OptimisticUserPointStore optimisticUserPointStore;
+    private final PointTransactionLog pointTransactionLog;
+    private final IdempotencyCache idempotencyCache;
+    private final PointSummaryStore pointSummaryStore;
 
-    private final ConcurrentMap<Long, ReentrantLock> userLocks = new ConcurrentHashMap<>();
     private static final Logger log = LoggerFactory.getLogger(PointService.class);
 
+    // 내보내기 때 저장소에서 한 번에 읽는 내역 수
+    private static final int EXPORT_CHUNK_SIZE = PointHistoryPage.MAX_LIMIT;
+
     /**
      * 특정 유저의 포인트 정보 조회
+     * - 캐시에 있으면 바로 반환하고, 없으면 유저 단위 순차 실행 안에서 잔고 저장소를 읽어 캐시를 채운다.
+     * - 낙관적 모드에서는 버전 저장소의 최신 값을 반환한다.
      */
     public UserPoint getUserPoint(long id) {
+        long startedAt = System.nanoTime();
+        try {
+            UserPoint.validateId(id);
+            if (optimisticUserPointStore.isEnabled()) {
+                return optimisticUserPointStore.read(id);
+            }
+            UserPoint cached = userPointCache.get(id);
+            if (cached != null) {
+                return cached;
+            }
+            return pointCommandExecutor.execute(id, () -> loadUserPoint(id));
+        } finally {
+            pointMetrics.record(Operation.GET_POINT, startedAt);
+        }
+    }
+
+    /**
+     * 특정 유저의 포인트 정보 조회 (비동기)
+     * - 캐시에 있으면 완료된 future 를, 없으면 유저 단위 순차 실행을 요청하고 조회 결과 future 를 바로 반환한다.
+     */
+    public CompletableFuture<UserPoint> getUserPointAsync(long id) {
+        long startedAt = System.nanoTime();
         UserPoint.validateId(id);
-        return userPointTable.selectById(id);
+        if (optimisticUserPointStore.isEnabled()) {
+            return CompletableFuture.completedFuture(getUserPoint(id));
+        }
+        UserPoint cached = userPointCache.get(id);
+        if (cached != null) {
+            pointMetrics.record(Operation.GET_POINT, startedAt);
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<UserPoint> result = pointCommandExecutor.submit(id, () -> loadUserPoint(id));
+        result.whenComplete((userPoint, e) -> pointMetrics.record(Operation.GET_POINT, startedAt));
+        return result;
     }
+
     /**
      * 특정 유저의 포인트 충전/이용 내역 조회
+     * - 비동기로 기록 중인 해당 유저의 내역이 반영될 때까지 기다린 뒤 조회한다.
      */
     public List<PointHistory> getUserPointHistories(long id) {
-        UserPoint.validateId(id);
-        return pointHistoryTable.selectAllByUserId(id);
+        long startedAt = System.nanoTime();
+        try {
+            UserPoint.validateId(id);
+            pointHistoryWriter.flush(id);
+            return pointHistoryStore.selectAllByUserId(id);
+        } finally {
+            pointMetrics.record(Operation.GET_HISTORIES, startedAt);
+        }
     }
 
     /**
-     * 특정 유저의 포인트 충전
+     * 특정 유저의 포인트 충전/이용 내역을 커서 기반으로 나눠 조회
+     * - cursor 로 받은 내역 ID 이후부터 ID 순서대로 최대 limit 건을 반환한다.
+     * - from/to 가 주어지면 updateMillis 가 그 사이인 내역만 반환한다.
      */
-    public UserPoint chargeUserPoint(long id, long amount) {
-        ReentrantLock lock = userLocks.computeIfAbsent(id, k -> new ReentrantLock(true));
-        lock.lock();
+    public PointHistoryPage getUserPointHistories(long id, Long cursor, int limit, Long from, Long to) {
+        long startedAt = System.nanoTime();
         try {
-            UserPoint userPoint = userPointTable.selectById(id);
-            UserPoint updatedPoint = userPoint.charge(amount);
+            UserPoint.validateId(id);
+            PointHistoryPage.validateLimit(limit);
+            PointHistoryPage.validatePeriod(from, to);
+            pointHistoryWriter.flush(id);
+            List<PointHistory> histories = pointHistoryStore.selectByUserId(
+                    id,
+                    cursor == null ? 0L : cursor,
+                    from == null ? Long.MIN_VALUE : from,
+                    to == null ? Long.MAX_VALUE : to,
+                    limit + 1
+            );
+            return PointHistoryPage.of(histories, limit);
+        } finally {
+            pointMetrics.record(Operation.GET_HISTORY_PAGE, startedAt);
+        }
+    }
 
-            userPointTable.insertOrUpdate(id, updatedPoint.point());
-            pointHistoryTable.insert(id, amount, TransactionType.CHARGE, updatedPoint.updateMillis());
-            return updatedPoint;
+    /**
+     * 전체 유저의 포인트 충전/이용 내역을 기간으로 조회
+     * - 모든 유저의 기록 중인 내역이 반영되기를 기다린 뒤, updateMillis 가 [from, to] 인 내역을 (updateMillis, ID) 순서대로 최대 limit 건 반환한다.
+     * - 다음 페이지는 from 을 마지막 내역의 updateMillis 로, cursor 를 nextCursor 로 넘겨 조회한다.
+     *   cursor 가 있으면 from 시각의 내역 중 ID 가 cursor 이하인 것은 건너뛴다.
+     */
+    public PointHistoryPage getPointHistoriesBetween(long from, Long to, Long cursor, int limit) {
+        long startedAt = System.nanoTime();
+        try {
+            PointHistoryPage.validateLimit(limit);
+            PointHistoryPage.validatePeriod(from, to);
+            pointHistoryWriter.flush();
+            List<PointHistory> histories = pointHistoryStore.selectByUpdateMillis(
+                    from,
+                    cursor == null ? 0L : cursor,
+                    to == null ? Long.MAX_VALUE : to,
+                    limit + 1
+            );
+            return PointHistoryPage.of(histories, limit);
         } finally {
-            lock.unlock();
-            if (!lock.hasQueuedThreads()) {
-                userLocks.remove(id, lock);
+            pointMetrics.record(Operation.GET_HISTORIES_BETWEEN, startedAt);
+        }
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역 전체 내보내기
+     * - 유저 ID 는 바로 검증하고, 내역은 반환한 export 를 실행할 때 기록 중인 내역이 반영되기를 기다린 뒤 ID 순서대로 청크 단위로 읽는다.
+     */
+    public PointHistoryExport exportUserPointHistories(long id) {
+        UserPoint.validateId(id);
+        return consumer -> {
+            pointHistoryWriter.flush(id);
+            long afterId = 0L;
+            List<PointHistory> chunk;
+            do {
+                chunk = pointHistoryStore.selectByUserId(id, afterId, Long.MIN_VALUE, Long.MAX_VALUE, EXPORT_CHUNK_SIZE);
+                if (chunk.isEmpty()) {
+                    return;
+                }
+                consumer.accept(chunk);
+                afterId = chunk.get(chunk.size() - 1).id();
+            } while (chunk.size() == EXPORT_CHUNK_SIZE);
+        };
+    }
+
+    /**
+     * 전체 유저의 포인트 충전/이용 내역을 기간으로 내보내기
+     * - 기간은 바로 검증하고, 내역은 반환한 export 를 실행할 때 모든 기록 중인 내역이 반영되기를 기다린 뒤
+     *   (updateMillis, ID) 순서대로 청크 단위로 읽는다.
+     */
+    public PointHistoryExport exportPointHistories(Long from, Long to) {
+        PointHistoryPage.validatePeriod(from, to);
+        long toMillis = to == null ? Long.MAX_VALUE : to;
+        return consumer -> {
+            pointHistoryWriter.flush();
+            long fromMillis = from == null ? Long.MIN_VALUE : from;
+            long afterId = 0L;
+            List<PointHistory> chunk;
+            do {
+                chunk = pointHistoryStore.selectByUpdateMillis(fromMillis, afterId, toMillis, EXPORT_CHUNK_SIZE);
+                if (chunk.isEmpty()) {
+                    return;
+                }
+                consumer.accept(chunk);
+                PointHistory last = chunk.get(chunk.size() - 1);
+                fromMillis = last.updateMillis();
+                afterId = last.id();
+            } while (chunk.size() == EXPORT_CHUNK_SIZE);
+        };
+    }
+
+    /**
+     * 특정 유저의 포인트 누적 집계 조회
+     * - 충전/사용을 반영할 때마다 갱신해 둔 집계를 반환하므로 내역을 읽지 않는다. 시작 시 내역 복구 중이면 끝날 때까지 기다린다.
+     * - rebuild 면 유저 단위 순차 실행 안에서 기록 중인 내역이 반영되기를 기다린 뒤, 전체 내역으로 집계를 다시 계산해 바꿔 넣는다.
+     *   낙관적 모드에서는 유저 락 밖에서 반영되는 충전/사용과 겹칠 수 있으므로 요청이 없는 시점에 사용한다.
+     */
+    public PointSummary getPointSummary(long id, boolean rebuild) {
+        long startedAt = System.nanoTime();
+        try {
+            UserPoint.validateId(id);
+            if (!rebuild) {
+                pointHistoryWriter.awaitResumed();
+                return pointSummaryStore.get(id);
             }
+            return pointCommandExecutor.execute(id, () -> {
+                pointHistoryWriter.flush(id);
+                PointSummary rebuilt = PointSummary.of(id, pointHistoryStore.selectAllByUserId(id));
+                pointSummaryStore.replace(rebuilt);
+                return rebuilt;
+            });
+        } finally {
+            pointMetrics.record(Operation.GET_SUMMARY, startedAt);
         }
     }
 
+    /**
+     * 특정 유저의 포인트 충전
+     */
+    public UserPoint chargeUserPoint(long id, long amount) {
+        return commit(id, TransactionType.CHARGE, amount);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전 (비동기)
+     * - 유저 단위 순차 실행을 요청하고 충전 결과 future 를 바로 반환한다.
+     */
+    public CompletableFuture<UserPoint> chargeUserPointAsync(long id, long amount) {
+        return commitAsync(id, TransactionType.CHARGE, amount);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전 (비동기, 멱등)
+     * - idempotencyKey 가 있으면 같은 키로 앞서 받은 요청의 결과를 그대로 반환하고, 아직 처리 중이면 그 결과를 기다린다.
+     */
+    public CompletableFuture<UserPoint> chargeUserPointAsync(long id, long amount, String idempotencyKey) {
+        return commitIdempotent(id, TransactionType.CHARGE, amount, idempotencyKey);
+    }
+
     /**
      * 특정 유저의 포인트 사용
      */
     public UserPoint useUserPoint(long id, long amount) {
-        ReentrantLock lock = userLocks.computeIfAbsent(id, k -> new ReentrantLock(true));
-        lock.lock();
+        return commit(id, TransactionType.USE, amount);
+    }
+
+    /**
+     * 특정 유저의 포인트 사용 (비동기)
+     * - 유저 단위 순차 실행을 요청하고 사용 결과 future 를 바로 반환한다.
+     */
+    public CompletableFuture<UserPoint> useUserPointAsync(long id, long amount) {
+        return commitAsync(id, TransactionType.USE, amount);
+    }
+
+    /**
+     * 특정 유저의 포인트 사용 (비동기, 멱등)
+     * - idempotencyKey 가 있으면 같은 키로 앞서 받은 요청의 결과를 그대로 반환하고, 아직 처리 중이면 그 결과를 기다린다.
+     */
+    public CompletableFuture<UserPoint> useUserPointAsync(long id, long amount, String idempotencyKey) {
+        return commitIdempotent(id, TransactionType.USE, amount, idempotencyKey);
+    }
+
+    private CompletableFuture<UserPoint> commitIdempotent(long id, TransactionType type, long amount, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return commitAsync(id, type, amount);
+        }
+        return idempotencyCache.execute(id, idempotencyKey, type, amount, () -> commitAsync(id, type, amount));
+    }
+
+    /*
+     * 요청을 유저별 대기열에 넣은 뒤 유저 단위 순차 실행 안에서 대기열을 처리한다.
+     * 앞선 처리가 이 요청까지 함께 꺼내 처리했을 수 있으므로, 결과는 요청별 future 로 받는다.
+     */
+    private UserPoint commit(long id, TransactionType type, long amount) {
+        long startedAt = System.nanoTime();
         try {
-            UserPoint userPoint = userPointTable.selectById(id);
-            UserPoint updatedPoint = userPoint.use(amount);
-            userPointTable.insertOrUpdate(id, updatedPoint.point());
-            pointHistoryTable.insert(id, -amount, TransactionType.USE, updatedPoint.updateMillis());
-            return updatedPoint;
+            if (optimisticUserPointStore.isEnabled()) {
+                return commitOptimistic(id, type, amount);
+            }
+            PendingCommand command = pointCommandCoalescer.add(id, type, amount);
+            try {
+                pointCommandExecutor.execute(id, () -> commitPending(id));
+            } catch (RuntimeException e) {
+                if (pointCommandCoalescer.remove(id, command)) {
+                    throw e;
+                }
+            }
+            return PointCommandExecutor.join(command.result());
         } finally {
-            lock.unlock();
-            if (!lock.hasQueuedThreads()) {
-                userLocks.remove(id, lock);
+            pointMetrics.record(operationOf(type), startedAt);
+        }
+    }
+
+    /*
+     * 순차 실행 요청이 명령 실행 전에 실패하면(락 대기 시간 초과 등) 대기열에서 이 요청을 빼고 같은 예외로 실패시킨다.
+     * 다른 처리가 이미 꺼내 갔다면 그 처리 결과를 기다린다.
+     */
+    private CompletableFuture<UserPoint> commitAsync(long id, TransactionType type, long amount) {
+        if (optimisticUserPointStore.isEnabled()) {
+            return commitOptimisticAsync(id, type, amount);
+        }
+        long startedAt = System.nanoTime();
+        CompletableFuture<UserPoint> result;
+        PendingCommand command = pointCommandCoalescer.add(id, type, amount);
+        try {
+            result = pointCommandExecutor.submit(id, () -> commitPending(id))
+                    .handle((ignored, e) -> e != null && pointCommandCoalescer.remove(id, command)
+                            ? CompletableFuture.<UserPoint>failedFuture(e)
+                            : command.result())
+                    .thenCompose(Function.identity());
+        } catch (RuntimeException e) {
+            if (pointCommandCoalescer.remove(id, command)) {
+                pointMetrics.record(operationOf(type), startedAt);
+                throw e;
             }
+            result = command.result();
         }
+        result.whenComplete((userPoint, e) -> pointMetrics.record(operationOf(type), startedAt));
+        return result;
+    }
+
+    /*
+     * 낙관적 모드: 유저 락 없이 CAS 로 반영하고, hot 유저이거나 충돌로 재시도를 다 쓰면 유저 단위 순차 실행 안에서 반영한다.
+     * 순차 실행 안에서도 락 없이 들어온 요청과 충돌할 수 있으므로 성공할 때까지 다시 시도한다.
+     */
+    private UserPoint commitOptimistic(long id, TransactionType type, long amount) {
+        try {
+            if (!optimisticUserPointStore.isHot(id)) {
+                UserPoint updated = applyOptimistic(id, type, amount, optimisticUserPointStore.maxAttempts());
+                if (updated != null) {
+                    return updated;
+                }
+            }
+            return pointCommandExecutor.execute(id, () -> applyOptimistic(id, type, amount, Integer.MAX_VALUE));
+        } catch (IllegalArgumentException e) {
+            pointMetrics.rejected(type);
+            throw e;
+        }
+    }
+
+    private CompletableFuture<UserPoint> commitOptimisticAsync(long id, TransactionType type, long amount) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<UserPoint> result;
+        try {
+            UserPoint updated = optimisticUserPointStore.isHot(id)
+                    ? null
+                    : applyOptimistic(id, type, amount, optimisticUserPointStore.maxAttempts());
+            result = updated != null
+                    ? CompletableFuture.completedFuture(updated)
+                    : pointCommandExecutor.submit(id, () -> applyOptimistic(id, type, amount, Integer.MAX_VALUE));
+        } catch (IllegalArgumentException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((userPoint, e) -> {
+            if (e instanceof IllegalArgumentException || e != null && e.getCause() instanceof IllegalArgumentException) {
+                pointMetrics.rejected(type);
+            }
+            pointMetrics.record(operationOf(type), startedAt);
+        });
+        return result;
+    }
+
+    // 낙관적 모드 반영이 성공하면 누적 집계도 갱신한다.
+    private UserPoint applyOptimistic(long id, TransactionType type, long amount, int maxAttempts) {
+        UserPoint updated = optimisticUserPointStore.apply(id, type, amount, maxAttempts);
+        if (updated != null) {
+            pointSummaryStore.record(id, type, amount, updated.updateMillis());
+        }
+        return updated;
+    }
+
+    private static Operation operationOf(TransactionType type) {
+        return type == TransactionType.CHARGE ? Operation.CHARGE : Operation.USE;
+    }
+
+    /*
+     * 유저 단위 순차 실행 안에서만 호출한다.
+     * 대기 중인 요청을 도착 순서대로 한 번 읽은 잔액에 UserPoint.charge/use 규칙으로 적용하고,
+     * 실패한 요청은 개별로 실패 처리한 뒤 최종 잔액을 한 번만 저장한다. 내역과 누적 집계는 성공한 요청마다 남긴다.
+     * 성공한 요청은 잔액을 저장하기 전에 트랜잭션 로그에 남기고, 로그가 디스크에 반영된 뒤에 응답한다.
+     * 내역 큐 자리는 저장 전에 잡아, 내역 기록이 밀려 있으면 잔액을 바꾸지 않고 PointBusyException 으로 거절한다.
+     * 저장(persistPending) 전에 실패하면 모두 실패시키고, 저장한 요청은 내역/누적 집계가 실패해도 로그만 남기고 성공으로 응답한다.
+     */
+    private Void commitPending(long id) {
+        List<PendingCommand> commands = pointCommandCoalescer.drain(id);
+        if (commands.isEmpty()) {
+            return null;
+        }
+        List<AppliedCommand> applied;
+        try {
+            applied = persistPending(id, commands);
+        } catch (RuntimeException e) {
+            commands.forEach(command -> command.result().completeExceptionally(e));
+            return null;
+        }
+        for (AppliedCommand appliedCommand : applied) {
+            PendingCommand command = appliedCommand.command();
+            long updateMillis = appliedCommand.userPoint().updateMillis();
+            try {
+                long historyAmount = command.type() == TransactionType.CHARGE ? command.amount() : -command.amount();
+                pointHistoryWriter.enqueueReserved(id, historyAmount, command.type(), updateMillis);
+                pointSummaryStore.record(id, command.type(), command.amount(), updateMillis);
+            } catch (RuntimeException e) {
+                log.error("잔액은 반영했지만 내역/누적 집계를 남기지 못했습니다. ID: {}, type: {}, amount: {}",
+                        id, command.type(), command.amount(), e);
+            }
+            command.result().complete(appliedCommand.userPoint());
+        }
+        return null;
+    }
+
+    /*
+     * 대기 요청을 잔액에 적용해 저장하고, 저장한 요청 목록을 반환한다. 여기서 던진 예외는 잔액이 바뀌지 않았다는 뜻이다.
+     * 트랜잭션 로그에 남긴 기록은 재시작 때 다시 반영되므로 로그에 남기는 것을 반영 시점으로 본다.
+     * - 로그에 남기다 실패하면 이미 남긴 앞쪽 요청까지만 반영하고 나머지를 실패시킨다.
+     * - 디스크 반영 대기가 실패하면 반영을 확인하지 못한 것이므로 모두 실패시키고 잔고/캐시에도 반영하지 않는다.
+     *   반영에 실패한 로그는 이후 기록을 모두 거절하므로 그 뒤에 이 잔액 위로 쌓이는 요청은 없다.
+     * - 디스크 반영을 확인한 뒤 잔고 테이블 저장이 실패하면 되돌리지 않고 캐시에 반영한 뒤 오류 로그만 남긴다.
+     *   실패로 응답하면 재시도가 복구 때 다시 반영될 요청을 한 번 더 반영하기 때문이다. 테이블은 다음 저장에서 최종 잔액으로 맞춰진다.
+     * - 로그를 쓰지 않으면(point.wal.enabled=false) 테이블 저장이 반영 시점이므로, 저장이 실패하면 모두 실패시킨다.
+     */
+    private List<AppliedCommand> persistPending(long id, List<PendingCommand> commands) {
+        UserPoint current = loadUserPoint(id);
+        List<AppliedCommand> applied = new ArrayList<>(commands.size());
+        for (PendingCommand command : commands) {
+            try {
+                UserPoint updated = command.type() == TransactionType.CHARGE
+                        ? current.charge(command.amount())
+                        : current.use(command.amount());
+                applied.add(new AppliedCommand(command, updated));
+                current = updated;
+            } catch (IllegalArgumentException e) {
+                pointMetrics.rejected(command.type());
+                command.result().completeExceptionally(e);
+            }
+        }
+        if (applied.isEmpty()) {
+            return applied;
+        }
+
+        pointHistoryWriter.reserve(id, applied.size());
+        int logged = 0;
+        long lsn = 0L;
+        try {
+            for (AppliedCommand appliedCommand : applied) {
+                PendingCommand command = appliedCommand.command();
+                UserPoint userPoint = appliedCommand.userPoint();
+                lsn = pointTransactionLog.append(id, command.type(), command.amount(), userPoint.point(), userPoint.updateMillis());
+                logged++;
+            }
+        } catch (RuntimeException e) {
+            pointHistoryWriter.cancel(id, applied.size() - logged);
+            if (logged == 0) {
+                throw e;
+            }
+            log.error("트랜잭션 로그에 남긴 {}건까지만 반영합니다. ID: {}", logged, id, e);
+            applied.subList(logged, applied.size()).forEach(failed -> failed.command().result().completeExceptionally(e));
+            applied = new ArrayList<>(applied.subList(0, logged));
+        }
+        UserPoint persisted = applied.get(applied.size() - 1).userPoint();
+        boolean walCommitted = lsn > 0L;
+
+        try {
+            pointTransactionLog.awaitDurable(lsn);
+        } catch (RuntimeException e) {
+            pointHistoryWriter.cancel(id, applied.size());
+            throw e;
+        }
+        try {
+            userPointCache.put(userPointRepository.insertOrUpdate(id, persisted.point()));
+        } catch (RuntimeException e) {
+            if (!walCommitted) {
+                pointHistoryWriter.cancel(id, applied.size());
+                throw e;
+            }
+            log.error("잔고 테이블 저장에 실패했습니다. 트랜잭션 로그에 남긴 잔액으로 캐시에 반영합니다. ID: {}", id, e);
+            userPointCache.put(persisted);
+        }
+        return applied;
+    }
+
+    // 유저 단위 순차 실행 안에서만 호출한다. 그 안에서 채우므로 캐시가 마지막 반영보다 오래된 값을 갖지 않는다.
+    private UserPoint loadUserPoint(long id) {
+        UserPoint cached = userPointCache.peek(id);
+        if (cached != null) {
+            return cached;
+        }
+        UserPoint userPoint = userPointRepository.selectById(id);
+        userPointCache.put(userPoint);
+        return userPoint;
+    }
+
+    private record AppliedCommand(
+            PendingCommand command,
+            UserPoint userPoint
+    ) {
     }
 
 }
@@ -0,0 +1,45 @@
+package io.hhplus.tdd.point.domain;
+
+import java.util.List;
+
+/**
+ * 유저별 포인트 누적 집계
+ * - totalCharged / totalUsed : 지금까지 충전/사용한 금액 합계 (둘 다 양수)
+ * - transactionCount : 반영된 충전/사용 건수
+ * - lastActivityMillis : 마지막으로 반영된 충전/사용 시각 (없으면 0)
+ */
+public record PointSummary(
+        long userId,
+        long totalCharged,
+        long totalUsed,
+        long transactionCount,
+        long lastActivityMillis
+) {
+
+    public static PointSummary empty(long userId) {
+        return new PointSummary(userId, 0L, 0L, 0L, 0L);
+    }
+
+    /**
+     * 내역으로 집계를 다시 계산
+     * - 사용 내역의 금액은 음수로 저장되어 있으므로 부호를 바꿔 더한다.
+     */
+    public static PointSummary of(long userId, List<PointHistory> histories) {
+        PointSummary summary = empty(userId);
+        for (PointHistory history : histories) {
+            summary = summary.apply(history.type(), Math.abs(history.amount()), history.updateMillis());
+        }
+        return summary;
+    }
+
+    // 충전/사용 한 건을 반영한 집계
+    public PointSummary apply(TransactionType type, long amount, long updateMillis) {
+        return new PointSummary(
+                userId,
+                type == TransactionType.CHARGE ? totalCharged + amount : totalCharged,
+                type == TransactionType.USE ? totalUsed + amount : totalUsed,
+                transactionCount + 1,
+                Math.max(lastActivityMillis, updateMillis)
+        );
+    }
+}
@@ -0,0 +1,134 @@
+package io.hhplus.tdd.point.execution;
+
+import io.hhplus.tdd.point.lock.LockManager;
+import io.hhplus.tdd.point.lock.PointBusyException;
+import jakarta.annotation.PreDestroy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * 유저 락 기반 명령 실행기 (point.execution.mode=lock)
+ * - execute: 호출한 스레드가 유저 락을 잡고 직접 명령을 실행한다.
+ * - submit: 유저별로 앞선 비동기 명령이 끝난 뒤 asyncExecutor 에서 유저 락을 잡고 실행한다.
+ *   호출한 스레드(요청 스레드)는 테이블 호출을 기다리지 않고 바로 반환된다.
+ *   체인에 들어온 시각과 앞선 명령 수를 LockManager 에 넘겨, 체인에서 기다린 시간도 락 대기로 관찰되고 공정 전환 기준에 들어가게 한다.
+ * - asyncExecutor 가 명령을 받지 못하면(대기열이 가득 찬 풀 등) 그 명령은 PointBusyException 으로 실패한다.
+ * - maxPendingPerUser 가 0 보다 크면 유저별로 실행 중이거나 기다리는 명령(execute/submit 합계)이 그 수에 이르렀을 때
+ *   새 명령을 PointBusyException 으로 바로 거절한다. 한 유저의 요청이 스레드와 대기열을 모두 차지하지 못하게 한다.
+ */
+public class LockingPointCommandExecutor implements PointCommandExecutor {
+
+    private final LockManager lockManager;
+    private final Executor asyncExecutor;
+    private final int maxPendingPerUser;
+
+    // 유저별로 마지막에 요청된 비동기 명령. 완료되면 스스로 빠지므로 진행 중인 유저 수만큼만 유지된다.
+    private final ConcurrentMap<Long, CompletableFuture<?>> tails = new ConcurrentHashMap<>();
+
+    // 유저별 실행 중이거나 기다리는 명령 수 (체인 깊이). 명령이 없는 유저는 빠진다.
+    private final ConcurrentMap<Long, Integer> pending = new ConcurrentHashMap<>();
+
+    /**
+     * submit 도 호출한 스레드에서 바로 실행한다.
+     */
+    public LockingPointCommandExecutor(LockManager lockManager) {
+        this(lockManager, Runnable::run);
+    }
+
+    /**
+     * asyncExecutor 가 ExecutorService 면 close 할 때 함께 종료한다.
+     */
+    public LockingPointCommandExecutor(LockManager lockManager, Executor asyncExecutor) {
+        this(lockManager, asyncExecutor, 0);
+    }
+
+    public LockingPointCommandExecutor(LockManager lockManager, Executor asyncExecutor, int maxPendingPerUser) {
+        if (maxPendingPerUser < 0) {
+            throw new IllegalArgumentException("유저별 대기 명령 수 상한은 0 이상이어야 합니다. maxPendingPerUser: " + maxPendingPerUser);
+        }
+        this.lockManager = lockManager;
+        this.asyncExecutor = asyncExecutor;
+        this.maxPendingPerUser = maxPendingPerUser;
+    }
+
+    @Override
+    public <T> T execute(long userId, Supplier<T> command) {
+        admit(userId);
+        try {
+            return lockManager.executeWithLock(userId, command);
+        } finally {
+            release(userId);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(long userId, Supplier<T> command) {
+        int queuedAhead = admit(userId);
+        long queuedAt = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        result.whenComplete((ignored, e) -> release(userId));
+        CompletableFuture<?> previous = tails.put(userId, result);
+        Runnable task = () -> dispatch(userId, queuedAt, queuedAhead, command, result);
+        if (previous == null) {
+            task.run();
+        } else {
+            previous.whenComplete((ignored, e) -> task.run());
+        }
+        result.whenComplete((ignored, e) -> tails.remove(userId, result));
+        return result;
+    }
+
+    /**
+     * 이미 요청된 비동기 명령은 마저 실행하고, 새 명령은 거절한다.
+     */
+    @PreDestroy
+    public void close() {
+        if (asyncExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * 유저별 실행 중이거나 기다리는 명령 수
+     */
+    public int pendingCount(long userId) {
+        return pending.getOrDefault(userId, 0);
+    }
+
+    // 앞서 받은(아직 끝나지 않은) 명령 수를 반환한다.
+    private int admit(long userId) {
+        int[] queuedAhead = new int[1];
+        pending.compute(userId, (id, count) -> {
+            int current = count == null ? 0 : count;
+            if (maxPendingPerUser > 0 && current >= maxPendingPerUser) {
+                throw new PointBusyException("처리를 기다리는 요청이 너무 많습니다. 잠시 후 다시 시도해주세요. ID: " + id);
+            }
+            queuedAhead[0] = current;
+            return current + 1;
+        });
+        return queuedAhead[0];
+    }
+
+    private void release(long userId) {
+        pending.computeIfPresent(userId, (id, count) -> count == 1 ? null : count - 1);
+    }
+
+    private <T> void dispatch(long userId, long queuedAt, int queuedAhead, Supplier<T> command, CompletableFuture<T> result) {
+        try {
+            asyncExecutor.execute(() -> {
+                try {
+                    result.complete(lockManager.executeWithLock(userId, queuedAt, queuedAhead, command));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.hhplus.tdd.point.execution;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * 포인트 명령 실행기
+ * - 같은 유저에 대한 명령은 요청된 순서대로 하나씩 실행되도록 보장한다.
+ * - 실행 방식(유저 락, 유저별 샤드 스레드)은 point.execution.mode 로 고른다.
+ */
+public interface PointCommandExecutor {
+
+    /**
+     * 유저 단위로 순차 실행하고, 호출한 스레드에서 결과를 기다려 반환한다.
+     * - 명령에서 발생한 예외는 그대로 다시 던진다.
+     */
+    <T> T execute(long userId, Supplier<T> command);
+
+    /**
+     * 유저 단위로 순차 실행을 요청하고, 결과를 담을 future 를 반환한다.
+     */
+    <T> CompletableFuture<T> submit(long userId, Supplier<T> command);
+
+    /**
+     * future 의 결과를 기다려 반환한다.
+     * - 실패했다면 CompletionException 으로 감싸지 않고 원래 예외를 다시 던진다.
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
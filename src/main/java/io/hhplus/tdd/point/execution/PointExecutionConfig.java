@@ -0,0 +1,57 @@
+package io.hhplus.tdd.point.execution;
+
+import io.hhplus.tdd.point.lock.LockManager;
+import io.hhplus.tdd.point.lock.PointBusyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 명령 실행 방식 설정
+ * - lock (기본) : 요청 스레드(비동기 요청은 async-threads 풀)가 유저 락을 잡고 실행한다.
+ * - shard : 유저별 샤드 스레드가 메일박스의 명령을 순서대로 실행한다.
+ */
+@Configuration
+public class PointExecutionConfig {
+
+    /**
+     * 비동기 명령은 가상 스레드 모드면 명령마다 가상 스레드에서, 아니면 async-threads 크기의 플랫폼 스레드 풀에서 실행한다.
+     * 플랫폼 스레드 풀의 대기열은 async-queue-capacity 로 제한하고, 가득 차면 PointBusyException 으로 거절한다.
+     * 풀은 Executor 빈으로 노출하지 않아 Spring Boot 의 기본 작업 실행기 설정에 영향을 주지 않는다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "point.execution.mode", havingValue = "lock", matchIfMissing = true)
+    public PointCommandExecutor lockingPointCommandExecutor(
+            LockManager lockManager,
+            @Value("${point.execution.async-threads:200}") int asyncThreads,
+            @Value("${point.execution.async-queue-capacity:10000}") int asyncQueueCapacity,
+            @Value("${point.admission.max-pending-per-user:64}") int maxPendingPerUser,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        ExecutorService asyncExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(PointThreads.factory("point-async-", true))
+                : new ThreadPoolExecutor(asyncThreads, asyncThreads, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(asyncQueueCapacity), PointThreads.factory("point-async-", false),
+                        (task, executor) -> {
+                            throw new PointBusyException("처리를 기다리는 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+                        });
+        return new LockingPointCommandExecutor(lockManager, asyncExecutor, maxPendingPerUser);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "point.execution.mode", havingValue = "shard")
+    public PointCommandExecutor shardedPointCommandExecutor(
+            @Value("${point.execution.shards:8}") int shards,
+            @Value("${point.execution.mailbox-capacity:1024}") int mailboxCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        return new ShardedPointCommandExecutor(shards, mailboxCapacity, virtualThreads);
+    }
+}
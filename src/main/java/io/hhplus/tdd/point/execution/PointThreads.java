@@ -0,0 +1,33 @@
+package io.hhplus.tdd.point.execution;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 내부 작업 스레드 생성
+ * - virtual 이면 가상 스레드를, 아니면 데몬 플랫폼 스레드를 만든다. (spring.threads.virtual.enabled)
+ * - 가상 스레드에서 블로킹 호출을 하는 코드는 synchronized 대신 java.util.concurrent 락을 사용해야
+ *   캐리어 스레드를 붙잡지(pinning) 않는다.
+ */
+public final class PointThreads {
+
+    private PointThreads() {
+    }
+
+    /**
+     * 이름이 namePrefix1, namePrefix2, ... 인 스레드를 만드는 팩토리
+     */
+    public static ThreadFactory factory(String namePrefix, boolean virtual) {
+        return virtual
+                ? Thread.ofVirtual().name(namePrefix, 1).factory()
+                : Thread.ofPlatform().name(namePrefix, 1).daemon(true).factory();
+    }
+
+    /**
+     * 시작하지 않은 단일 스레드
+     */
+    public static Thread unstarted(String name, boolean virtual, Runnable task) {
+        return virtual
+                ? Thread.ofVirtual().name(name).unstarted(task)
+                : Thread.ofPlatform().name(name).daemon(true).unstarted(task);
+    }
+}
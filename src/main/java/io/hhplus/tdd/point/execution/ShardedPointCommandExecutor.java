@@ -0,0 +1,145 @@
+package io.hhplus.tdd.point.execution;
+
+import io.hhplus.tdd.point.lock.PointBusyException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 유저별 샤드 스레드 기반 명령 실행기 (point.execution.mode=shard)
+ * - 유저 ID 해시로 N 개의 단일 스레드 샤드 중 하나에 명령을 보낸다.
+ * - 샤드마다 크기가 제한된 메일박스를 두고 한 스레드가 순서대로 처리하므로, 락 없이도 같은 유저의 명령이 순차 실행된다.
+ * - 메일박스가 가득 차면 대기하지 않고 PointBusyException(RejectedExecutionException) 으로 거절한다.
+ */
+public class ShardedPointCommandExecutor implements PointCommandExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedPointCommandExecutor.class);
+
+    private final Shard[] shards;
+
+    public ShardedPointCommandExecutor(int shardCount, int mailboxCapacity) {
+        this(shardCount, mailboxCapacity, false);
+    }
+
+    public ShardedPointCommandExecutor(int shardCount, int mailboxCapacity, boolean virtualThreads) {
+        if (shardCount <= 0 || mailboxCapacity <= 0) {
+            throw new IllegalArgumentException("샤드 수와 메일박스 용량은 1 이상이어야 합니다.");
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, mailboxCapacity, virtualThreads);
+        }
+    }
+
+    @Override
+    public <T> T execute(long userId, Supplier<T> command) {
+        Shard shard = shardFor(userId);
+        if (Thread.currentThread() == shard.thread) {
+            return command.get();
+        }
+        return PointCommandExecutor.join(submit(shard, command));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(long userId, Supplier<T> command) {
+        return submit(shardFor(userId), command);
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * 메일박스에 남은 명령을 모두 처리한 뒤 샤드 스레드를 종료한다.
+     */
+    @PreDestroy
+    public void close() {
+        for (Shard shard : shards) {
+            shard.close();
+        }
+        for (Shard shard : shards) {
+            shard.join();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Shard shard, Supplier<T> command) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        shard.offer(() -> {
+            try {
+                future.complete(command.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private Shard shardFor(long userId) {
+        int hash = Long.hashCode(userId * 0x9E3779B97F4A7C15L);
+        return shards[Math.floorMod(hash ^ (hash >>> 16), shards.length)];
+    }
+
+    private static final class Shard {
+
+        private static final Runnable POISON = () -> {
+        };
+
+        private final BlockingQueue<Runnable> mailbox;
+        private final Thread thread;
+        private volatile boolean closed;
+
+        private Shard(int index, int mailboxCapacity, boolean virtualThreads) {
+            this.mailbox = new ArrayBlockingQueue<>(mailboxCapacity);
+            this.thread = PointThreads.unstarted("point-shard-" + index, virtualThreads, this::run);
+            this.thread.start();
+        }
+
+        private void offer(Runnable task) {
+            if (closed) {
+                throw new RejectedExecutionException("포인트 샤드가 종료되었습니다.");
+            }
+            if (!mailbox.offer(task)) {
+                throw new PointBusyException("포인트 샤드의 메일박스가 가득 찼습니다. (" + thread.getName() + ")");
+            }
+        }
+
+        private void run() {
+            while (true) {
+                Runnable task;
+                try {
+                    task = mailbox.take();
+                } catch (InterruptedException e) {
+                    log.warn("포인트 샤드 스레드가 인터럽트되었습니다. ({})", thread.getName());
+                    continue;
+                }
+                if (task == POISON) {
+                    return;
+                }
+                task.run();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            try {
+                mailbox.put(POISON);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void join() {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
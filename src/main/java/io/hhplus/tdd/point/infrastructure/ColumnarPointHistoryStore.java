@@ -0,0 +1,186 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongPredicate;
+
+/**
+ * 열(column) 단위 추가 전용 포인트 내역 저장소 (point.history.store=columnar)
+ * - 내역마다 PointHistory 객체를 만들지 않고, 유저별로 id/amount/updateMillis 는 long 열, type 은 byte 열에 나눠 담는다.
+ *   userId 는 유저별로 묶어 저장하므로 따로 두지 않아 유저별 열은 한 건에 25 바이트를 쓴다.
+ *   전체 유저 기간 조회용 PointHistoryTimeIndex 가 한 건에 33 바이트를 더 쓰므로 합치면 한 건에 58 바이트다.
+ * - 열은 8칸부터 두 배씩 4096 칸까지 커지는 청크로 나눠, 내역이 늘어도 기존 청크를 복사하지 않는다.
+ * - 전역 잠금 없이 추가한다. ID 는 AtomicLong 으로 발급하고, 같은 유저의 추가만 그 유저 열의 ReentrantLock 으로 직렬화한다.
+ *   유저별 이진 탐색은 행 순서와 ID 순서가 같아야 하는데, 자리(size)와 ID 를 따로 CAS 로 잡으면 둘의 순서가 어긋날 수 있어 락으로 함께 잡는다.
+ *   유저의 내역은 PointHistoryWriter 의 한 파티션 스레드만 넣고 시작 시 복구는 그 기록을 멈춘 동안 넣으므로, 이 락은 경합하지 않는다.
+ *   값을 채운 뒤 size 를 늘리므로 읽는 쪽은 락 없이 size 까지의 채워진 행만 본다.
+ * - PointHistory 는 조회할 때 반환하는 행만 만든다.
+ */
+public class ColumnarPointHistoryStore implements PointHistoryStore {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentMap<Long, UserColumns> userColumns = new ConcurrentHashMap<>();
+    private final PointHistoryTimeIndex timeIndex = new PointHistoryTimeIndex();
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        UserColumns columns = userColumns.computeIfAbsent(userId, id -> new UserColumns());
+        long id = columns.append(sequence, amount, type, updateMillis);
+        PointHistory pointHistory = new PointHistory(id, userId, amount, type, updateMillis);
+        timeIndex.add(pointHistory);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        UserColumns columns = userColumns.get(userId);
+        if (columns == null) {
+            return List.of();
+        }
+        int count = columns.size;
+        return columns.materialize(userId, 0, count, count, Long.MAX_VALUE);
+    }
+
+    /**
+     * 유저별 열은 ID 와 updateMillis 가 함께 증가하므로 시작 위치를 이진 탐색으로 찾는다.
+     */
+    @Override
+    public List<PointHistory> selectByUserId(long userId, long afterId, long fromMillis, long toMillis, int limit) {
+        UserColumns columns = userColumns.get(userId);
+        if (columns == null) {
+            return List.of();
+        }
+        int count = columns.size;
+        int start = Math.max(
+                columns.firstIndex(count, true, id -> id > afterId),
+                columns.firstIndex(count, false, millis -> millis >= fromMillis)
+        );
+        return columns.materialize(userId, start, count, limit, toMillis);
+    }
+
+    /**
+     * 전체 유저의 기간 조회는 유저별 열이 아닌 시간 인덱스의 열에서 읽는다.
+     */
+    @Override
+    public List<PointHistory> selectByUpdateMillis(long fromMillis, long afterId, long toMillis, int limit) {
+        return timeIndex.select(fromMillis, afterId, toMillis, limit);
+    }
+
+    /**
+     * 고정 크기 열 묶음
+     */
+    private static final class Chunk {
+
+        private final long[] ids;
+        private final long[] amounts;
+        private final long[] updateMillis;
+        private final byte[] types;
+
+        private Chunk(int capacity) {
+            this.ids = new long[capacity];
+            this.amounts = new long[capacity];
+            this.updateMillis = new long[capacity];
+            this.types = new byte[capacity];
+        }
+    }
+
+    /**
+     * 유저별 열
+     * - i 번째 행의 위치: 앞쪽 청크는 8, 16, ..., 4096 칸(합 8184칸), 그 뒤로는 4096 칸씩이다.
+     */
+    private static final class UserColumns {
+
+        private static final int FIRST_CHUNK_SHIFT = 3;
+        private static final int GROWING_CHUNKS = 10;
+        private static final int MAX_CHUNK_SHIFT = FIRST_CHUNK_SHIFT + GROWING_CHUNKS - 1;
+        private static final int GROWING_ROWS = (1 << FIRST_CHUNK_SHIFT) * ((1 << GROWING_CHUNKS) - 1);
+
+        private final ReentrantLock appendLock = new ReentrantLock();
+        private volatile Chunk[] chunks = new Chunk[]{new Chunk(1 << FIRST_CHUNK_SHIFT)};
+        private volatile int size;
+
+        private long append(AtomicLong sequence, long amount, TransactionType type, long updateMillis) {
+            appendLock.lock();
+            try {
+                int index = size;
+                int chunkIndex = chunkIndex(index);
+                Chunk[] current = chunks;
+                if (chunkIndex == current.length) {
+                    current = Arrays.copyOf(current, current.length + 1);
+                    current[chunkIndex] = new Chunk(1 << Math.min(FIRST_CHUNK_SHIFT + chunkIndex, MAX_CHUNK_SHIFT));
+                    chunks = current;
+                }
+                Chunk chunk = current[chunkIndex];
+                int offset = offset(index, chunkIndex);
+                long id = sequence.incrementAndGet();
+                chunk.ids[offset] = id;
+                chunk.amounts[offset] = amount;
+                chunk.updateMillis[offset] = updateMillis;
+                chunk.types[offset] = (byte) type.ordinal();
+                size = index + 1;
+                return id;
+            } finally {
+                appendLock.unlock();
+            }
+        }
+
+        private List<PointHistory> materialize(long userId, int start, int count, int limit, long toMillis) {
+            Chunk[] current = chunks;
+            List<PointHistory> result = new ArrayList<>(Math.max(0, Math.min(limit, count - start)));
+            for (int i = start; i < count && result.size() < limit; i++) {
+                int chunkIndex = chunkIndex(i);
+                Chunk chunk = current[chunkIndex];
+                int offset = offset(i, chunkIndex);
+                long millis = chunk.updateMillis[offset];
+                if (millis > toMillis) {
+                    break;
+                }
+                result.add(new PointHistory(chunk.ids[offset], userId, chunk.amounts[offset], TYPES[chunk.types[offset]], millis));
+            }
+            return result;
+        }
+
+        // 조건을 처음 만족하는 위치 (앞쪽은 불만족, 뒤쪽은 만족하는 단조 조건에 대한 이진 탐색)
+        private int firstIndex(int count, boolean byId, LongPredicate condition) {
+            Chunk[] current = chunks;
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int chunkIndex = chunkIndex(mid);
+                int offset = offset(mid, chunkIndex);
+                long value = byId ? current[chunkIndex].ids[offset] : current[chunkIndex].updateMillis[offset];
+                if (condition.test(value)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        private static int chunkIndex(int index) {
+            if (index < GROWING_ROWS) {
+                return 31 - Integer.numberOfLeadingZeros((index >>> FIRST_CHUNK_SHIFT) + 1);
+            }
+            return GROWING_CHUNKS + ((index - GROWING_ROWS) >>> MAX_CHUNK_SHIFT);
+        }
+
+        private static int offset(int index, int chunkIndex) {
+            if (chunkIndex < GROWING_CHUNKS) {
+                return index - (1 << FIRST_CHUNK_SHIFT) * ((1 << chunkIndex) - 1);
+            }
+            return (index - GROWING_ROWS) & ((1 << MAX_CHUNK_SHIFT) - 1);
+        }
+    }
+}
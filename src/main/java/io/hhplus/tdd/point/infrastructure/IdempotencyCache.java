@@ -0,0 +1,212 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 충전/사용 멱등성 캐시 (Idempotency-Key)
+ * - 유저 ID 와 Idempotency-Key 로 요청 결과 future 를 보관해, 같은 키로 다시 온 요청은 락이나 테이블을 거치지 않고 그 결과를 받는다.
+ *   원래 요청이 아직 처리 중이면 같은 future 를 받아 그 결과를 기다린다.
+ * - 같은 키로 종류나 금액이 다른 요청이 오면 IllegalArgumentException 으로 거절한다.
+ * - 성공과 정책 위반(IllegalArgumentException) 결과만 보관하고, 그 밖의 실패는 지워 다시 시도할 수 있게 한다.
+ * - 완료된 결과는 ttl 이 지나면 지우고, 최대 크기를 넘으면 가장 먼저 들어온 완료 항목부터 지운다. 처리 중인 항목은 지우지 않는다.
+ */
+@Component
+public class IdempotencyCache {
+
+    private static final int MAX_SEGMENT_COUNT = 16;
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Segment[] segments;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    @Autowired
+    public IdempotencyCache(
+            @Value("${point.idempotency.max-size:100000}") int maxSize,
+            @Value("${point.idempotency.ttl-millis:86400000}") long ttlMillis
+    ) {
+        this(maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    public IdempotencyCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        if (maxSize <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("멱등성 캐시 크기와 보관 시간은 1 이상이어야 합니다. maxSize: " + maxSize + ", ttlMillis: " + ttlMillis);
+        }
+        int segmentCount = maxSize >= MAX_SEGMENT_COUNT ? MAX_SEGMENT_COUNT : 1;
+        int segmentCapacity = (maxSize + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * 같은 유저/키로 보관된 결과가 있으면 그 future 를, 없으면 action 을 실행해 그 future 를 보관하고 반환한다.
+     */
+    public CompletableFuture<UserPoint> execute(
+            long userId,
+            String idempotencyKey,
+            TransactionType type,
+            long amount,
+            Supplier<CompletableFuture<UserPoint>> action
+    ) {
+        validateKey(idempotencyKey);
+        Key key = new Key(userId, idempotencyKey);
+        Segment segment = segmentFor(key);
+        Entry entry = new Entry(type, amount, new CompletableFuture<>());
+        Entry existing = segment.putIfAbsent(key, entry, clock.getAsLong());
+        if (existing != null) {
+            if (existing.type != type || existing.amount != amount) {
+                throw new IllegalArgumentException("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다. Idempotency-Key: " + idempotencyKey);
+            }
+            return existing.result;
+        }
+
+        CompletableFuture<UserPoint> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((userPoint, e) -> {
+            if (e != null && !(unwrap(e) instanceof IllegalArgumentException)) {
+                segment.remove(key, entry);
+            } else {
+                entry.completedAt = clock.getAsLong();
+            }
+            if (e != null) {
+                entry.result.completeExceptionally(unwrap(e));
+            } else {
+                entry.result.complete(userPoint);
+            }
+        });
+        return entry.result;
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private static void validateKey(String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key 는 1자 이상 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    private Segment segmentFor(Key key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[hash & (segments.length - 1)];
+    }
+
+    private record Key(
+            long userId,
+            String idempotencyKey
+    ) {
+    }
+
+    private static final class Entry {
+
+        private final TransactionType type;
+        private final long amount;
+        private final CompletableFuture<UserPoint> result;
+        private volatile long completedAt = -1L;
+
+        private Entry(TransactionType type, long amount, CompletableFuture<UserPoint> result) {
+            this.type = type;
+            this.amount = amount;
+            this.result = result;
+        }
+
+        private boolean isExpired(long now, long ttlMillis) {
+            long completed = completedAt;
+            return completed >= 0 && now - completed >= ttlMillis;
+        }
+    }
+
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int capacity;
+        private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>();
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+        }
+
+        // 만료된 항목은 없는 것으로 보고 바꿔 넣는다.
+        private Entry putIfAbsent(Key key, Entry entry, long now) {
+            lock.lock();
+            try {
+                Entry existing = entries.get(key);
+                if (existing != null && !existing.isExpired(now, ttlMillis)) {
+                    return existing;
+                }
+                entries.remove(key);
+                entries.put(key, entry);
+                evict(now);
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void remove(Key key, Entry entry) {
+            lock.lock();
+            try {
+                entries.remove(key, entry);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /*
+         * 먼저 들어온 순서로 훑으며 만료된 항목과 최대 크기를 넘는 완료 항목을 지운다.
+         * 들어온 순서가 곧 대략의 완료 순서이므로, 만료되지 않은 항목을 만나고 크기도 넘지 않으면 멈춘다.
+         */
+        private void evict(long now) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry eldest = iterator.next();
+                boolean overCapacity = entries.size() > capacity;
+                if (eldest.isExpired(now, ttlMillis) || overCapacity && eldest.completedAt >= 0) {
+                    iterator.remove();
+                } else if (!overCapacity) {
+                    return;
+                }
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.wal.PointTransactionLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 낙관적 동시성 제어 저장소 (point.optimistic.enabled=true)
+ * - 충전/사용은 유저 락 없이 잔고 저장소에서 버전과 함께 읽고, 저장소의 버전 비교 후 저장(compareAndSet)으로 반영한다.
+ *   조건부 저장이 곧 반영이므로, 저장에 실패한 충전/사용은 어디에도 남지 않아 재시도해도 두 번 반영되지 않는다.
+ *   충돌하면 잠깐 쉬었다(backoff) 최대 max-attempts 번까지 다시 시도한다.
+ * - 최신 값은 잔고 저장소에만 있으므로 유저 수만큼 쌓이는 캐시를 따로 두지 않는다.
+ * - 내역은 조건부 저장이 성공한 원자 구간 안에서 큐에 넣으므로, 같은 유저에게 겹쳐 들어온 충전/사용도
+ *   내역 순서(ID)가 저장 순서, 저장 시각과 같다. 내역 저장소의 유저별 시각 범위 조회는 이 순서에 기댄다.
+ * - 트랜잭션 로그는 유저별 기록 순서가 저장 순서와 같아야 하는데 락 없이는 맞출 수 없으므로, 함께 켜면 시작할 때 실패한다.
+ * - 최근 충돌이 잦은 유저(hot)는 유저 락 경로로 돌리도록 알려준다. 충돌 수는 유저 ID 해시 슬롯별로 세어 메모리가 고정된다.
+ */
+@Component
+public class OptimisticUserPointStore {
+
+    private static final int CONFLICT_SLOTS = 1024;
+    private static final long CONFLICT_WINDOW_MILLIS = 1_000L;
+    private static final long BASE_BACKOFF_NANOS = 1_000L;
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final int hotThreshold;
+    private final long[] hotUserIds;
+
+    private final AtomicIntegerArray conflictCounts = new AtomicIntegerArray(CONFLICT_SLOTS);
+    private final AtomicLong conflictWindowStartedAt = new AtomicLong(System.currentTimeMillis());
+
+    public OptimisticUserPointStore(
+            UserPointRepository userPointRepository,
+            PointHistoryWriter pointHistoryWriter,
+            PointTransactionLog pointTransactionLog,
+            @Value("${point.optimistic.enabled:false}") boolean enabled,
+            @Value("${point.optimistic.max-attempts:3}") int maxAttempts,
+            @Value("${point.optimistic.hot-threshold:8}") int hotThreshold,
+            @Value("${point.lock.hot-user-ids:}") long[] hotUserIds
+    ) {
+        if (maxAttempts <= 0 || hotThreshold <= 0) {
+            throw new IllegalArgumentException("최대 시도 횟수와 hot 판단 기준은 1 이상이어야 합니다.");
+        }
+        if (enabled && pointTransactionLog != PointTransactionLog.NOOP) {
+            throw new IllegalArgumentException("낙관적 모드(point.optimistic.enabled)는 트랜잭션 로그(point.wal.enabled)와 함께 쓸 수 없습니다.");
+        }
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.enabled = enabled;
+        this.maxAttempts = maxAttempts;
+        this.hotThreshold = hotThreshold;
+        this.hotUserIds = Arrays.stream(hotUserIds).distinct().sorted().toArray();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * hot-user-ids 에 지정됐거나 최근 충돌이 잦은 유저인지 확인
+     */
+    public boolean isHot(long id) {
+        if (hotUserIds.length > 0 && Arrays.binarySearch(hotUserIds, id) >= 0) {
+            return true;
+        }
+        rollConflictWindow();
+        return conflictCounts.get(conflictSlot(id)) >= hotThreshold;
+    }
+
+    public UserPoint read(long id) {
+        return userPointRepository.selectById(id);
+    }
+
+    /**
+     * 충전/사용을 잔고 저장소의 조건부 저장으로 반영하고 내역을 남긴 뒤 반영된 값을 반환한다.
+     * - 정책 위반은 IllegalArgumentException 으로 바로 던지고 다시 시도하지 않는다.
+     * - 내역 큐에 자리가 없으면 저장 전에 PointBusyException 으로 거절한다.
+     * - 저장소 오류로 예외가 나면 저장되지 않은 것이므로 내역도 남기지 않는다.
+     * @return 반영된 값. 충돌로 attempts 번 모두 실패하면 null
+     */
+    public UserPoint apply(long id, TransactionType type, long amount, int attempts) {
+        pointHistoryWriter.reserve(id, 1);
+        VersionedUserPoint saved;
+        try {
+            saved = compareAndSet(id, type, amount, attempts);
+        } catch (RuntimeException e) {
+            pointHistoryWriter.cancel(id, 1);
+            throw e;
+        }
+        if (saved == null) {
+            pointHistoryWriter.cancel(id, 1);
+            return null;
+        }
+        return saved.userPoint();
+    }
+
+    private VersionedUserPoint compareAndSet(long id, TransactionType type, long amount, int attempts) {
+        long historyAmount = type == TransactionType.CHARGE ? amount : -amount;
+        Consumer<UserPoint> enqueueHistory = saved -> pointHistoryWriter.enqueueReserved(id, historyAmount, type, saved.updateMillis());
+        for (int attempt = 1; ; attempt++) {
+            VersionedUserPoint current = userPointRepository.selectVersionedById(id);
+            UserPoint updated = type == TransactionType.CHARGE
+                    ? current.userPoint().charge(amount)
+                    : current.userPoint().use(amount);
+            VersionedUserPoint saved = userPointRepository.compareAndSet(id, current.version(), updated.point(), enqueueHistory);
+            if (saved != null) {
+                return saved;
+            }
+            recordConflict(id);
+            if (attempt >= attempts) {
+                return null;
+            }
+            backoff(attempt);
+        }
+    }
+
+    private void recordConflict(long id) {
+        rollConflictWindow();
+        conflictCounts.incrementAndGet(conflictSlot(id));
+    }
+
+    private void rollConflictWindow() {
+        long startedAt = conflictWindowStartedAt.get();
+        long now = System.currentTimeMillis();
+        if (now - startedAt >= CONFLICT_WINDOW_MILLIS && conflictWindowStartedAt.compareAndSet(startedAt, now)) {
+            for (int i = 0; i < CONFLICT_SLOTS; i++) {
+                conflictCounts.set(i, 0);
+            }
+        }
+    }
+
+    private static int conflictSlot(long id) {
+        int hash = Long.hashCode(id * 0x9E3779B97F4A7C15L);
+        return (hash ^ (hash >>> 16)) & (CONFLICT_SLOTS - 1);
+    }
+
+    // 시도할수록 대기 시간 상한을 두 배로 늘리고, 그 안에서 무작위로 쉬어 재시도가 한꺼번에 몰리지 않게 한다.
+    private static void backoff(int attempt) {
+        long bound = BASE_BACKOFF_NANOS << Math.min(attempt, 10);
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(bound));
+    }
+}
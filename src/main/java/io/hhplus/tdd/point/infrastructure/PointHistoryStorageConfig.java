@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 포인트 내역 저장소 설정
+ * - table (기본) : PointHistoryTable 에 기록하고 유저별 인덱스를 둔다.
+ * - columnar : 유저별 원시 타입 열에 기록한다. 오랜 기간의 내역을 메모리에 들고 있을 때 쓴다.
+ */
+@Configuration
+public class PointHistoryStorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "point.history.store", havingValue = "table", matchIfMissing = true)
+    public PointHistoryStore tablePointHistoryStore(PointHistoryTable pointHistoryTable) {
+        return new TablePointHistoryStore(pointHistoryTable);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "point.history.store", havingValue = "columnar")
+    public PointHistoryStore columnarPointHistoryStore() {
+        return new ColumnarPointHistoryStore();
+    }
+}
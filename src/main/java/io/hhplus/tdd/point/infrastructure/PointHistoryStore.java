@@ -0,0 +1,34 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+
+import java.util.List;
+
+/**
+ * 포인트 내역 저장소
+ * - 구현은 point.history.store 로 고른다. (table | columnar)
+ * - 유저별 내역은 기록된 순서대로 ID 와 updateMillis 가 함께 증가한다고 가정한다.
+ * - 전체 유저의 기간 조회는 두 구현 모두 PointHistoryTimeIndex 로 찾는다.
+ */
+public interface PointHistoryStore {
+
+    PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
+
+    /**
+     * 특정 유저의 내역을 기록된 순서대로 조회
+     */
+    List<PointHistory> selectAllByUserId(long userId);
+
+    /**
+     * 특정 유저의 내역을 ID 순서대로 최대 limit 건 조회
+     * - afterId 보다 큰 ID 중 updateMillis 가 [fromMillis, toMillis] 에 드는 내역만 반환한다.
+     */
+    List<PointHistory> selectByUserId(long userId, long afterId, long fromMillis, long toMillis, int limit);
+
+    /**
+     * 전체 유저의 내역을 (updateMillis, ID) 순서대로 최대 limit 건 조회
+     * - (fromMillis, afterId) 보다 뒤이고 updateMillis 가 toMillis 이하인 내역만 반환한다. afterId 가 0 이면 fromMillis 부터 포함한다.
+     */
+    List<PointHistory> selectByUpdateMillis(long fromMillis, long afterId, long toMillis, int limit);
+}
@@ -0,0 +1,181 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 전체 유저의 포인트 내역을 updateMillis 순으로 찾는 시간 인덱스
+ * - 내역을 bucketMillis 폭의 시간 구간(버킷)에 나눠 담고, 버킷은 시작 시각 순 ConcurrentSkipListMap 으로 찾는다.
+ *   조회 시작 버킷은 O(log 버킷 수) 에 찾고, 그 뒤로는 limit 을 채울 때까지 필요한 버킷만 읽는다.
+ * - 버킷 안은 id/userId/amount/updateMillis long 열과 type byte 열로 담아 한 건에 33 바이트만 쓴다.
+ * - 버킷 안의 행은 (updateMillis, ID) 순으로 유지한다. 서로 다른 유저의 내역은 조금씩 늦게 도착하므로
+ *   끝에서부터 자리를 찾아 끼워 넣고, 조회는 시작 위치를 이진 탐색으로 찾아 limit 건만 읽는다.
+ */
+public class PointHistoryTimeIndex {
+
+    public static final long DEFAULT_BUCKET_MILLIS = 1_000L;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final long bucketMillis;
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+    public PointHistoryTimeIndex() {
+        this(DEFAULT_BUCKET_MILLIS);
+    }
+
+    public PointHistoryTimeIndex(long bucketMillis) {
+        if (bucketMillis <= 0) {
+            throw new IllegalArgumentException("버킷 폭은 1ms 이상이어야 합니다. bucketMillis: " + bucketMillis);
+        }
+        this.bucketMillis = bucketMillis;
+    }
+
+    public void add(PointHistory history) {
+        long bucketStart = Math.floorDiv(history.updateMillis(), bucketMillis) * bucketMillis;
+        buckets.computeIfAbsent(bucketStart, start -> new Bucket()).append(history);
+    }
+
+    /**
+     * 전체 유저의 내역을 (updateMillis, ID) 순서대로 최대 limit 건 조회
+     * - (fromMillis, afterId) 보다 뒤이고 updateMillis 가 toMillis 이하인 내역만 반환한다.
+     *   afterId 가 0 이면 fromMillis 시각의 내역부터 포함한다.
+     */
+    public List<PointHistory> select(long fromMillis, long afterId, long toMillis, int limit) {
+        Long first = buckets.floorKey(fromMillis);
+        ConcurrentNavigableMap<Long, Bucket> candidates = first == null ? buckets : buckets.tailMap(first, true);
+        List<PointHistory> result = new ArrayList<>(Math.min(limit, 1_024));
+        for (var entry : candidates.entrySet()) {
+            if (entry.getKey() > toMillis || result.size() >= limit) {
+                break;
+            }
+            entry.getValue().select(fromMillis, afterId, toMillis, limit, result);
+        }
+        return result;
+    }
+
+    /**
+     * 버킷 하나의 열
+     * - 쓰기는 StampedLock 쓰기 락으로 직렬화하고, 읽기는 낙관적 읽기로 락 없이 하다가 그 사이 쓰기가 있었을 때만 읽기 락으로 다시 읽는다.
+     * - 열이 가득 차면 두 배 크기로 복사한 새 열 묶음으로 바꾼다.
+     */
+    private static final class Bucket {
+
+        private final StampedLock lock = new StampedLock();
+        private Columns columns = new Columns(16);
+        private int size;
+
+        private void append(PointHistory history) {
+            long stamp = lock.writeLock();
+            try {
+                Columns current = columns;
+                if (size == current.ids.length) {
+                    current = current.grow();
+                    columns = current;
+                }
+                int index = size;
+                while (index > 0 && isAfter(current, index - 1, history.updateMillis(), history.id())) {
+                    index--;
+                }
+                if (index < size) {
+                    current.shiftRight(index, size - index);
+                }
+                current.ids[index] = history.id();
+                current.userIds[index] = history.userId();
+                current.amounts[index] = history.amount();
+                current.updateMillis[index] = history.updateMillis();
+                current.types[index] = (byte) history.type().ordinal();
+                size++;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        // (fromMillis, afterId) 보다 뒤이고 toMillis 이하인 행을 result 가 limit 건이 될 때까지 덧붙인다.
+        private void select(long fromMillis, long afterId, long toMillis, int limit, List<PointHistory> result) {
+            int start = result.size();
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                collect(fromMillis, afterId, toMillis, limit, result);
+                if (lock.validate(stamp)) {
+                    return;
+                }
+                result.subList(start, result.size()).clear();
+            }
+            stamp = lock.readLock();
+            try {
+                collect(fromMillis, afterId, toMillis, limit, result);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        // 낙관적 읽기 중에는 size 와 열 묶음이 어긋날 수 있으므로 열 길이를 넘지 않게 읽는다. 값이 어긋났다면 validate 가 실패한다.
+        private void collect(long fromMillis, long afterId, long toMillis, int limit, List<PointHistory> result) {
+            Columns current = columns;
+            int count = Math.min(size, current.ids.length);
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (isAfter(current, mid, fromMillis, afterId)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            for (int i = low; i < count && result.size() < limit; i++) {
+                long millis = current.updateMillis[i];
+                if (millis > toMillis) {
+                    return;
+                }
+                result.add(new PointHistory(current.ids[i], current.userIds[i], current.amounts[i], TYPES[current.types[i]], millis));
+            }
+        }
+
+        // index 행이 (updateMillis, id) 보다 뒤인지
+        private static boolean isAfter(Columns current, int index, long updateMillis, long id) {
+            long millis = current.updateMillis[index];
+            return millis > updateMillis || millis == updateMillis && current.ids[index] > id;
+        }
+    }
+
+    private record Columns(
+            long[] ids,
+            long[] userIds,
+            long[] amounts,
+            long[] updateMillis,
+            byte[] types
+    ) {
+
+        private Columns(int capacity) {
+            this(new long[capacity], new long[capacity], new long[capacity], new long[capacity], new byte[capacity]);
+        }
+
+        private void shiftRight(int from, int length) {
+            System.arraycopy(ids, from, ids, from + 1, length);
+            System.arraycopy(userIds, from, userIds, from + 1, length);
+            System.arraycopy(amounts, from, amounts, from + 1, length);
+            System.arraycopy(updateMillis, from, updateMillis, from + 1, length);
+            System.arraycopy(types, from, types, from + 1, length);
+        }
+
+        private Columns grow() {
+            int capacity = ids.length * 2;
+            return new Columns(
+                    Arrays.copyOf(ids, capacity),
+                    Arrays.copyOf(userIds, capacity),
+                    Arrays.copyOf(amounts, capacity),
+                    Arrays.copyOf(updateMillis, capacity),
+                    Arrays.copyOf(types, capacity)
+            );
+        }
+    }
+}
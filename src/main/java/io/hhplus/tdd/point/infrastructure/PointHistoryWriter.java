@@ -0,0 +1,332 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.execution.PointThreads;
+import io.hhplus.tdd.point.lock.PointBusyException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 내역 비동기 기록기
+ * - 충전/사용 시 내역을 큐에 넣고 바로 반환해, 유저 락을 잡은 채 내역 insert 를 기다리지 않도록 한다.
+ * - 유저 ID 해시로 나눈 파티션마다 큐와 쓰기 스레드를 두어 여러 유저의 내역을 병렬로 기록한다.
+ *   한 유저의 내역은 항상 같은 파티션에서 넣은 순서대로 기록되므로 유저별 순서가 유지된다.
+ * - 큐 용량(queueCapacity)은 파티션에 나눠 주고, 가득 차면 기다리지 않고 PointBusyException 으로 거절한다.
+ *   잔고를 저장한 뒤에는 거절할 수 없으므로, 충전/사용은 저장 전에 reserve 로 자리를 잡고 enqueueReserved 로 넣는다.
+ * - flush(userId) 는 그 유저의 파티션에서 그 유저가 마지막으로 넣은 내역까지만 기다린다.
+ * - pause 하면 resume 할 때까지 내역을 받기만 하고 기록하지 않으며, flush 도 resume 까지 기다린다.
+ *   시작 시 복구하는 내역보다 새 내역이 먼저 기록되지 않도록 PointRecovery 가 쓴다.
+ */
+@Component
+public class PointHistoryWriter {
+
+    public static final int DEFAULT_PARTITIONS = 8;
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryWriter.class);
+    private static final long POLL_TIMEOUT_MILLIS = 100L;
+
+    private final PointHistoryStore pointHistoryStore;
+    private final int batchSize;
+    private final Partition[] partitions;
+    private volatile boolean running = true;
+    private volatile CountDownLatch paused; // null 이면 기록 중
+
+    public PointHistoryWriter(PointHistoryStore pointHistoryStore, int batchSize, int queueCapacity) {
+        this(pointHistoryStore, batchSize, queueCapacity, DEFAULT_PARTITIONS);
+    }
+
+    public PointHistoryWriter(PointHistoryStore pointHistoryStore, int batchSize, int queueCapacity, int partitions) {
+        this(pointHistoryStore, batchSize, queueCapacity, partitions, false);
+    }
+
+    @Autowired
+    public PointHistoryWriter(
+            PointHistoryStore pointHistoryStore,
+            @Value("${point.history.writer.batch-size:100}") int batchSize,
+            @Value("${point.history.writer.queue-capacity:100000}") int queueCapacity,
+            @Value("${point.history.writer.partitions:8}") int partitions,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        if (batchSize <= 0 || partitions <= 0 || queueCapacity < partitions) {
+            throw new IllegalArgumentException("배치 크기와 파티션 수는 1 이상, 큐 용량은 파티션 수 이상이어야 합니다.");
+        }
+        this.pointHistoryStore = pointHistoryStore;
+        this.batchSize = batchSize;
+        this.partitions = new Partition[partitions];
+        for (int i = 0; i < partitions; i++) {
+            this.partitions[i] = new Partition(queueCapacity / partitions);
+            this.partitions[i].worker = PointThreads.unstarted("point-history-writer-" + i, virtualThreads, this.partitions[i]::run);
+        }
+        for (Partition partition : this.partitions) {
+            partition.worker.start();
+        }
+    }
+
+    /**
+     * 내역 기록 요청
+     * - 큐에 자리가 없으면 PointBusyException 으로 거절한다.
+     */
+    public void enqueue(long userId, long amount, TransactionType type, long updateMillis) {
+        reserve(userId, 1);
+        enqueueReserved(userId, amount, type, updateMillis);
+    }
+
+    /**
+     * 유저의 파티션 큐에 count 건의 자리를 잡는다.
+     * - 자리가 없으면 PointBusyException 으로 거절한다. 잡은 자리는 enqueueReserved 로 쓰거나 cancel 로 돌려준다.
+     */
+    public void reserve(long userId, int count) {
+        checkRunning();
+        if (!partitionOf(userId).slots.tryAcquire(count)) {
+            throw new PointBusyException("포인트 내역 기록이 밀려 있습니다. 잠시 후 다시 시도해주세요. ID: " + userId);
+        }
+    }
+
+    /**
+     * reserve 로 잡았지만 쓰지 않은 자리를 돌려준다.
+     */
+    public void cancel(long userId, int count) {
+        partitionOf(userId).slots.release(count);
+    }
+
+    /**
+     * reserve 로 잡은 자리에 내역을 넣는다. 기다리거나 거절하지 않는다.
+     * - 같은 유저에 대한 호출은 유저 단위 순차 실행이나 낙관적 모드의 조건부 저장 안에서 이뤄지므로 넣은 순서가 곧 기록 순서다.
+     */
+    public void enqueueReserved(long userId, long amount, TransactionType type, long updateMillis) {
+        partitionOf(userId).add(userId, amount, type, updateMillis);
+    }
+
+    /**
+     * resume 할 때까지 내역 기록을 멈춘다.
+     */
+    public void pause() {
+        paused = new CountDownLatch(1);
+    }
+
+    /**
+     * 멈춘 내역 기록을 다시 시작한다.
+     */
+    public void resume() {
+        CountDownLatch latch = paused;
+        paused = null;
+        if (latch != null) {
+            latch.countDown();
+        }
+    }
+
+    /**
+     * 멈춘 상태면 resume 될 때까지 대기
+     */
+    public void awaitResumed() {
+        CountDownLatch latch = paused;
+        if (latch == null) {
+            return;
+        }
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("포인트 내역 복구 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * 특정 유저에 대해 지금까지 요청된 내역이 모두 기록될 때까지 대기
+     */
+    public void flush(long userId) {
+        awaitResumed();
+        Partition partition = partitionOf(userId);
+        Long sequence = partition.pendingSequences.get(userId);
+        if (sequence != null) {
+            partition.awaitWritten(sequence);
+        }
+    }
+
+    /**
+     * 지금까지 요청된 모든 내역이 기록될 때까지 대기
+     */
+    public void flush() {
+        awaitResumed();
+        for (Partition partition : partitions) {
+            partition.awaitWritten(partition.enqueuedSequence());
+        }
+    }
+
+    public int partitionCount() {
+        return partitions.length;
+    }
+
+    /**
+     * 남은 내역을 모두 기록한 뒤 쓰기 스레드를 종료한다. 멈춘 상태여도 남은 내역은 기록한다.
+     */
+    @PreDestroy
+    public void close() {
+        running = false;
+        resume();
+        for (Partition partition : partitions) {
+            try {
+                partition.worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void checkRunning() {
+        if (!running) {
+            throw new IllegalStateException("포인트 내역 기록기가 종료되었습니다.");
+        }
+    }
+
+    private Partition partitionOf(long userId) {
+        int hash = Long.hashCode(userId * 0x9E3779B97F4A7C15L);
+        return partitions[Math.floorMod(hash ^ (hash >>> 16), partitions.length)];
+    }
+
+    /**
+     * 파티션 하나의 큐와 쓰기 스레드
+     * - 큐 자체는 크기 제한이 없고, 넣을 수 있는 수는 slots 로 제한한다. 기록을 마친 내역만큼 slots 를 돌려준다.
+     */
+    private final class Partition {
+
+        private final BlockingQueue<PendingHistory> queue = new LinkedBlockingQueue<>();
+        private final Semaphore slots;
+
+        // 순번 발급과 큐 삽입을 묶어, 큐 순서와 순번 순서를 일치시킨다.
+        private final ReentrantLock enqueueLock = new ReentrantLock();
+        private long enqueuedSequence;
+
+        private final ReentrantLock writtenLock = new ReentrantLock();
+        private final Condition written = writtenLock.newCondition();
+        private volatile long writtenSequence;
+
+        // 아직 기록되지 않은 유저별 마지막 순번
+        private final ConcurrentMap<Long, Long> pendingSequences = new ConcurrentHashMap<>();
+
+        private Thread worker;
+
+        private Partition(int capacity) {
+            this.slots = new Semaphore(capacity);
+        }
+
+        // 쓰기 스레드가 꺼내기 전에 유저 순번을 남겨, 기록을 마친 뒤 지운 순번이 다시 남지 않게 한다.
+        private void add(long userId, long amount, TransactionType type, long updateMillis) {
+            enqueueLock.lock();
+            try {
+                long sequence = ++enqueuedSequence;
+                pendingSequences.put(userId, sequence);
+                queue.add(new PendingHistory(sequence, userId, amount, type, updateMillis));
+            } finally {
+                enqueueLock.unlock();
+            }
+        }
+
+        private long enqueuedSequence() {
+            enqueueLock.lock();
+            try {
+                return enqueuedSequence;
+            } finally {
+                enqueueLock.unlock();
+            }
+        }
+
+        private void awaitWritten(long sequence) {
+            if (writtenSequence >= sequence) {
+                return;
+            }
+            writtenLock.lock();
+            try {
+                while (writtenSequence < sequence) {
+                    written.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("포인트 내역 반영 대기 중 인터럽트가 발생했습니다.", e);
+            } finally {
+                writtenLock.unlock();
+            }
+        }
+
+        private void run() {
+            List<PendingHistory> batch = new ArrayList<>(batchSize);
+            while (running || !queue.isEmpty()) {
+                try {
+                    PendingHistory first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    holdWhilePaused();
+                    write(batch);
+                } catch (InterruptedException e) {
+                    log.warn("포인트 내역 기록 스레드가 인터럽트되었습니다. 남은 내역을 계속 기록합니다.");
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        // 종료 중이면 멈춘 상태여도 남은 내역을 기록한다.
+        private void holdWhilePaused() {
+            CountDownLatch latch;
+            while ((latch = paused) != null && running) {
+                try {
+                    latch.await(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    log.warn("포인트 내역 기록 스레드가 인터럽트되었습니다. 기록 재개를 계속 기다립니다.");
+                }
+            }
+        }
+
+        private void write(List<PendingHistory> batch) {
+            for (PendingHistory history : batch) {
+                try {
+                    pointHistoryStore.insert(history.userId(), history.amount(), history.type(), history.updateMillis());
+                } catch (RuntimeException e) {
+                    log.error("포인트 내역 기록에 실패했습니다. userId: {}, amount: {}, type: {}",
+                            history.userId(), history.amount(), history.type(), e);
+                }
+                pendingSequences.remove(history.userId(), history.sequence());
+                slots.release();
+                markWritten(history.sequence());
+            }
+        }
+
+        private void markWritten(long sequence) {
+            writtenLock.lock();
+            try {
+                writtenSequence = sequence;
+                written.signalAll();
+            } finally {
+                writtenLock.unlock();
+            }
+        }
+    }
+
+    private record PendingHistory(
+            long sequence,
+            long userId,
+            long amount,
+            TransactionType type,
+            long updateMillis
+    ) {
+    }
+}
@@ -0,0 +1,36 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.PointSummary;
+import io.hhplus.tdd.point.domain.TransactionType;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 유저별 포인트 누적 집계 저장소
+ * - PointService 가 충전/사용을 반영할 때마다 해당 유저의 집계를 갱신해, 조회는 내역 테이블을 읽지 않고 O(1) 로 응답한다.
+ * - 갱신은 유저 단위 compute 로 원자적으로 반영하므로 낙관적 모드처럼 유저 락 밖에서 들어오는 갱신도 잃지 않는다.
+ * - 메모리에만 보관하므로 재시작 후에는 내역으로 다시 계산(replace)해야 한다.
+ */
+@Component
+public class PointSummaryStore {
+
+    private final ConcurrentHashMap<Long, PointSummary> summaries = new ConcurrentHashMap<>();
+
+    public PointSummary get(long userId) {
+        PointSummary summary = summaries.get(userId);
+        return summary != null ? summary : PointSummary.empty(userId);
+    }
+
+    public void record(long userId, TransactionType type, long amount, long updateMillis) {
+        summaries.compute(userId, (id, summary) -> (summary != null ? summary : PointSummary.empty(id)).apply(type, amount, updateMillis));
+    }
+
+    public void replace(PointSummary summary) {
+        summaries.put(summary.userId(), summary);
+    }
+
+    public int size() {
+        return summaries.size();
+    }
+}
@@ -0,0 +1,259 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * 원시 배열 기반 잔고 저장소 (point.balance.store=primitive)
+ * - 유저마다 Long 키, UserPoint 객체, 맵 노드를 만드는 대신 id/point/updateMillis/version 을 long 배열 네 개에 나눠 담는다.
+ *   열린 주소법(선형 탐사)으로 찾으므로 유저당 약 32 / loadFactor 바이트만 쓰고 GC 가 훑을 객체가 생기지 않는다.
+ * - 세그먼트마다 StampedLock 을 두어 쓰기는 해당 세그먼트만 막고,
+ *   읽기는 낙관적 읽기로 락 없이 하다가 그 사이 쓰기가 있었을 때만 읽기 락으로 다시 읽는다.
+ * - 버전 비교 후 저장(compareAndSet)도 같은 세그먼트 쓰기 락 안에서 비교와 저장을 함께 한다.
+ *   저장 시각도 락 안에서 정하므로 한 유저의 저장 시각은 저장 순서대로 늘어난다.
+ * - 빈 슬롯을 id 0 으로 표시하므로 유효한 유저 ID(1 이상)만 저장한다.
+ */
+public class PrimitiveUserPointRepository implements UserPointRepository {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final long ANY_VERSION = -1L;
+    private static final long NOW = -1L;
+
+    private final Segment[] segments;
+
+    public PrimitiveUserPointRepository(int segmentCount, int initialCapacity) {
+        if (segmentCount <= 0 || Integer.bitCount(segmentCount) != 1) {
+            throw new IllegalArgumentException("세그먼트 수는 2의 거듭제곱이어야 합니다. segmentCount: " + segmentCount);
+        }
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("초기 용량은 0 이상이어야 합니다. initialCapacity: " + initialCapacity);
+        }
+        int segmentCapacity = tableSizeFor((int) Math.ceil(initialCapacity / (double) segmentCount / LOAD_FACTOR));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        if (id <= 0) {
+            return UserPoint.empty(id);
+        }
+        long hash = mix(id);
+        return segmentOf(hash).read(id, (int) hash, Segment::readPoint);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint.validateId(id);
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        long hash = mix(id);
+        segmentOf(hash).put(id, (int) hash, ANY_VERSION, amount, userPoint.updateMillis(), null);
+        return userPoint;
+    }
+
+    @Override
+    public VersionedUserPoint selectVersionedById(long id) {
+        if (id <= 0) {
+            return new VersionedUserPoint(UserPoint.empty(id), 0L);
+        }
+        long hash = mix(id);
+        return segmentOf(hash).read(id, (int) hash, Segment::readVersioned);
+    }
+
+    @Override
+    public VersionedUserPoint compareAndSet(long id, long expectedVersion, long amount, Consumer<UserPoint> onSaved) {
+        UserPoint.validateId(id);
+        UserPoint[] saved = new UserPoint[1];
+        long hash = mix(id);
+        long version = segmentOf(hash).put(id, (int) hash, expectedVersion, amount, NOW, userPoint -> {
+            saved[0] = userPoint;
+            onSaved.accept(userPoint);
+        });
+        return version == ANY_VERSION ? null : new VersionedUserPoint(saved[0], version);
+    }
+
+    @Override
+    public void restore(long id, long point, long updateMillis) {
+        UserPoint.validateId(id);
+        long hash = mix(id);
+        segmentOf(hash).put(id, (int) hash, ANY_VERSION, point, updateMillis, null);
+    }
+
+    /**
+     * 저장된 유저 수
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentOf(long hash) {
+        return segments[(int) (hash >>> 32) & (segments.length - 1)];
+    }
+
+    // 연속된 ID 가 같은 세그먼트/인접 슬롯에 몰리지 않도록 섞는다. (상위 32비트: 세그먼트, 하위 32비트: 슬롯)
+    private static long mix(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Math.max(16, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+    }
+
+    /**
+     * 슬롯 배열 묶음
+     * - 배열 셋의 길이가 항상 같도록 한 객체로 교체한다. 낙관적 읽기 중 확장이 일어나도 범위를 벗어나지 않는다.
+     */
+    private static final class Slots {
+
+        private final long[] ids;
+        private final long[] points;
+        private final long[] updateMillis;
+        private final long[] versions;
+        private final int mask;
+
+        private Slots(int capacity) {
+            this.ids = new long[capacity];
+            this.points = new long[capacity];
+            this.updateMillis = new long[capacity];
+            this.versions = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        // id 가 있는 슬롯, 없으면 처음 만난 빈 슬롯 (탐사 횟수를 용량으로 제한해 낙관적 읽기 중에도 끝난다)
+        private int indexOf(long id, int hash) {
+            int index = hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                long slotId = ids[index];
+                if (slotId == id || slotId == EMPTY) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+    }
+
+    private static final class Segment {
+
+        private final StampedLock lock = new StampedLock();
+        private Slots slots;
+        private int size;
+
+        private Segment(int capacity) {
+            this.slots = new Slots(capacity);
+        }
+
+        private <T> T read(long id, int hash, SlotReader<T> reader) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                T value = reader.read(slots, id, hash);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return reader.read(slots, id, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private static UserPoint readPoint(Slots current, long id, int hash) {
+            int index = current.indexOf(id, hash);
+            if (index < 0 || current.ids[index] != id) {
+                return UserPoint.empty(id);
+            }
+            return new UserPoint(id, current.points[index], current.updateMillis[index]);
+        }
+
+        private static VersionedUserPoint readVersioned(Slots current, long id, int hash) {
+            int index = current.indexOf(id, hash);
+            if (index < 0 || current.ids[index] != id) {
+                return new VersionedUserPoint(UserPoint.empty(id), 0L);
+            }
+            return new VersionedUserPoint(new UserPoint(id, current.points[index], current.updateMillis[index]), current.versions[index]);
+        }
+
+        /*
+         * expectedVersion 이 ANY_VERSION 이 아니면 저장된 버전(없으면 0)이 같을 때만 저장한다.
+         * 저장하면 올린 버전을, 버전이 달라 저장하지 않았으면 ANY_VERSION 을 반환한다.
+         * updateMillis 가 NOW 면 락 안에서 현재 시각으로 정하되, 시계가 뒤로 가도 이전 저장 시각보다 작아지지 않게 한다.
+         * onSaved 가 있으면 저장한 뒤 락을 놓기 전에 저장된 잔고로 호출한다.
+         */
+        private long put(long id, int hash, long expectedVersion, long point, long updateMillis, Consumer<UserPoint> onSaved) {
+            long stamp = lock.writeLock();
+            try {
+                int index = slots.indexOf(id, hash);
+                boolean present = slots.ids[index] == id;
+                if (expectedVersion != ANY_VERSION && expectedVersion != (present ? slots.versions[index] : 0L)) {
+                    return ANY_VERSION;
+                }
+                if (updateMillis == NOW) {
+                    updateMillis = Math.max(System.currentTimeMillis(), present ? slots.updateMillis[index] : 0L);
+                }
+                if (!present) {
+                    if (size + 1 > slots.ids.length * LOAD_FACTOR) {
+                        resize();
+                        index = slots.indexOf(id, hash);
+                    }
+                    slots.ids[index] = id;
+                    slots.versions[index] = 0L;
+                    size++;
+                }
+                slots.points[index] = point;
+                slots.updateMillis[index] = updateMillis;
+                long version = ++slots.versions[index];
+                if (onSaved != null) {
+                    onSaved.accept(new UserPoint(id, point, updateMillis));
+                }
+                return version;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        // 쓰기 락 안에서만 호출한다. 슬롯 위치는 세그먼트 선택에 쓰지 않은 하위 32비트로 다시 계산한다.
+        private void resize() {
+            Slots previous = slots;
+            Slots resized = new Slots(previous.ids.length << 1);
+            for (int i = 0; i < previous.ids.length; i++) {
+                long id = previous.ids[i];
+                if (id == EMPTY) {
+                    continue;
+                }
+                int index = resized.indexOf(id, (int) mix(id));
+                resized.ids[index] = id;
+                resized.points[index] = previous.points[i];
+                resized.updateMillis[index] = previous.updateMillis[i];
+                resized.versions[index] = previous.versions[i];
+            }
+            slots = resized;
+        }
+
+        private long size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface SlotReader<T> {
+
+        T read(Slots slots, long id, int hash);
+    }
+}
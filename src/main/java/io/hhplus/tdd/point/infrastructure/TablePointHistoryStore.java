@@ -0,0 +1,130 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * PointHistoryTable 기반 포인트 내역 저장소 (point.history.store=table, 기본값)
+ * - PointHistoryTable 의 공개 API(insert) 위에 유저별 내역 인덱스를 유지한다.
+ * - 유저별 조회는 전체 테이블을 훑지 않고 해당 유저의 내역 수만큼만 비용이 든다.
+ * - PointHistoryTable 은 동시 insert 에 안전하지 않으므로 insert 를 직렬화한다.
+ */
+@RequiredArgsConstructor
+public class TablePointHistoryStore implements PointHistoryStore {
+
+    private final PointHistoryTable pointHistoryTable;
+    private final ReentrantLock insertLock = new ReentrantLock();
+    private final ConcurrentMap<Long, UserHistories> userHistories = new ConcurrentHashMap<>();
+    private final PointHistoryTimeIndex timeIndex = new PointHistoryTimeIndex();
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        insertLock.lock();
+        try {
+            PointHistory pointHistory = pointHistoryTable.insert(userId, amount, type, updateMillis);
+            userHistories.computeIfAbsent(userId, id -> new UserHistories()).append(pointHistory);
+            timeIndex.add(pointHistory);
+            return pointHistory;
+        } finally {
+            insertLock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        UserHistories histories = userHistories.get(userId);
+        if (histories == null) {
+            return List.of();
+        }
+        return histories.snapshot();
+    }
+
+    /**
+     * 유저별 내역은 유저 락 안에서 발급된 시각 순으로 기록되므로 ID 와 updateMillis 가 함께 증가한다.
+     * 시작 위치를 이진 탐색으로 찾아, 조회 비용이 전체 내역 수가 아닌 페이지 크기에 비례한다.
+     */
+    @Override
+    public List<PointHistory> selectByUserId(long userId, long afterId, long fromMillis, long toMillis, int limit) {
+        UserHistories histories = userHistories.get(userId);
+        if (histories == null) {
+            return List.of();
+        }
+        return histories.range(afterId, fromMillis, toMillis, limit);
+    }
+
+    @Override
+    public List<PointHistory> selectByUpdateMillis(long fromMillis, long afterId, long toMillis, int limit) {
+        return timeIndex.select(fromMillis, afterId, toMillis, limit);
+    }
+
+    /**
+     * 유저별 추가 전용 내역 목록
+     * - 쓰기는 insertLock 안에서만 일어나고, 읽기는 락 없이 size 까지의 스냅샷을 복사한다.
+     * - 원소를 채운 뒤 size 를 늘리므로 읽는 쪽은 항상 채워진 원소만 본다.
+     */
+    private static final class UserHistories {
+
+        private volatile PointHistory[] entries = new PointHistory[4];
+        private volatile int size;
+
+        private void append(PointHistory pointHistory) {
+            PointHistory[] current = entries;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                entries = current;
+            }
+            current[size] = pointHistory;
+            size = size + 1;
+        }
+
+        private List<PointHistory> snapshot() {
+            int count = size;
+            PointHistory[] current = entries;
+            return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(current, count)));
+        }
+
+        private List<PointHistory> range(long afterId, long fromMillis, long toMillis, int limit) {
+            int count = size;
+            PointHistory[] current = entries;
+            int start = Math.max(
+                    firstIndex(current, count, history -> history.id() > afterId),
+                    firstIndex(current, count, history -> history.updateMillis() >= fromMillis)
+            );
+            List<PointHistory> result = new ArrayList<>(Math.min(limit, count - start));
+            for (int i = start; i < count && result.size() < limit; i++) {
+                PointHistory history = current[i];
+                if (history.updateMillis() > toMillis) {
+                    break;
+                }
+                result.add(history);
+            }
+            return result;
+        }
+
+        // 조건을 처음 만족하는 위치 (앞쪽은 불만족, 뒤쪽은 만족하는 단조 조건에 대한 이진 탐색)
+        private static int firstIndex(PointHistory[] current, int count, Predicate<PointHistory> condition) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (condition.test(current[mid])) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.domain.UserPoint;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * UserPointTable 의 공개 API 를 그대로 쓰는 잔고 저장소 (point.balance.store=table, 기본값)
+ * - UserPointTable 은 HashMap 이라 서로 다른 유저끼리도 동시 insertOrUpdate 에 안전하지 않으므로,
+ *   저장/조건부 저장/복구 모두 하나의 writeLock 안에서 한다. 다른 유저의 저장도 서로 기다리므로
+ *   저장을 병렬로 하려면 point.balance.store=primitive 를 쓴다.
+ * - 공개 API 에는 저장 시각을 지정하는 방법이 없으므로 복구한 잔고의 저장 시각은 따로 들고 있다가,
+ *   그 유저의 다음 저장 전까지 조회 결과에 덮어 쓴다.
+ * - UserPointTable 에는 버전이 없으므로, 낙관적 모드(versioned)일 때만 유저별 버전을 따로 들고 writeLock 안에서 비교하고 올린다.
+ * - 버전을 들지 않으면 버전을 만들지 않고, 버전 조회/조건부 저장은 IllegalStateException 으로 거절한다.
+ */
+public class TableUserPointRepository implements UserPointRepository {
+
+    private final UserPointTable userPointTable;
+    private final boolean versioned;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ConcurrentMap<Long, Long> versions = new ConcurrentHashMap<>(); // writeLock 안에서만 바꾼다.
+    private final ConcurrentMap<Long, Long> restoredUpdateMillis = new ConcurrentHashMap<>();
+
+    public TableUserPointRepository(UserPointTable userPointTable) {
+        this(userPointTable, false);
+    }
+
+    public TableUserPointRepository(UserPointTable userPointTable, boolean versioned) {
+        this.userPointTable = userPointTable;
+        this.versioned = versioned;
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        return withRestoredUpdateMillis(userPointTable.selectById(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        writeLock.lock();
+        try {
+            UserPoint saved = userPointTable.insertOrUpdate(id, amount);
+            restoredUpdateMillis.remove(id);
+            if (versioned) {
+                versions.merge(id, 1L, Long::sum);
+            }
+            return saved;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 버전을 먼저 읽으므로, 그 뒤 잔고를 읽기 전에 저장이 끼어들었다면 이 버전으로 하는 compareAndSet 은 실패한다.
+    @Override
+    public VersionedUserPoint selectVersionedById(long id) {
+        checkVersioned();
+        long version = versions.getOrDefault(id, 0L);
+        return new VersionedUserPoint(withRestoredUpdateMillis(userPointTable.selectById(id)), version);
+    }
+
+    @Override
+    public VersionedUserPoint compareAndSet(long id, long expectedVersion, long amount, Consumer<UserPoint> onSaved) {
+        checkVersioned();
+        writeLock.lock();
+        try {
+            long version = versions.getOrDefault(id, 0L);
+            if (version != expectedVersion) {
+                return null;
+            }
+            UserPoint saved = userPointTable.insertOrUpdate(id, amount);
+            restoredUpdateMillis.remove(id);
+            versions.put(id, version + 1);
+            onSaved.accept(saved);
+            return new VersionedUserPoint(saved, version + 1);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void restore(long id, long point, long updateMillis) {
+        writeLock.lock();
+        try {
+            userPointTable.insertOrUpdate(id, point);
+            restoredUpdateMillis.put(id, updateMillis);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private UserPoint withRestoredUpdateMillis(UserPoint userPoint) {
+        Long updateMillis = restoredUpdateMillis.get(userPoint.id());
+        return updateMillis == null ? userPoint : new UserPoint(userPoint.id(), userPoint.point(), updateMillis);
+    }
+
+    private void checkVersioned() {
+        if (!versioned) {
+            throw new IllegalStateException("버전을 들지 않는 잔고 저장소입니다. 낙관적 모드(point.optimistic.enabled)에서만 쓸 수 있습니다.");
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저 포인트 조회 캐시
+ * - 유저 ID 기준으로 UserPoint 를 보관하고, 최대 크기를 넘으면 가장 오래 사용되지 않은 항목부터 제거한다. (LRU)
+ * - 세그먼트마다 락을 나눠 조회끼리의 경합을 줄인다.
+ * - 값 변경은 PointService 가 해당 유저의 락을 잡은 상태에서만 반영한다.
+ */
+@Component
+public class UserPointCache {
+
+    private static final int MAX_SEGMENT_COUNT = 16;
+
+    private final Segment[] segments;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public UserPointCache(@Value("${point.cache.max-size:100000}") int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("캐시 최대 크기는 0 이상이어야 합니다. maxSize: " + maxSize);
+        }
+        int segmentCount = maxSize >= MAX_SEGMENT_COUNT ? MAX_SEGMENT_COUNT : 1;
+        int segmentCapacity = (maxSize + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * 캐시된 포인트 조회 (없으면 null)
+     */
+    public UserPoint get(long id) {
+        UserPoint userPoint = segmentFor(id).get(id);
+        if (userPoint == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return userPoint;
+    }
+
+    /**
+     * 통계에 집계하지 않는 조회
+     * - 락을 잡은 뒤 다른 스레드가 이미 채웠는지 다시 확인할 때 사용한다.
+     */
+    public UserPoint peek(long id) {
+        return segmentFor(id).get(id);
+    }
+
+    public void put(UserPoint userPoint) {
+        segmentFor(userPoint.id()).put(userPoint);
+    }
+
+    public Stats stats() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return new Stats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size);
+    }
+
+    private Segment segmentFor(long id) {
+        int hash = Long.hashCode(id);
+        hash ^= (hash >>> 16);
+        return segments[hash & (segments.length - 1)];
+    }
+
+    /**
+     * 캐시 통계
+     * - hitCount : 캐시에서 바로 응답한 조회 수
+     * - missCount : 테이블까지 내려간 조회 수
+     * - evictionCount : 최대 크기를 넘어 제거된 항목 수
+     */
+    public record Stats(
+            long hitCount,
+            long missCount,
+            long evictionCount,
+            long size
+    ) {
+    }
+
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int capacity;
+        private final LinkedHashMap<Long, UserPoint> entries;
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+                    if (size() > Segment.this.capacity) {
+                        evictionCount.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private UserPoint get(long id) {
+            lock.lock();
+            try {
+                return entries.get(id);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(UserPoint userPoint) {
+            if (capacity == 0) {
+                return;
+            }
+            lock.lock();
+            try {
+                entries.put(userPoint.id(), userPoint);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
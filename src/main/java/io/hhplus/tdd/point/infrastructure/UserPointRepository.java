@@ -0,0 +1,43 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+
+import java.util.function.Consumer;
+
+/**
+ * 유저 포인트 잔고 저장소
+ * - PointService 는 이 인터페이스로만 잔고를 읽고 쓴다.
+ * - 구현은 point.balance.store 로 고른다. (table | primitive)
+ */
+public interface UserPointRepository {
+
+    /**
+     * 유저의 잔고 조회 (저장된 적 없으면 0 포인트)
+     */
+    UserPoint selectById(long id);
+
+    /**
+     * 유저의 잔고를 amount 로 저장하고, 저장 시각을 담은 UserPoint 를 반환한다.
+     */
+    UserPoint insertOrUpdate(long id, long amount);
+
+    /**
+     * 유저의 잔고를 버전과 함께 조회 (저장된 적 없으면 0 포인트, 버전 0)
+     */
+    VersionedUserPoint selectVersionedById(long id);
+
+    /**
+     * 조건부 저장 (낙관적 동시성 제어용)
+     * - 저장된 버전이 expectedVersion 일 때만 잔고를 amount 로 저장하고 버전을 하나 올린다. 비교와 저장은 원자적이다.
+     * - onSaved 는 저장에 성공했을 때 저장과 같은 원자 구간 안에서 저장된 잔고로 호출되므로, 같은 유저에 대해 저장 순서대로 불린다.
+     *   그동안 같은 유저의 저장이 막히므로 기다리지 않는 짧은 작업만 넘긴다.
+     * @return 저장된 잔고와 새 버전. 그 사이 다른 저장으로 버전이 바뀌었으면 null
+     */
+    VersionedUserPoint compareAndSet(long id, long expectedVersion, long amount, Consumer<UserPoint> onSaved);
+
+    /**
+     * 복구용 저장: 스냅샷/트랜잭션 로그에 남은 잔고와 저장 시각을 그대로 되살린다.
+     * - 여러 스레드가 서로 다른 유저를 동시에 복구할 수 있다.
+     */
+    void restore(long id, long point, long updateMillis);
+}
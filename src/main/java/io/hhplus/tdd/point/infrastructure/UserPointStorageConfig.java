@@ -0,0 +1,34 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.database.UserPointTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 잔고 저장소 설정
+ * - table (기본) : UserPointTable 에 저장한다. 유저별 버전은 낙관적 모드(point.optimistic.enabled)일 때만 든다.
+ * - primitive : 원시 배열 기반 열린 주소법 저장소에 저장한다. 수천만 유저의 잔고를 적은 힙으로 들고 있을 때 쓴다.
+ */
+@Configuration
+public class UserPointStorageConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "point.balance.store", havingValue = "table", matchIfMissing = true)
+    public UserPointRepository tableUserPointRepository(
+            UserPointTable userPointTable,
+            @Value("${point.optimistic.enabled:false}") boolean optimistic
+    ) {
+        return new TableUserPointRepository(userPointTable, optimistic);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "point.balance.store", havingValue = "primitive")
+    public UserPointRepository primitiveUserPointRepository(
+            @Value("${point.balance.segments:64}") int segments,
+            @Value("${point.balance.initial-capacity:1024}") int initialCapacity
+    ) {
+        return new PrimitiveUserPointRepository(segments, initialCapacity);
+    }
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point.infrastructure;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+
+/**
+ * 버전이 붙은 유저 포인트 (낙관적 동시성 제어용)
+ * - 버전은 잔고 저장소가 유저의 잔고를 저장할 때마다 하나씩 올린다. 저장된 적 없는 유저는 0 이다.
+ * - 버전은 저장소 안에서만 비교에 쓰고, API 로 나가는 UserPoint 에는 담지 않는다.
+ */
+public record VersionedUserPoint(
+        UserPoint userPoint,
+        long version
+) {
+}
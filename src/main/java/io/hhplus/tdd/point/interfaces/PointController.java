@@ -1,14 +1,26 @@
 package io.hhplus.tdd.point.interfaces;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.hhplus.tdd.point.domain.PointBatchService;
+import io.hhplus.tdd.point.domain.PointCommand;
+import io.hhplus.tdd.point.domain.PointCommandResult;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryExport;
+import io.hhplus.tdd.point.domain.PointHistoryPage;
 import io.hhplus.tdd.point.domain.PointService;
+import io.hhplus.tdd.point.domain.PointSummary;
 import io.hhplus.tdd.point.domain.UserPoint;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/point")
@@ -16,17 +28,21 @@ import java.util.List;
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
 
     private final PointService pointService;
+    private final PointBatchService pointBatchService;
+    private final ObjectMapper objectMapper;
 
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
+     * - 조회를 기다리는 동안 요청 스레드를 점유하지 않도록 future 를 반환한다.
      */
     @GetMapping("{id}")
-    public UserPoint point(
+    public CompletableFuture<UserPoint> point(
             @PathVariable long id
     ) {
-        return pointService.getUserPoint(id);
+        return pointService.getUserPointAsync(id);
     }
 
     /**
@@ -39,25 +55,128 @@ public class PointController {
         return pointService.getUserPointHistories(id);
     }
 
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 페이지 단위로 조회
+     * - limit 이 주어지면 페이지로 응답하고, 다음 페이지는 응답의 nextCursor 를 cursor 로 넘겨 조회한다.
+     * - from/to 는 updateMillis 기준 조회 기간이다.
+     */
+    @GetMapping(value = "{id}/histories", params = "limit")
+    public PointHistoryPage historyPage(
+            @PathVariable long id,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam int limit,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        return pointService.getUserPointHistories(id, cursor, limit, from, to);
+    }
+
+    /**
+     * 전체 유저의 포인트 충전/이용 내역을 updateMillis 기간으로 조회
+     * - [from, to] 기간의 내역을 시각 순으로 최대 limit 건 응답한다.
+     * - 다음 페이지는 마지막 내역의 updateMillis 를 from 으로, 응답의 nextCursor 를 cursor 로 넘겨 조회한다.
+     */
+    @GetMapping("histories")
+    public PointHistoryPage histories(
+            @RequestParam long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam int limit
+    ) {
+        return pointService.getPointHistoriesBetween(from, to, cursor, limit);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역 전체를 NDJSON 으로 내보내기 (감사용)
+     * - 저장소를 청크 단위로 읽으며 한 줄에 내역 하나씩 바로 응답에 쓴다.
+     */
+    @GetMapping("{id}/histories/export")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @PathVariable long id
+    ) {
+        return ndjson(pointService.exportUserPointHistories(id));
+    }
+
+    /**
+     * 전체 유저의 포인트 충전/이용 내역을 updateMillis 기간으로 NDJSON 내보내기 (감사용)
+     * - from/to 를 생략하면 전체 원장을 내보낸다.
+     */
+    @GetMapping("histories/export")
+    public ResponseEntity<StreamingResponseBody> exportHistories(
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        return ndjson(pointService.exportPointHistories(from, to));
+    }
+
+    /**
+     * 특정 유저의 포인트 누적 집계(총 충전/사용 금액, 건수, 마지막 활동 시각) 조회
+     * - rebuild=true 면 전체 내역으로 집계를 다시 계산한 뒤 응답한다.
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(
+            @PathVariable long id,
+            @RequestParam(defaultValue = "false") boolean rebuild
+    ) {
+        return pointService.getPointSummary(id, rebuild);
+    }
+
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * - 충전이 반영되기를 기다리는 동안 요청 스레드를 점유하지 않도록 future 를 반환한다.
+     * - Idempotency-Key 헤더를 주면 같은 키로 다시 보낸 요청(재시도)은 처음 요청의 결과를 받는다.
      */
     @PatchMapping("{id}/charge")
-    public UserPoint charge(
+    public CompletableFuture<UserPoint> charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
-        return pointService.chargeUserPoint(id, amount);
+        return pointService.chargeUserPointAsync(id, amount, idempotencyKey);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * - 사용이 반영되기를 기다리는 동안 요청 스레드를 점유하지 않도록 future 를 반환한다.
+     * - Idempotency-Key 헤더를 주면 같은 키로 다시 보낸 요청(재시도)은 처음 요청의 결과를 받는다.
      */
     @PatchMapping("{id}/use")
-    public UserPoint use(
+    public CompletableFuture<UserPoint> use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
-        return pointService.useUserPoint(id, amount);
+        return pointService.useUserPointAsync(id, amount, idempotencyKey);
+    }
+
+    /**
+     * 여러 유저의 포인트를 한 번에 충전/사용하는 기능
+     * - 서로 다른 유저의 명령은 병렬로, 같은 유저의 명령은 요청 순서대로 처리하고 명령별 결과를 반환한다.
+     * - 모든 명령이 끝날 때까지 요청 스레드를 점유하지 않도록 future 를 반환한다.
+     */
+    @PostMapping("batch")
+    public CompletableFuture<List<PointCommandResult>> batch(
+            @RequestBody List<PointCommand> commands
+    ) {
+        return pointBatchService.execute(commands);
+    }
+
+    /*
+     * 검증 실패는 스트림을 열기 전에 예외로 올라가 다른 API 와 같은 JSON 오류 응답이 된다.
+     * 청크를 받을 때마다 내역을 한 줄씩 쓰고 flush 한다.
+     * 소켓 버퍼가 차면 write/flush 가 막혀 다음 청크를 읽지 않으므로, 느린 클라이언트만큼만 저장소를 읽는다.
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(PointHistoryExport export) {
+        ObjectWriter writer = objectMapper.writerFor(PointHistory.class);
+        StreamingResponseBody body = outputStream -> export.forEachChunk(chunk -> {
+            for (PointHistory history : chunk) {
+                outputStream.write(writer.writeValueAsBytes(history));
+                outputStream.write('\n');
+            }
+            outputStream.flush();
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 }
@@ -0,0 +1,275 @@
+package io.hhplus.tdd.point.lock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.AbstractQueuedSynchronizer;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 경합 정도에 따라 공정성을 바꾸는 재진입 락 (AbstractQueuedSynchronizer 기반)
+ * - FAIR : ReentrantLock(true) 와 같다. 기다리는 스레드가 있으면 새로 온 스레드는 줄 뒤에 선다.
+ * - NON_FAIR : ReentrantLock(false) 와 같다. 락이 풀린 순간 새로 온 스레드가 새치기할 수 있어 처리량이 높다.
+ * - ADAPTIVE : 비공정으로 시작하고, 락을 기다린 시간이 대기 기준 이상이거나 대기 스레드가 queueThreshold 이상이면 공정으로 바꾼다.
+ *   대기 기준은 waitThreshold 와 최근 점유 시간 평균(EWMA)의 waitHoldMultiple 배 중 큰 값이다.
+ *   점유 시간이 긴 락(예: 수백 ms 걸리는 저장소 호출)에서는 앞 사람 한 명만 기다려도 고정 기준을 넘으므로,
+ *   앞선 점유 몇 번 분량을 넘게 기다린 경우만 기아로 보고 공정으로 바꾼다.
+ *   공정 상태에서 기다리는 스레드 없이 바로 잡는 일이 연달아 CALM_ACQUISITIONS 번 이어지면 다시 비공정으로 돌아간다.
+ *   락 밖의 대기열(유저별 비동기 체인)에서 기다린 요청은 lock(waitedNanos, queuedAhead) 로 그 시간과 앞선 명령 수를 함께 넘긴다.
+ * - 어느 모드든 이미 줄을 선(AQS 대기열에 들어간) 스레드끼리는 들어온 순서대로 락을 받는다. 모드는 새로 오는 스레드의 새치기 여부만 바꾼다.
+ * - 모드 전환과 계산은 락을 잡은 스레드만 하므로 별도 동기화 없이 필드를 고친다. (fair 는 락 밖에서 읽으므로 volatile)
+ */
+public class AdaptiveFairLock implements Lock {
+
+    public static final int CALM_ACQUISITIONS = 16;
+    public static final int DEFAULT_WAIT_HOLD_MULTIPLE = 4;
+
+    // 점유 시간 평균에서 새 점유 시간의 가중치 1/8 (첫 점유 시간으로 시작한다.)
+    private static final int HOLD_EWMA_SHIFT = 3;
+
+    private final Sync sync = new Sync();
+    private final Fairness fairness;
+    private volatile boolean fair;
+    private int calmAcquisitions;
+    private long acquiredAtNanos;
+    private long averageHoldNanos;
+
+    public AdaptiveFairLock(Fairness fairness) {
+        this.fairness = fairness;
+        this.fair = fairness.policy() == Policy.FAIR;
+    }
+
+    public enum Policy {
+        FAIR, NON_FAIR, ADAPTIVE
+    }
+
+    /**
+     * 락 공정성 정책
+     * - waitThresholdNanos / queueThreshold / waitHoldMultiple 은 ADAPTIVE 에서만 쓴다.
+     * - waitHoldMultiple 이 0 이면 점유 시간과 관계없이 waitThresholdNanos 만 기준으로 쓴다.
+     */
+    public record Fairness(
+            Policy policy,
+            long waitThresholdNanos,
+            int queueThreshold,
+            int waitHoldMultiple
+    ) {
+
+        public static final Fairness FAIR = new Fairness(Policy.FAIR, 0L, 0, 0);
+        public static final Fairness NON_FAIR = new Fairness(Policy.NON_FAIR, 0L, 0, 0);
+
+        public Fairness {
+            if (waitThresholdNanos < 0 || queueThreshold < 0 || waitHoldMultiple < 0) {
+                throw new IllegalArgumentException("공정 전환 기준은 0 이상이어야 합니다.");
+            }
+        }
+
+        public static Fairness adaptive(long waitThresholdMillis, int queueThreshold) {
+            return adaptive(waitThresholdMillis, queueThreshold, DEFAULT_WAIT_HOLD_MULTIPLE);
+        }
+
+        public static Fairness adaptive(long waitThresholdMillis, int queueThreshold, int waitHoldMultiple) {
+            return new Fairness(Policy.ADAPTIVE, TimeUnit.MILLISECONDS.toNanos(waitThresholdMillis), queueThreshold, waitHoldMultiple);
+        }
+
+        public static Fairness of(String policy, long waitThresholdMillis, int queueThreshold) {
+            return of(policy, waitThresholdMillis, queueThreshold, DEFAULT_WAIT_HOLD_MULTIPLE);
+        }
+
+        /**
+         * 설정 값(fair | non-fair | adaptive)으로 정책 생성
+         */
+        public static Fairness of(String policy, long waitThresholdMillis, int queueThreshold, int waitHoldMultiple) {
+            return switch (Policy.valueOf(policy.trim().toUpperCase().replace('-', '_'))) {
+                case FAIR -> FAIR;
+                case NON_FAIR -> NON_FAIR;
+                case ADAPTIVE -> adaptive(waitThresholdMillis, queueThreshold, waitHoldMultiple);
+            };
+        }
+    }
+
+    @Override
+    public void lock() {
+        lock(0L, 0);
+    }
+
+    /**
+     * 락 밖의 대기열(유저별 비동기 체인)에서 이미 waitedNanos 동안 앞선 명령 queuedAhead 개를 기다린 요청의 lock
+     * - 앞서 기다린 시간은 락 대기 시간에, 앞선 명령 수는 대기 스레드 수에 더해 공정 전환 기준과 비교한다.
+     */
+    public void lock(long waitedNanos, int queuedAhead) {
+        if (sync.tryAcquire(1)) {
+            adapt(waitedNanos, queuedAhead);
+            return;
+        }
+        long startedAt = System.nanoTime();
+        sync.acquire(1);
+        adapt(waitedNanos + System.nanoTime() - startedAt, queuedAhead);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        if (sync.tryAcquire(1)) {
+            adapt(0L, 0);
+            return;
+        }
+        long startedAt = System.nanoTime();
+        sync.acquireInterruptibly(1);
+        adapt(System.nanoTime() - startedAt, 0);
+    }
+
+    /**
+     * ReentrantLock 과 달리 공정 모드에서는 새치기하지 않는다. (기다리는 스레드가 있으면 false)
+     */
+    @Override
+    public boolean tryLock() {
+        return tryLock(0L, 0);
+    }
+
+    /**
+     * lock(waitedNanos, queuedAhead) 의 기다리지 않는 버전
+     */
+    public boolean tryLock(long waitedNanos, int queuedAhead) {
+        if (sync.tryAcquire(1)) {
+            adapt(waitedNanos, queuedAhead);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        return tryLock(unit.toNanos(time), 0L, 0);
+    }
+
+    /**
+     * lock(waitedNanos, queuedAhead) 의 timeoutNanos 까지만 기다리는 버전
+     */
+    public boolean tryLock(long timeoutNanos, long waitedNanos, int queuedAhead) throws InterruptedException {
+        long startedAt = System.nanoTime();
+        if (!sync.tryAcquireNanos(1, timeoutNanos)) {
+            return false;
+        }
+        adapt(waitedNanos + System.nanoTime() - startedAt, queuedAhead);
+        return true;
+    }
+
+    /**
+     * ADAPTIVE 면 마지막 해제일 때 점유 시간을 평균에 반영한 뒤 해제한다. (다음에 락을 잡은 스레드가 평균을 읽는다.)
+     */
+    @Override
+    public void unlock() {
+        if (fairness.policy() == Policy.ADAPTIVE && sync.isOutermostHold()) {
+            long holdNanos = System.nanoTime() - acquiredAtNanos;
+            averageHoldNanos = averageHoldNanos == 0L ? holdNanos : averageHoldNanos + (holdNanos - averageHoldNanos >> HOLD_EWMA_SHIFT);
+        }
+        sync.release(1);
+    }
+
+    @Override
+    public Condition newCondition() {
+        return sync.newCondition();
+    }
+
+    public boolean isLocked() {
+        return sync.isLocked();
+    }
+
+    /**
+     * 지금 새로 오는 스레드가 줄을 서야 하는지 (ADAPTIVE 면 현재 모드)
+     */
+    public boolean isFair() {
+        return fair;
+    }
+
+    /**
+     * 락을 기다리는 스레드 수 (모니터링용 근사값)
+     */
+    public int getQueueLength() {
+        return sync.getQueueLength();
+    }
+
+    /*
+     * 락을 잡은 직후에 호출한다.
+     * 대기 스레드 수 계산은 대기열을 훑으므로, 비공정 상태에서 대기 스레드가 있을 때만 센다.
+     */
+    private void adapt(long waitNanos, int queuedAhead) {
+        if (fairness.policy() != Policy.ADAPTIVE) {
+            return;
+        }
+        if (sync.isOutermostHold()) {
+            acquiredAtNanos = System.nanoTime();
+        }
+        long waitThresholdNanos = Math.max(fairness.waitThresholdNanos(), fairness.waitHoldMultiple() * averageHoldNanos);
+        boolean contended = waitNanos >= waitThresholdNanos;
+        if (fair) {
+            if (contended || queuedAhead > 0 || sync.hasQueuedThreads()) {
+                calmAcquisitions = 0;
+            } else if (++calmAcquisitions >= CALM_ACQUISITIONS) {
+                calmAcquisitions = 0;
+                fair = false;
+            }
+            return;
+        }
+        int queued = queuedAhead + (sync.hasQueuedThreads() ? sync.getQueueLength() : 0);
+        if (contended || queued > 0 && queued >= fairness.queueThreshold()) {
+            calmAcquisitions = 0;
+            fair = true;
+        }
+    }
+
+    private final class Sync extends AbstractQueuedSynchronizer {
+
+        @Override
+        protected boolean tryAcquire(int acquires) {
+            Thread current = Thread.currentThread();
+            int state = getState();
+            if (state == 0) {
+                if (fair && hasQueuedPredecessors() || !compareAndSetState(0, acquires)) {
+                    return false;
+                }
+                setExclusiveOwnerThread(current);
+                return true;
+            }
+            if (current == getExclusiveOwnerThread()) {
+                int next = state + acquires;
+                if (next < 0) {
+                    throw new Error("Maximum lock count exceeded");
+                }
+                setState(next);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        protected boolean tryRelease(int releases) {
+            if (getExclusiveOwnerThread() != Thread.currentThread()) {
+                throw new IllegalMonitorStateException();
+            }
+            int state = getState() - releases;
+            boolean free = state == 0;
+            if (free) {
+                setExclusiveOwnerThread(null);
+            }
+            setState(state);
+            return free;
+        }
+
+        @Override
+        protected boolean isHeldExclusively() {
+            return getExclusiveOwnerThread() == Thread.currentThread();
+        }
+
+        private boolean isLocked() {
+            return getState() != 0;
+        }
+
+        private boolean isOutermostHold() {
+            return getState() == 1 && isHeldExclusively();
+        }
+
+        private Condition newCondition() {
+            return new ConditionObject();
+        }
+    }
+}
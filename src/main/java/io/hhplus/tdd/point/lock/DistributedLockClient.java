@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point.lock;
+
+import java.util.List;
+
+/**
+ * 여러 인스턴스가 함께 쓰는 lease(만료 시간이 있는 락) 저장소 SPI
+ * - 구현은 요청 하나에 담긴 lease 들을 한 번의 왕복으로 처리한다.
+ * - lease 는 owner 토큰으로 구분한다. 같은 토큰으로 다시 잡으면 만료 시간을 연장하고, 다른 토큰이 잡고 있으면 실패한다.
+ */
+public interface DistributedLockClient {
+
+    /**
+     * lease 들을 잡거나(이미 같은 owner 가 잡고 있으면 연장) 하고, 요청과 같은 순서로 성공 여부를 반환한다.
+     */
+    boolean[] tryAcquire(List<LockLease> leases, long leaseMillis);
+
+    /**
+     * 같은 owner 가 잡고 있는 lease 만 해제한다. 이미 만료되었거나 다른 owner 가 잡은 lease 는 그대로 둔다.
+     */
+    void release(List<LockLease> leases);
+
+    record LockLease(
+            String key,
+            String owner
+    ) {
+    }
+}
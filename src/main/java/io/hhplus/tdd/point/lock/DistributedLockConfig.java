@@ -0,0 +1,72 @@
+package io.hhplus.tdd.point.lock;
+
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * 여러 인스턴스 사이의 유저 락 설정 (point.lock.distributed.enabled=true)
+ * - 켜면 DistributedLockManager 가 StripedLockManager 를 감싸 기본 LockManager 가 된다. (끄면 StripedLockManager 만 쓴다.)
+ * - redisson (기본) : Redis 에 lease 를 둔다.
+ * - in-memory : 프로세스 안에 lease 를 둔다. Redis 없이 로컬 실행과 테스트에서 쓴다. (인스턴스 사이의 배제는 되지 않는다.)
+ * - 쓰지 않는 lease 를 놓기까지(linger-millis + 정리 주기) 다른 인스턴스가 기다릴 수 있도록 wait-millis 가 더 길어야 시작한다.
+ * - 샤드 실행(point.execution.mode=shard)과 낙관적 모드(point.optimistic.enabled=true)는 LockManager 를 거치지 않아
+ *   켜도 인스턴스 사이의 배제가 되지 않으므로, 함께 켜면 시작할 때 실패한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "point.lock.distributed.enabled", havingValue = "true")
+public class DistributedLockConfig {
+
+    @Bean
+    @Primary
+    public DistributedLockManager distributedLockManager(
+            StripedLockManager stripedLockManager,
+            DistributedLockClient distributedLockClient,
+            @Value("${point.lock.distributed.key-prefix:point:lock:}") String keyPrefix,
+            @Value("${point.lock.distributed.lease-millis:30000}") long leaseMillis,
+            @Value("${point.lock.distributed.linger-millis:100}") long lingerMillis,
+            @Value("${point.lock.distributed.wait-millis:200}") long waitMillis,
+            @Value("${point.execution.mode:lock}") String executionMode,
+            @Value("${point.optimistic.enabled:false}") boolean optimisticEnabled
+    ) {
+        if (!"lock".equals(executionMode)) {
+            throw new IllegalArgumentException("분산 락(point.lock.distributed.enabled)은 유저 락 실행(point.execution.mode=lock)에서만 쓸 수 있습니다. mode: " + executionMode);
+        }
+        if (optimisticEnabled) {
+            throw new IllegalArgumentException("분산 락(point.lock.distributed.enabled)은 낙관적 모드(point.optimistic.enabled)와 함께 쓸 수 없습니다.");
+        }
+        long releaseMillis = lingerMillis + DistributedLockManager.maintainPeriodMillis(leaseMillis, lingerMillis);
+        if (waitMillis <= releaseMillis) {
+            throw new IllegalArgumentException("lease 대기 시간(point.lock.distributed.wait-millis)은 쓰지 않는 lease 를 놓는 시간("
+                    + releaseMillis + "ms = linger-millis + 정리 주기)보다 길어야 합니다. waitMillis: " + waitMillis);
+        }
+        return new DistributedLockManager(stripedLockManager, distributedLockClient, keyPrefix, leaseMillis, lingerMillis, waitMillis);
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "point.lock.distributed.backend", havingValue = "redisson", matchIfMissing = true)
+    public RedissonClient redissonClient(
+            @Value("${point.lock.distributed.redis-address:redis://localhost:6379}") String address
+    ) {
+        Config config = new Config();
+        config.useSingleServer().setAddress(address);
+        return Redisson.create(config);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "point.lock.distributed.backend", havingValue = "redisson", matchIfMissing = true)
+    public DistributedLockClient redissonDistributedLockClient(RedissonClient redissonClient) {
+        return new RedissonDistributedLockClient(redissonClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "point.lock.distributed.backend", havingValue = "in-memory")
+    public DistributedLockClient inMemoryDistributedLockClient() {
+        return new InMemoryDistributedLockClient();
+    }
+}
@@ -0,0 +1,282 @@
+package io.hhplus.tdd.point.lock;
+
+import io.hhplus.tdd.point.execution.PointThreads;
+import io.hhplus.tdd.point.lock.DistributedLockClient.LockLease;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 여러 인스턴스 사이의 유저 락 (point.lock.distributed.enabled=true)
+ * - 인스턴스 안의 동시 요청은 로컬 LockManager(StripedLockManager)로 줄 세우고, 로컬 락을 잡은 스레드만 유저 lease 를 확인한다.
+ *   인스턴스 안에서 lease 를 두고 경쟁하지 않으므로 lease 는 인스턴스 단위로 잡는다.
+ * - lease 캐시: 잡은 lease 는 바로 놓지 않고 lingerMillis 동안 들고 있는다. 그동안 같은 유저의 요청은 저장소 왕복 없이 실행된다.
+ *   남은 시간이 renewMarginMillis 이하로 줄었을 때만 요청 경로에서 연장한다.
+ * - 묶음 처리: 주기 작업(maintain)이 쓰고 있는 lease 의 연장과 lingerMillis 동안 쓰지 않은 lease 의 해제를 각각 한 번의 왕복으로 보낸다.
+ *   주기는 lingerMillis / 2 (10ms ~ leaseMillis / 3) 라 쓰지 않는 lease 는 lingerMillis + 주기 안에 해제된다.
+ *   같은 유저의 다음 요청이 다른 인스턴스로 가도 거절되지 않으려면 waitMillis 가 이보다 길어야 한다. (DistributedLockConfig 가 확인한다.)
+ * - lease 를 잡을 때마다 새 owner 토큰을 쓰므로, 해제 요청이 늦게 도착해도 그 사이 다시 잡은 lease 를 지우지 않는다.
+ * - waitMillis 안에 lease 를 잡지 못하면 PointBusyException 으로 거절한다.
+ *   lease 를 기다리는 동안 로컬 락(스트라이프)을 잡고 있어 같은 스트라이프의 다른 유저도 기다리므로 waitMillis 는 짧게 둔다.
+ * - lease 가 명령 도중 만료되지 않도록 leaseMillis 는 명령 실행 시간보다 충분히 길게 둔다. (저장소 쪽 fencing 은 하지 않는다.)
+ */
+public class DistributedLockManager implements LockManager, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DistributedLockManager.class);
+    private static final long MAX_BACKOFF_MILLIS = 50L;
+    private static final long MIN_MAINTAIN_PERIOD_MILLIS = 10L;
+
+    private final LockManager localLockManager;
+    private final DistributedLockClient client;
+    private final String keyPrefix;
+    private final long leaseMillis;
+    private final long renewMarginMillis;
+    private final long lingerMillis;
+    private final long waitMillis;
+    private final LongSupplier clock;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong tokenSequence = new AtomicLong();
+    private final ConcurrentMap<Long, Lease> leases = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * maintain 을 maintainPeriodMillis 주기로 실행한다.
+     */
+    public DistributedLockManager(
+            LockManager localLockManager,
+            DistributedLockClient client,
+            String keyPrefix,
+            long leaseMillis,
+            long lingerMillis,
+            long waitMillis
+    ) {
+        this(localLockManager, client, keyPrefix, leaseMillis, lingerMillis, waitMillis, System::currentTimeMillis, true);
+    }
+
+    /**
+     * scheduled 가 false 면 주기 작업을 돌리지 않는다. (maintain 을 직접 호출)
+     */
+    public DistributedLockManager(
+            LockManager localLockManager,
+            DistributedLockClient client,
+            String keyPrefix,
+            long leaseMillis,
+            long lingerMillis,
+            long waitMillis,
+            LongSupplier clock,
+            boolean scheduled
+    ) {
+        if (leaseMillis < 3 || lingerMillis < 0 || waitMillis < 0) {
+            throw new IllegalArgumentException("lease 시간은 3ms 이상, 보관/대기 시간은 0 이상이어야 합니다.");
+        }
+        if (lingerMillis >= leaseMillis) {
+            throw new IllegalArgumentException("lease 보관 시간은 lease 시간보다 짧아야 합니다. lingerMillis: " + lingerMillis);
+        }
+        this.localLockManager = localLockManager;
+        this.client = client;
+        this.keyPrefix = keyPrefix;
+        this.leaseMillis = leaseMillis;
+        this.renewMarginMillis = leaseMillis / 3;
+        this.lingerMillis = lingerMillis;
+        this.waitMillis = waitMillis;
+        this.clock = clock;
+        if (scheduled) {
+            long period = maintainPeriodMillis(leaseMillis, lingerMillis);
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(PointThreads.factory("point-lease-", false));
+            this.scheduler.scheduleWithFixedDelay(this::maintainQuietly, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    @Override
+    public <T> T executeWithLock(long userId, Supplier<T> action) {
+        return localLockManager.executeWithLock(userId, () -> withLease(userId, action));
+    }
+
+    @Override
+    public <T> T executeWithLock(long userId, long queuedAtNanos, int queuedAhead, Supplier<T> action) {
+        return localLockManager.executeWithLock(userId, queuedAtNanos, queuedAhead, () -> withLease(userId, action));
+    }
+
+    /**
+     * lease 캐시 정리
+     * - lingerMillis 동안 쓰지 않은 lease 를 캐시에서 빼고 한 번에 해제한다. 캐시에서 빼는 일은 유저 로컬 락 안에서 해 실행 중인 명령과 겹치지 않는다.
+     * - 남은 lease 중 연장할 때가 된 것을 한 번에 연장한다. 연장하지 못한(다른 인스턴스가 잡은) lease 는 캐시에서 빼 다음 요청이 다시 잡게 한다.
+     */
+    public void maintain() {
+        long now = clock.getAsLong();
+        List<LockLease> released = new ArrayList<>();
+        List<Long> renewUserIds = new ArrayList<>();
+        List<Lease> renewLeases = new ArrayList<>();
+        for (Map.Entry<Long, Lease> entry : leases.entrySet()) {
+            long userId = entry.getKey();
+            Lease lease = entry.getValue();
+            if (now - lease.lastUsedAt >= lingerMillis && removeIdle(userId, lease)) {
+                released.add(new LockLease(key(userId), lease.token));
+                continue;
+            }
+            if (lease.expiresAt - now <= leaseMillis / 2) {
+                renewUserIds.add(userId);
+                renewLeases.add(lease);
+            }
+        }
+        client.release(released);
+        if (renewLeases.isEmpty()) {
+            return;
+        }
+
+        List<LockLease> requests = new ArrayList<>(renewLeases.size());
+        for (int i = 0; i < renewLeases.size(); i++) {
+            requests.add(new LockLease(key(renewUserIds.get(i)), renewLeases.get(i).token));
+        }
+        long requestedAt = clock.getAsLong();
+        boolean[] renewed = client.tryAcquire(requests, leaseMillis);
+        for (int i = 0; i < renewed.length; i++) {
+            if (renewed[i]) {
+                renewLeases.get(i).expiresAt = requestedAt + leaseMillis;
+            } else if (leases.remove(renewUserIds.get(i), renewLeases.get(i))) {
+                log.warn("유저 lease 를 연장하지 못했습니다. 다음 요청에서 다시 잡습니다. ID: {}", renewUserIds.get(i));
+            }
+        }
+    }
+
+    /**
+     * maintain 주기. 쓰지 않는 lease 는 lingerMillis 에 이 주기를 더한 시간 안에 해제된다.
+     */
+    public static long maintainPeriodMillis(long leaseMillis, long lingerMillis) {
+        return Math.min(leaseMillis / 3, Math.max(MIN_MAINTAIN_PERIOD_MILLIS, lingerMillis / 2));
+    }
+
+    /**
+     * 이 인스턴스가 들고 있는 lease 수
+     */
+    public int leaseCount() {
+        return leases.size();
+    }
+
+    /**
+     * 들고 있는 lease 를 모두 해제한다.
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        List<LockLease> released = new ArrayList<>();
+        for (Long userId : leases.keySet()) {
+            Lease lease = leases.remove(userId);
+            if (lease != null) {
+                released.add(new LockLease(key(userId), lease.token));
+            }
+        }
+        client.release(released);
+    }
+
+    private <T> T withLease(long userId, Supplier<T> action) {
+        Lease lease = ensureLease(userId);
+        try {
+            return action.get();
+        } finally {
+            lease.lastUsedAt = clock.getAsLong();
+        }
+    }
+
+    /*
+     * 유저 로컬 락 안에서만 호출된다.
+     * lease 의 만료 시각은 요청을 보낸 시각부터 계산해, 저장소의 실제 만료보다 늦게 잡지 않는다.
+     */
+    private Lease ensureLease(long userId) {
+        long now = clock.getAsLong();
+        Lease cached = leases.get(userId);
+        if (cached != null && cached.expiresAt - now > renewMarginMillis) {
+            return cached;
+        }
+
+        String token = cached != null ? cached.token : nextToken();
+        long deadline = now + waitMillis;
+        long backoff = 1L;
+        while (true) {
+            long requestedAt = clock.getAsLong();
+            if (client.tryAcquire(List.of(new LockLease(key(userId), token)), leaseMillis)[0]) {
+                Lease lease = new Lease(token, requestedAt + leaseMillis, requestedAt);
+                leases.put(userId, lease);
+                return lease;
+            }
+            if (cached != null) {
+                leases.remove(userId, cached);
+                cached = null;
+                token = nextToken();
+            }
+            if (clock.getAsLong() >= deadline) {
+                throw new PointBusyException("다른 인스턴스가 처리 중인 유저입니다. 잠시 후 다시 시도해주세요. ID: " + userId);
+            }
+            sleep(backoff);
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    // 명령이 실행 중이면 로컬 락을 기다렸다가, 그 명령이 lease 를 쓴 뒤에도 쉬고 있는지 다시 확인한다.
+    private boolean removeIdle(long userId, Lease lease) {
+        try {
+            return localLockManager.executeWithLock(userId, () ->
+                    clock.getAsLong() - lease.lastUsedAt >= lingerMillis && leases.remove(userId, lease));
+        } catch (PointBusyException e) {
+            return false;
+        }
+    }
+
+    private String key(long userId) {
+        return keyPrefix + userId;
+    }
+
+    private String nextToken() {
+        return nodeId + ":" + tokenSequence.incrementAndGet();
+    }
+
+    private void maintainQuietly() {
+        try {
+            maintain();
+        } catch (RuntimeException e) {
+            log.error("유저 lease 를 정리하지 못했습니다. 다음 주기에 다시 시도합니다.", e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointBusyException("유저 lease 를 기다리는 중 인터럽트되었습니다.");
+        }
+    }
+
+    /**
+     * 캐시한 lease
+     * - token 은 고정이고, expiresAt/lastUsedAt 은 주기 작업과 요청 스레드가 함께 읽으므로 volatile 로 둔다.
+     */
+    private static final class Lease {
+
+        private final String token;
+        private volatile long expiresAt;
+        private volatile long lastUsedAt;
+
+        private Lease(String token, long expiresAt, long lastUsedAt) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+            this.lastUsedAt = lastUsedAt;
+        }
+    }
+}
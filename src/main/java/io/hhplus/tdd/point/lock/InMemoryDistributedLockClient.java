@@ -0,0 +1,72 @@
+package io.hhplus.tdd.point.lock;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 프로세스 안에서 lease 를 관리하는 DistributedLockClient (point.lock.distributed.backend=in-memory)
+ * - Redis 없이 여러 DistributedLockManager(인스턴스 역할)가 한 객체를 함께 쓰게 해, 분산 락 동작을 로컬과 테스트에서 확인한다.
+ * - 호출 한 번을 왕복 한 번으로 센다. (roundTrips)
+ */
+public class InMemoryDistributedLockClient implements DistributedLockClient {
+
+    private final ConcurrentMap<String, Holder> holders = new ConcurrentHashMap<>();
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final LongSupplier clock;
+
+    public InMemoryDistributedLockClient() {
+        this(System::currentTimeMillis);
+    }
+
+    public InMemoryDistributedLockClient(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean[] tryAcquire(List<LockLease> leases, long leaseMillis) {
+        roundTrips.incrementAndGet();
+        long now = clock.getAsLong();
+        boolean[] acquired = new boolean[leases.size()];
+        for (int i = 0; i < acquired.length; i++) {
+            LockLease lease = leases.get(i);
+            Holder holder = holders.compute(lease.key(), (key, current) ->
+                    current == null || current.expiresAt() <= now || current.owner().equals(lease.owner())
+                            ? new Holder(lease.owner(), now + leaseMillis)
+                            : current);
+            acquired[i] = holder.owner().equals(lease.owner());
+        }
+        return acquired;
+    }
+
+    @Override
+    public void release(List<LockLease> leases) {
+        if (leases.isEmpty()) {
+            return;
+        }
+        roundTrips.incrementAndGet();
+        for (LockLease lease : leases) {
+            holders.computeIfPresent(lease.key(), (key, current) -> current.owner().equals(lease.owner()) ? null : current);
+        }
+    }
+
+    public long roundTrips() {
+        return roundTrips.get();
+    }
+
+    /**
+     * 만료되지 않은 lease 를 잡고 있는 owner (없으면 null)
+     */
+    public String ownerOf(String key) {
+        Holder holder = holders.get(key);
+        return holder == null || holder.expiresAt() <= clock.getAsLong() ? null : holder.owner();
+    }
+
+    private record Holder(
+            String owner,
+            long expiresAt
+    ) {
+    }
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point.lock;
+
+import java.util.function.Supplier;
+
+/**
+ * 유저 단위 락 관리
+ * - 같은 유저에 대한 작업은 순차적으로 실행되도록 보장한다.
+ */
+public interface LockManager {
+
+    /**
+     * 유저 락을 잡은 상태에서 작업을 실행하고, 작업이 끝나면(예외 포함) 락을 해제한다.
+     */
+    <T> T executeWithLock(long userId, Supplier<T> action);
+
+    /**
+     * 유저별 대기열(비동기 체인)에서 앞선 명령 queuedAhead 개를 기다린 작업을 실행한다.
+     * - queuedAtNanos 는 작업이 대기열에 들어온 System.nanoTime() 값이다.
+     * - 구현은 대기열에서 기다린 시간과 앞선 명령 수를 락 대기와 합쳐 관찰자와 공정성 판단에 반영한다. 기본 구현은 무시한다.
+     */
+    default <T> T executeWithLock(long userId, long queuedAtNanos, int queuedAhead, Supplier<T> action) {
+        return executeWithLock(userId, action);
+    }
+}
@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point.lock;
+
+import java.util.List;
+
+/**
+ * 유저 락 사용 관찰
+ * - 락을 해제한 뒤 호출되므로 기록 비용이 락을 잡고 있는 구간에 포함되지 않는다.
+ * - 락을 잡은 스레드마다 호출되므로 구현은 가볍고 스레드 안전해야 한다.
+ */
+public interface LockObserver {
+
+    LockObserver NOOP = (userId, waitNanos, holdNanos) -> {
+    };
+
+    /**
+     * 락을 바로 잡지 못하고 기다린 뒤, 락을 해제하면서 onUnlocked 보다 먼저 호출된다. (경합이 있을 때만 호출)
+     * @param holderUserId 기다리기 시작할 때 락을 잡고 있던 유저 (근사값). 스트라이프를 공유하는 다른 유저일 수 있고,
+     *                     체인에서 같은 유저의 앞선 명령만 기다렸다면 userId 와 같다.
+     * @param queueLength  먼저 기다리고 있던 스레드 수에 체인의 앞선 명령 수를 더한 값 (근사값)
+     * @param waitNanos    체인 대기를 포함해 락을 기다린 시간
+     */
+    default void onContended(long userId, long holderUserId, int queueLength, long waitNanos) {
+    }
+
+    /**
+     * @param waitNanos 락을 기다린 시간 (바로 잡았으면 0)
+     * @param holdNanos 락을 잡고 작업을 실행한 시간
+     */
+    void onUnlocked(long userId, long waitNanos, long holdNanos);
+
+    static LockObserver composite(List<LockObserver> observers) {
+        if (observers.isEmpty()) {
+            return NOOP;
+        }
+        if (observers.size() == 1) {
+            return observers.get(0);
+        }
+        LockObserver[] delegates = observers.toArray(LockObserver[]::new);
+        return new LockObserver() {
+            @Override
+            public void onContended(long userId, long holderUserId, int queueLength, long waitNanos) {
+                for (LockObserver delegate : delegates) {
+                    delegate.onContended(userId, holderUserId, queueLength, waitNanos);
+                }
+            }
+
+            @Override
+            public void onUnlocked(long userId, long waitNanos, long holdNanos) {
+                for (LockObserver delegate : delegates) {
+                    delegate.onUnlocked(userId, waitNanos, holdNanos);
+                }
+            }
+        };
+    }
+}
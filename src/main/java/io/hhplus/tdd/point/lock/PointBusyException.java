@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.lock;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 유저 단위 처리 용량을 넘어 요청을 받지 않았음을 알리는 예외
+ * - 유저별 대기 요청 수가 상한을 넘었거나, 유저 락을 정해진 시간 안에 잡지 못했을 때 발생한다.
+ * - 요청은 반영되지 않았으므로 잠시 뒤 다시 시도할 수 있다. (ApiControllerAdvice 가 429/503 과 Retry-After 로 응답한다.)
+ */
+public class PointBusyException extends RejectedExecutionException {
+
+    public PointBusyException(String message) {
+        super(message);
+    }
+}
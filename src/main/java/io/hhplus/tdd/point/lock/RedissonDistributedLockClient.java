@@ -0,0 +1,72 @@
+package io.hhplus.tdd.point.lock;
+
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RScript;
+import org.redisson.api.RScriptAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.List;
+
+/**
+ * Redis 기반 DistributedLockClient (point.lock.distributed.backend=redisson)
+ * - lease 는 값이 owner 토큰이고 PX 만료가 걸린 문자열 키다. 잡기/연장/해제는 토큰을 비교하는 Lua 스크립트로 원자적으로 처리한다.
+ * - 여러 lease 는 RBatch 로 묶어 한 번의 왕복(클러스터면 노드마다 한 번)으로 보낸다.
+ *   키마다 스크립트를 따로 실행하므로 키가 서로 다른 슬롯에 있어도 된다.
+ */
+public class RedissonDistributedLockClient implements DistributedLockClient {
+
+    private static final String ACQUIRE_SCRIPT = """
+            local current = redis.call('get', KEYS[1])
+            if current == false or current == ARGV[1] then
+                redis.call('set', KEYS[1], ARGV[1], 'px', ARGV[2])
+                return 1
+            end
+            return 0
+            """;
+
+    private static final String RELEASE_SCRIPT = """
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                return redis.call('del', KEYS[1])
+            end
+            return 0
+            """;
+
+    private final RedissonClient redissonClient;
+
+    public RedissonDistributedLockClient(RedissonClient redissonClient) {
+        this.redissonClient = redissonClient;
+    }
+
+    @Override
+    public boolean[] tryAcquire(List<LockLease> leases, long leaseMillis) {
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        RScriptAsync script = batch.getScript(StringCodec.INSTANCE);
+        String lease = String.valueOf(leaseMillis);
+        for (LockLease request : leases) {
+            script.evalAsync(request.key(), RScript.Mode.READ_WRITE, ACQUIRE_SCRIPT, RScript.ReturnType.BOOLEAN,
+                    List.<Object>of(request.key()), request.owner(), lease);
+        }
+        List<?> responses = batch.execute().getResponses();
+        boolean[] acquired = new boolean[leases.size()];
+        for (int i = 0; i < acquired.length; i++) {
+            acquired[i] = Boolean.TRUE.equals(responses.get(i));
+        }
+        return acquired;
+    }
+
+    @Override
+    public void release(List<LockLease> leases) {
+        if (leases.isEmpty()) {
+            return;
+        }
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults());
+        RScriptAsync script = batch.getScript(StringCodec.INSTANCE);
+        for (LockLease request : leases) {
+            script.evalAsync(request.key(), RScript.Mode.READ_WRITE, RELEASE_SCRIPT, RScript.ReturnType.INTEGER,
+                    List.<Object>of(request.key()), request.owner());
+        }
+        batch.execute();
+    }
+}
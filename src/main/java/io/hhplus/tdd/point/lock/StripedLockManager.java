@@ -0,0 +1,253 @@
+package io.hhplus.tdd.point.lock;
+
+import io.hhplus.tdd.point.lock.AdaptiveFairLock.Fairness;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 스트라이프 락 관리
+ * - 유저 ID 해시로 고정 크기(2의 거듭제곱) 락 배열 중 하나를 골라 사용한다.
+ * - 유저 수와 관계없이 메모리가 고정되고, 락을 잡을 때 객체를 새로 만들지 않는다.
+ * - 요청이 몰리는 유저(hot-user-ids)는 다른 유저와 락을 공유하지 않도록 전용 락을 둔다.
+ * - 락 공정성은 point.lock.policy 로 고른다. (fair | non-fair | adaptive, AdaptiveFairLock 참고)
+ *   adaptive 는 평소에는 비공정으로 새치기를 허용해 처리량을 얻고, 대기가 점유 시간에 비해 길어진 락만 공정으로 바꿔 기아를 막는다.
+ *   같은 유저 명령의 실행 순서는 락 획득 순서가 아닌 PointCommandCoalescer 대기열/유저별 비동기 체인이 정하므로, 공정성과 무관하게 유지된다.
+ * - LockObserver 가 있으면 락 대기/점유 시간을 전달한다. 없으면 시간을 재지 않는다.
+ *   유저별 비동기 체인에서 기다린 작업은 체인 대기 시간과 앞선 명령 수도 대기로 전달한다.
+ *   락마다 마지막으로 잡은 유저를 기록해 두고, 경합은 기다린 유저가 아닌 그때 락을 잡고 있던 유저에게 돌린다.
+ *   스트라이프를 공유할 뿐인 유저가 요청이 몰린 유저 대신 경합 원인으로 집계되지 않도록 하기 위함이다.
+ * - lockTimeoutMillis 가 0 보다 크면 그 시간 안에 락을 잡지 못한 요청은 기다리지 않고 PointBusyException 으로 거절한다.
+ *   시간은 유저별 비동기 체인에 들어온 때부터 재므로, 체인에서 앞선 명령을 기다린 시간도 포함된다.
+ *   한 유저에게 몰린 요청이 요청 스레드를 붙잡고 늘어서는 것을 막는다. (0 이면 잡을 때까지 기다린다.)
+ * - synchronized 가 아닌 AQS 기반 락이므로 가상 스레드가 락을 기다리거나 락 안에서 블로킹해도 캐리어 스레드를 붙잡지 않는다.
+ */
+@Component
+public class StripedLockManager implements LockManager {
+
+    private static final int MAX_STRIPES = 1 << 30;
+
+    private final AdaptiveFairLock[] stripes;
+    private final int mask;
+    private final long[] hotUserIds;
+    private final AdaptiveFairLock[] hotUserLocks;
+    // 락 인덱스(스트라이프 뒤에 전용 락)별 마지막으로 락을 잡은 유저. LockObserver 가 있을 때만 기록한다.
+    private final AtomicLongArray holders;
+    private final long lockTimeoutNanos;
+    private final LockObserver observer;
+
+    public StripedLockManager(int stripes, boolean fair, long[] hotUserIds) {
+        this(stripes, fair, hotUserIds, LockObserver.NOOP);
+    }
+
+    @Autowired
+    public StripedLockManager(
+            @Value("${point.lock.stripes:1024}") int stripes,
+            @Value("${point.lock.policy:adaptive}") String policy,
+            @Value("${point.lock.adaptive.wait-threshold-millis:5}") long waitThresholdMillis,
+            @Value("${point.lock.adaptive.queue-threshold:8}") int queueThreshold,
+            @Value("${point.lock.adaptive.wait-hold-multiple:4}") int waitHoldMultiple,
+            @Value("${point.lock.hot-user-ids:}") long[] hotUserIds,
+            @Value("${point.admission.lock-timeout-millis:3000}") long lockTimeoutMillis,
+            ObjectProvider<LockObserver> observers
+    ) {
+        this(stripes, Fairness.of(policy, waitThresholdMillis, queueThreshold, waitHoldMultiple), hotUserIds, lockTimeoutMillis,
+                LockObserver.composite(observers.orderedStream().toList()));
+    }
+
+    public StripedLockManager(int stripes, boolean fair, long[] hotUserIds, LockObserver observer) {
+        this(stripes, fair, hotUserIds, 0L, observer);
+    }
+
+    public StripedLockManager(int stripes, boolean fair, long[] hotUserIds, long lockTimeoutMillis, LockObserver observer) {
+        this(stripes, fair ? Fairness.FAIR : Fairness.NON_FAIR, hotUserIds, lockTimeoutMillis, observer);
+    }
+
+    public StripedLockManager(int stripes, Fairness fairness, long[] hotUserIds, long lockTimeoutMillis, LockObserver observer) {
+        if (stripes <= 0 || stripes > MAX_STRIPES) {
+            throw new IllegalArgumentException("락 스트라이프 수는 1 이상 " + MAX_STRIPES + " 이하여야 합니다. stripes: " + stripes);
+        }
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new AdaptiveFairLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new AdaptiveFairLock(fairness);
+        }
+        this.mask = size - 1;
+
+        this.hotUserIds = Arrays.stream(hotUserIds).distinct().sorted().toArray();
+        this.hotUserLocks = new AdaptiveFairLock[this.hotUserIds.length];
+        for (int i = 0; i < this.hotUserLocks.length; i++) {
+            this.hotUserLocks[i] = new AdaptiveFairLock(fairness);
+        }
+        if (lockTimeoutMillis < 0) {
+            throw new IllegalArgumentException("락 대기 시간은 0 이상이어야 합니다. lockTimeoutMillis: " + lockTimeoutMillis);
+        }
+        this.lockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(lockTimeoutMillis);
+        this.observer = observer;
+        this.holders = new AtomicLongArray(observer == LockObserver.NOOP ? 0 : size + this.hotUserLocks.length);
+    }
+
+    @Override
+    public <T> T executeWithLock(long userId, Supplier<T> action) {
+        return executeWithLock(userId, System.nanoTime(), 0, action);
+    }
+
+    /**
+     * 유저별 비동기 체인에서 기다린 작업은 체인에서 기다린 시간과 앞선 명령 수를 락 대기에 더해
+     * 공정 전환 기준과 LockObserver(경합 추적, 대기 시간 지표)에 전달한다.
+     * 락 대기 시간 제한(lockTimeoutMillis)도 락을 기다리기 시작한 때가 아닌 queuedAtNanos 부터 잰다.
+     */
+    @Override
+    public <T> T executeWithLock(long userId, long queuedAtNanos, int queuedAhead, Supplier<T> action) {
+        int index = lockIndex(userId);
+        AdaptiveFairLock lock = lockAt(index);
+        long queuedNanos = System.nanoTime() - queuedAtNanos;
+        if (lockTimeoutNanos > 0L && queuedNanos >= lockTimeoutNanos) {
+            throw busy(userId);
+        }
+        if (observer == LockObserver.NOOP) {
+            lock(userId, lock, queuedNanos, queuedAhead);
+            try {
+                return action.get();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Contention contention = acquire(userId, index, lock, queuedNanos, queuedAhead);
+        holders.lazySet(index, userId);
+        long acquiredAt = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            long holdNanos = System.nanoTime() - acquiredAt;
+            lock.unlock();
+            if (contention == null) {
+                observer.onUnlocked(userId, 0L, holdNanos);
+            } else {
+                observer.onContended(userId, contention.holderUserId(), contention.queueLength(), contention.waitNanos());
+                observer.onUnlocked(userId, contention.waitNanos(), holdNanos);
+            }
+        }
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    public int hotUserLockCount() {
+        return hotUserLocks.length;
+    }
+
+    /**
+     * 현재 잡혀 있는 락 수 (모니터링용 근사값)
+     */
+    public int lockedCount() {
+        return countLocked(stripes) + countLocked(hotUserLocks);
+    }
+
+    /**
+     * 현재 공정 모드로 동작 중인 락 수 (모니터링용 근사값)
+     */
+    public int fairLockCount() {
+        int count = 0;
+        for (AdaptiveFairLock lock : stripes) {
+            count += lock.isFair() ? 1 : 0;
+        }
+        for (AdaptiveFairLock lock : hotUserLocks) {
+            count += lock.isFair() ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * 현재 락을 기다리는 스레드 수 (모니터링용 근사값)
+     */
+    public int queuedThreadCount() {
+        return countQueued(stripes) + countQueued(hotUserLocks);
+    }
+
+    /*
+     * 체인에서 기다리지 않고 바로 잡으면 null 을 반환한다.
+     * tryLock 은 공정 모드에서 기다리는 스레드가 있으면 새치기하지 않는다.
+     * 체인에서만 기다렸다면 같은 유저의 앞선 명령을 기다린 것이므로 자신을, 락이 잡혀 있었다면 그때의 점유 유저를 원인으로 남긴다.
+     */
+    private Contention acquire(long userId, int index, AdaptiveFairLock lock, long queuedNanos, int queuedAhead) {
+        if (lock.tryLock(queuedNanos, queuedAhead)) {
+            return queuedAhead == 0 ? null : new Contention(userId, queuedAhead, queuedNanos);
+        }
+        long holderUserId = holders.get(index);
+        int queueLength = lock.getQueueLength() + queuedAhead;
+        long startedAt = System.nanoTime();
+        lock(userId, lock, queuedNanos, queuedAhead);
+        return new Contention(holderUserId == 0L ? userId : holderUserId, queueLength, queuedNanos + System.nanoTime() - startedAt);
+    }
+
+    // 대기 시간 제한에서 이미 기다린 시간(queuedNanos)을 뺀 만큼만 기다린다.
+    private void lock(long userId, AdaptiveFairLock lock, long queuedNanos, int queuedAhead) {
+        if (lockTimeoutNanos == 0L) {
+            lock.lock(queuedNanos, queuedAhead);
+            return;
+        }
+        try {
+            if (lock.tryLock(lockTimeoutNanos - queuedNanos, queuedNanos, queuedAhead)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw busy(userId);
+    }
+
+    private static PointBusyException busy(long userId) {
+        return new PointBusyException("요청이 몰려 처리하지 못했습니다. 잠시 후 다시 시도해주세요. ID: " + userId);
+    }
+
+    private static int countLocked(AdaptiveFairLock[] locks) {
+        int count = 0;
+        for (AdaptiveFairLock lock : locks) {
+            if (lock.isLocked()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int countQueued(AdaptiveFairLock[] locks) {
+        int count = 0;
+        for (AdaptiveFairLock lock : locks) {
+            count += lock.getQueueLength();
+        }
+        return count;
+    }
+
+    // 스트라이프는 0 부터, 전용 락은 스트라이프 뒤에 이어서 번호를 매긴다.
+    private int lockIndex(long userId) {
+        if (hotUserIds.length > 0) {
+            int index = Arrays.binarySearch(hotUserIds, userId);
+            if (index >= 0) {
+                return stripes.length + index;
+            }
+        }
+        return stripeIndex(userId);
+    }
+
+    private AdaptiveFairLock lockAt(int index) {
+        return index < stripes.length ? stripes[index] : hotUserLocks[index - stripes.length];
+    }
+
+    // 연속된 유저 ID 가 인접한 스트라이프에 몰리지 않도록 섞는다.
+    private int stripeIndex(long userId) {
+        int hash = Long.hashCode(userId * 0x9E3779B97F4A7C15L);
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private record Contention(long holderUserId, int queueLength, long waitNanos) {
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.point.metrics.LockContentionTracker.ContendedUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 경합이 잦은 유저 조회 관리용 엔드포인트
+ * - GET /actuator/contention?limit=10
+ */
+@Component
+@Endpoint(id = "contention")
+@RequiredArgsConstructor
+public class LockContentionEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final LockContentionTracker lockContentionTracker;
+
+    @ReadOperation
+    public List<ContendedUser> contention(@Nullable Integer limit) {
+        return lockContentionTracker.top(limit == null ? DEFAULT_LIMIT : limit);
+    }
+}
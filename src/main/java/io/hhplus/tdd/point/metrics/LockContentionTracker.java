@@ -0,0 +1,254 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.point.lock.LockObserver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 유저 락 경합 추적
+ * - 락을 바로 잡지 못한 경우만 기록하므로 경합이 없는 경로에는 비용이 없다.
+ * - 경합은 기다린 유저가 아닌 그때 락을 잡고 있던 유저(대기를 일으킨 유저)에게 기록한다.
+ *   스트라이프를 공유하는 유저의 요청이 몰려도, 같은 스트라이프의 다른 유저가 대신 상위에 오르지 않는다.
+ *   유저별 비동기 체인에서 앞선 명령을 기다린 경우는 그 유저 자신에게 기록하고, 대기 스레드 수에 체인 길이가 포함된다.
+ * - 최근 시간 창(window-slots x slot-millis)을 슬롯으로 나누고, 슬롯마다 Space-Saving 요약으로
+ *   경합이 잦은 유저를 최대 capacity 명까지만 추적한다. 유저 수와 관계없이 메모리가 고정된다.
+ * - 대기 시간은 2의 거듭제곱 구간 히스토그램으로 모으므로 백분위 값은 구간 상한(최대 2배)으로 근사한다.
+ */
+@Component
+public class LockContentionTracker implements LockObserver {
+
+    private static final int BUCKETS = 64;
+
+    private final Slot[] slots;
+    private final long slotMillis;
+    private final LongSupplier clock;
+
+    @Autowired
+    public LockContentionTracker(
+            @Value("${point.lock.contention.capacity:64}") int capacity,
+            @Value("${point.lock.contention.window-slots:6}") int windowSlots,
+            @Value("${point.lock.contention.slot-millis:10000}") long slotMillis
+    ) {
+        this(capacity, windowSlots, slotMillis, System::currentTimeMillis);
+    }
+
+    public LockContentionTracker(int capacity, int windowSlots, long slotMillis, LongSupplier clock) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("추적할 유저 수는 1 이상이어야 합니다. capacity: " + capacity);
+        }
+        if (windowSlots <= 0 || slotMillis <= 0) {
+            throw new IllegalArgumentException("시간 창 설정은 1 이상이어야 합니다. windowSlots: " + windowSlots + ", slotMillis: " + slotMillis);
+        }
+        this.slots = new Slot[windowSlots];
+        for (int i = 0; i < windowSlots; i++) {
+            this.slots[i] = new Slot(capacity);
+        }
+        this.slotMillis = slotMillis;
+        this.clock = clock;
+    }
+
+    @Override
+    public void onContended(long userId, long holderUserId, int queueLength, long waitNanos) {
+        long epoch = currentEpoch();
+        slotOf(epoch).record(epoch, holderUserId, queueLength, waitNanos);
+    }
+
+    @Override
+    public void onUnlocked(long userId, long waitNanos, long holdNanos) {
+    }
+
+    /**
+     * 최근 시간 창에서 경합이 가장 잦았던 유저 목록 (경합 횟수 내림차순)
+     */
+    public List<ContendedUser> top(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("조회 건수는 1 이상이어야 합니다. limit: " + limit);
+        }
+        long epoch = currentEpoch();
+        Map<Long, Aggregate> aggregates = new HashMap<>();
+        for (Slot slot : slots) {
+            slot.collect(epoch - slots.length, epoch, aggregates);
+        }
+        return aggregates.entrySet().stream()
+                .map(entry -> entry.getValue().toContendedUser(entry.getKey()))
+                .sorted(Comparator.comparingLong(ContendedUser::contentionCount).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private long currentEpoch() {
+        return clock.getAsLong() / slotMillis;
+    }
+
+    private Slot slotOf(long epoch) {
+        return slots[(int) Math.floorMod(epoch, (long) slots.length)];
+    }
+
+    private static int bucketOf(long nanos) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * @param contentionCount 이 유저가 락을 잡고 있어 다른 요청(체인에서 기다린 자신의 명령 포함)이 기다린 횟수
+     * @param countError Space-Saving 요약에서 다른 유저를 밀어내고 들어오며 물려받은 횟수의 합 (경합 횟수의 최대 과대 추정치)
+     */
+    public record ContendedUser(
+            long userId,
+            long contentionCount,
+            long countError,
+            int maxQueueLength,
+            long p50WaitMicros,
+            long p90WaitMicros,
+            long p99WaitMicros,
+            long maxWaitMicros
+    ) {
+    }
+
+    /*
+     * 한 시간 슬롯의 Space-Saving 요약. 경합이 있을 때만 접근하므로 슬롯 단위 락으로 보호한다.
+     * 추적 중인 유저가 가득 차면 경합 횟수가 가장 적은 유저를 밀어내고, 새 유저는 그 횟수를 오차로 물려받는다.
+     */
+    private static final class Slot {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] userIds;
+        private final long[] counts;
+        private final long[] errors;
+        private final int[] maxQueueLengths;
+        private final long[] maxWaits;
+        private final long[][] waitHistograms;
+        private long epoch = Long.MIN_VALUE;
+        private int size;
+
+        private Slot(int capacity) {
+            this.userIds = new long[capacity];
+            this.counts = new long[capacity];
+            this.errors = new long[capacity];
+            this.maxQueueLengths = new int[capacity];
+            this.maxWaits = new long[capacity];
+            this.waitHistograms = new long[capacity][BUCKETS];
+        }
+
+        void record(long epoch, long userId, int queueLength, long waitNanos) {
+            lock.lock();
+            try {
+                if (this.epoch != epoch) {
+                    this.epoch = epoch;
+                    this.size = 0;
+                }
+                int index = indexOf(userId);
+                if (index < 0) {
+                    index = admit(userId);
+                }
+                counts[index]++;
+                maxQueueLengths[index] = Math.max(maxQueueLengths[index], queueLength);
+                waitHistograms[index][bucketOf(waitNanos)]++;
+                maxWaits[index] = Math.max(maxWaits[index], waitNanos);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void collect(long afterEpoch, long untilEpoch, Map<Long, Aggregate> aggregates) {
+            lock.lock();
+            try {
+                if (epoch <= afterEpoch || epoch > untilEpoch) {
+                    return;
+                }
+                for (int i = 0; i < size; i++) {
+                    aggregates.computeIfAbsent(userIds[i], userId -> new Aggregate())
+                            .add(counts[i], errors[i], maxQueueLengths[i], maxWaits[i], waitHistograms[i]);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int indexOf(long userId) {
+            for (int i = 0; i < size; i++) {
+                if (userIds[i] == userId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int admit(long userId) {
+            int index;
+            if (size < userIds.length) {
+                index = size++;
+                errors[index] = 0;
+                counts[index] = 0;
+            } else {
+                index = 0;
+                for (int i = 1; i < size; i++) {
+                    if (counts[i] < counts[index]) {
+                        index = i;
+                    }
+                }
+                errors[index] = counts[index];
+            }
+            userIds[index] = userId;
+            maxQueueLengths[index] = 0;
+            maxWaits[index] = 0;
+            Arrays.fill(waitHistograms[index], 0L);
+            return index;
+        }
+    }
+
+    private static final class Aggregate {
+
+        private long count;
+        private long error;
+        private int maxQueueLength;
+        private long maxWait;
+        private final long[] waitHistogram = new long[BUCKETS];
+
+        void add(long count, long error, int maxQueueLength, long maxWait, long[] waitHistogram) {
+            this.count += count;
+            this.error += error;
+            this.maxQueueLength = Math.max(this.maxQueueLength, maxQueueLength);
+            this.maxWait = Math.max(this.maxWait, maxWait);
+            for (int i = 0; i < BUCKETS; i++) {
+                this.waitHistogram[i] += waitHistogram[i];
+            }
+        }
+
+        ContendedUser toContendedUser(long userId) {
+            return new ContendedUser(userId, count, error, maxQueueLength,
+                    percentileMicros(0.5), percentileMicros(0.9), percentileMicros(0.99),
+                    TimeUnit.NANOSECONDS.toMicros(maxWait));
+        }
+
+        // 백분위가 속한 구간의 상한을 반환하되, 관측된 최대값을 넘지 않는다.
+        private long percentileMicros(double quantile) {
+            long total = 0;
+            for (long bucketCount : waitHistogram) {
+                total += bucketCount;
+            }
+            if (total == 0) {
+                return 0L;
+            }
+            long rank = (long) Math.ceil(quantile * total);
+            long cumulative = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                cumulative += waitHistogram[bucket];
+                if (cumulative >= rank) {
+                    long upperBound = bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+                    return TimeUnit.NANOSECONDS.toMicros(Math.min(upperBound, maxWait));
+                }
+            }
+            return TimeUnit.NANOSECONDS.toMicros(maxWait);
+        }
+    }
+}
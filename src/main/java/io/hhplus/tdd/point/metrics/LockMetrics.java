@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.point.lock.LockObserver;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저 락 대기/점유 시간 지표
+ * - point.lock.wait: 락을 잡기까지 기다린 시간 (바로 잡은 경우 0 으로 기록)
+ * - point.lock.hold: 락을 잡고 작업을 실행한 시간
+ */
+@Component
+public class LockMetrics implements LockObserver {
+
+    private final Timer waitTimer;
+    private final Timer holdTimer;
+
+    public LockMetrics(MeterRegistry registry) {
+        this.waitTimer = Timer.builder("point.lock.wait")
+                .description("유저 락 대기 시간")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.holdTimer = Timer.builder("point.lock.hold")
+                .description("유저 락 점유 시간")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public void onUnlocked(long userId, long waitNanos, long holdNanos) {
+        waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        holdTimer.record(holdNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,38 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.point.lock.StripedLockManager;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 유저 락 상태 지표
+ * - point.lock.count: 락 배열 크기 (스트라이프 + 전용 락). 유저 수와 관계없이 고정된다.
+ * - point.lock.locked / point.lock.queued: 현재 잡혀 있는 락 수와 락을 기다리는 스레드 수
+ * - point.lock.fair: 지금 공정 모드로 동작 중인 락 수 (adaptive 정책에서 경합으로 공정 전환된 락)
+ * - 값은 수집(scrape) 시점에만 계산하므로 락을 잡는 경로에는 비용이 없다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LockStripeMetrics implements MeterBinder {
+
+    private final StripedLockManager lockManager;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("point.lock.count", lockManager, manager -> manager.stripeCount() + manager.hotUserLockCount())
+                .description("유저 락 배열 크기")
+                .register(registry);
+        Gauge.builder("point.lock.locked", lockManager, StripedLockManager::lockedCount)
+                .description("현재 잡혀 있는 유저 락 수")
+                .register(registry);
+        Gauge.builder("point.lock.queued", lockManager, StripedLockManager::queuedThreadCount)
+                .description("유저 락을 기다리는 스레드 수")
+                .register(registry);
+        Gauge.builder("point.lock.fair", lockManager, StripedLockManager::fairLockCount)
+                .description("공정 모드로 동작 중인 유저 락 수")
+                .register(registry);
+    }
+}
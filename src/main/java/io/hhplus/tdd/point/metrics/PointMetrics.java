@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 서비스 지표
+ * - point.service: 서비스 메서드별 처리 시간 (method 태그)
+ * - point.rejected: 충전/사용 정책(UserPoint.charge/use)에 걸려 거절된 요청 수 (type 태그)
+ * - 미터는 생성 시점에 모두 등록해 두고, 기록할 때는 레지스트리를 조회하지 않는다.
+ */
+@Component
+public class PointMetrics {
+
+    public enum Operation {
+        GET_POINT("getUserPoint"),
+        GET_HISTORIES("getUserPointHistories"),
+        GET_HISTORY_PAGE("getUserPointHistoryPage"),
+        GET_HISTORIES_BETWEEN("getPointHistoriesBetween"),
+        GET_SUMMARY("getPointSummary"),
+        CHARGE("chargeUserPoint"),
+        USE("useUserPoint");
+
+        private final String method;
+
+        Operation(String method) {
+            this.method = method;
+        }
+    }
+
+    private final Timer[] timers = new Timer[Operation.values().length];
+    private final Counter chargeRejected;
+    private final Counter useRejected;
+
+    public PointMetrics(MeterRegistry registry) {
+        for (Operation operation : Operation.values()) {
+            timers[operation.ordinal()] = Timer.builder("point.service")
+                    .description("포인트 서비스 메서드 처리 시간")
+                    .tag("method", operation.method)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        chargeRejected = rejectedCounter(registry, TransactionType.CHARGE);
+        useRejected = rejectedCounter(registry, TransactionType.USE);
+    }
+
+    /**
+     * 처리 시간 기록
+     * @param startedAt 처리를 시작한 System.nanoTime() 값
+     */
+    public void record(Operation operation, long startedAt) {
+        timers[operation.ordinal()].record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    public void rejected(TransactionType type) {
+        (type == TransactionType.CHARGE ? chargeRejected : useRejected).increment();
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, TransactionType type) {
+        return Counter.builder("point.rejected")
+                .description("충전/사용 정책에 걸려 거절된 요청 수")
+                .tag("type", type.name().toLowerCase())
+                .register(registry);
+    }
+}
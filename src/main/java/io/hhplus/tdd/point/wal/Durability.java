@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.wal;
+
+/**
+ * 트랜잭션 로그 디스크 반영(fsync) 방식
+ * - PER_OP : 요청마다 디스크 반영을 기다린다. 동시에 기다리는 요청은 한 번의 fsync 로 함께 반영된다. (group commit)
+ * - BATCHED : group-commit-millis 마다 모아서 반영하고, 요청은 자기 기록이 반영될 때까지 기다린다.
+ * - ASYNC : group-commit-millis 마다 반영하지만 요청은 기다리지 않는다. 장애 시 마지막 주기의 기록을 잃을 수 있다.
+ */
+public enum Durability {
+    PER_OP, BATCHED, ASYNC
+}
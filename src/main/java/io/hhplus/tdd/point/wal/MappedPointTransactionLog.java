@@ -0,0 +1,450 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.execution.PointThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 맵 세그먼트 파일 기반 트랜잭션 로그 (point.wal.enabled=true)
+ * - 한 건은 [payload 길이(int)][CRC32C(int)][lsn, userId, type(byte), amount, point, updateMillis] 의 49 바이트 고정 길이 레코드다.
+ * - 세그먼트 파일(wal-<첫 lsn>.log)을 segmentBytes 크기로 미리 매핑해 두고, append 는 락 안에서 버퍼에 복사만 한다.
+ *   남은 공간이 한 건보다 작으면 다음 lsn 으로 시작하는 새 세그먼트로 넘어간다.
+ * - 디스크 반영(force)은 단일 flusher 스레드가 맡아, 그 사이 쌓인 기록을 한 번의 force 로 반영한다. (group commit)
+ *   새 세그먼트를 처음 반영할 때는 로그 디렉터리도 force 해, 크래시 뒤에도 세그먼트 파일이 남아 있어야 반영된 것으로 본다.
+ * - 열 때 마지막 세그먼트를 처음부터 읽어 CRC 가 맞고 lsn 이 이어지는 곳까지를 유효한 끝으로 보고, 그 뒤는 0 으로 지운다.
+ */
+public class MappedPointTransactionLog implements PointTransactionLog, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedPointTransactionLog.class);
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int PAYLOAD_BYTES = Long.BYTES * 5 + 1;
+    public static final int RECORD_BYTES = HEADER_BYTES + PAYLOAD_BYTES;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final boolean WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final Durability durability;
+    private final long groupCommitNanos;
+
+    // 세그먼트, lsn 발급, 버퍼 쓰기는 appendLock 안에서만 한다.
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final CRC32C crc = new CRC32C();
+    private final List<Segment> rolled = new ArrayList<>();
+    private Segment current;
+    private long lastLsn;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushRequested = flushLock.newCondition();
+    private final Condition flushed = flushLock.newCondition();
+    private boolean flushPending;
+    private volatile long durableLsn;
+    private volatile Exception failure;
+
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public MappedPointTransactionLog(Path directory, int segmentBytes, Durability durability, long groupCommitMillis) {
+        if (segmentBytes < RECORD_BYTES) {
+            throw new IllegalArgumentException("세그먼트 크기는 레코드 한 건(" + RECORD_BYTES + " 바이트) 이상이어야 합니다. segmentBytes: " + segmentBytes);
+        }
+        if (groupCommitMillis <= 0) {
+            throw new IllegalArgumentException("group commit 주기는 1ms 이상이어야 합니다. groupCommitMillis: " + groupCommitMillis);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.durability = durability;
+        this.groupCommitNanos = TimeUnit.MILLISECONDS.toNanos(groupCommitMillis);
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments = segmentPaths();
+            if (segments.isEmpty()) {
+                current = Segment.create(directory, 1L, segmentBytes);
+                lastLsn = 0L;
+            } else {
+                Path last = segments.get(segments.size() - 1);
+                current = Segment.open(last, firstLsnOf(last), segmentBytes);
+                lastLsn = recover(current);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("트랜잭션 로그를 열 수 없습니다. directory: " + directory, e);
+        }
+        this.durableLsn = lastLsn;
+        this.flusher = PointThreads.unstarted("point-wal-flusher", false, this::runFlusher);
+        this.flusher.start();
+    }
+
+    @Override
+    public long append(long userId, TransactionType type, long amount, long point, long updateMillis) {
+        if (!running) {
+            throw new IllegalStateException("트랜잭션 로그가 종료되었습니다.");
+        }
+        checkFailure();
+        appendLock.lock();
+        try {
+            if (current.buffer.remaining() < RECORD_BYTES) {
+                roll();
+            }
+            long lsn = lastLsn + 1;
+            MappedByteBuffer buffer = current.buffer;
+            int position = buffer.position();
+            int payload = position + HEADER_BYTES;
+            buffer.putLong(payload, lsn);
+            buffer.putLong(payload + 8, userId);
+            buffer.put(payload + 16, (byte) type.ordinal());
+            buffer.putLong(payload + 17, amount);
+            buffer.putLong(payload + 25, point);
+            buffer.putLong(payload + 33, updateMillis);
+            crc.reset();
+            crc.update(buffer.slice(payload, PAYLOAD_BYTES));
+            buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+            buffer.putInt(position, PAYLOAD_BYTES);
+            buffer.position(position + RECORD_BYTES);
+            lastLsn = lsn;
+            return lsn;
+        } catch (IOException e) {
+            throw new UncheckedIOException("트랜잭션 로그 세그먼트를 만들 수 없습니다. directory: " + directory, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // 인터럽트로 대기를 그만두면 곧 반영될 기록을 실패로 응답하게 되므로, 인터럽트와 무관하게 flusher 의 반영 결과까지 기다린다.
+    @Override
+    public void awaitDurable(long lsn) {
+        checkFailure();
+        if (durability == Durability.ASYNC || durableLsn >= lsn) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            if (durability == Durability.PER_OP) {
+                flushPending = true;
+                flushRequested.signal();
+            }
+            while (durableLsn < lsn) {
+                checkFailure();
+                if (!running && !flusher.isAlive()) {
+                    throw new IllegalStateException("트랜잭션 로그가 종료되었습니다.");
+                }
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void replay(long afterLsn, Consumer<PointTransaction> consumer) {
+        try {
+            List<Path> segments = segmentPaths();
+            for (int i = 0; i < segments.size(); i++) {
+                if (i + 1 < segments.size() && firstLsnOf(segments.get(i + 1)) <= afterLsn + 1) {
+                    continue;
+                }
+                Path path = segments.get(i);
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    long expectedLsn = firstLsnOf(path);
+                    for (int position = 0; ; position += RECORD_BYTES, expectedLsn++) {
+                        PointTransaction transaction = read(buffer, position, expectedLsn);
+                        if (transaction == null) {
+                            break;
+                        }
+                        if (transaction.lsn() > afterLsn) {
+                            consumer.accept(transaction);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("트랜잭션 로그를 읽을 수 없습니다. directory: " + directory, e);
+        }
+    }
+
+    @Override
+    public long durableLsn() {
+        return durableLsn;
+    }
+
+    /**
+     * 모든 기록이 throughLsn 이하인 세그먼트 파일을 지운다. 쓰고 있는 세그먼트는 지우지 않는다.
+     */
+    @Override
+    public void truncate(long throughLsn) {
+        appendLock.lock();
+        try {
+            List<Path> segments = segmentPaths();
+            for (int i = 0; i + 1 < segments.size(); i++) {
+                if (firstLsnOf(segments.get(i + 1)) > throughLsn + 1) {
+                    break;
+                }
+                Files.delete(segments.get(i));
+            }
+        } catch (IOException e) {
+            log.warn("스냅샷에 담긴 트랜잭션 로그 세그먼트를 지우지 못했습니다. throughLsn: {}", throughLsn, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 마지막으로 발급한 lsn
+     */
+    public long lastLsn() {
+        appendLock.lock();
+        try {
+            return lastLsn;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 남은 기록을 디스크에 반영한 뒤 flusher 스레드를 종료한다.
+     */
+    @Override
+    public void close() {
+        flushLock.lock();
+        try {
+            running = false;
+            flushRequested.signal();
+        } finally {
+            flushLock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appendLock.lock();
+        try {
+            rolled.forEach(Segment::close);
+            rolled.clear();
+            current.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // appendLock 안에서만 호출한다. 다 쓴 세그먼트는 flusher 가 반영한 뒤 닫는다.
+    private void roll() throws IOException {
+        rolled.add(current);
+        current = Segment.create(directory, lastLsn + 1, segmentBytes);
+    }
+
+    private void runFlusher() {
+        while (running) {
+            flushLock.lock();
+            try {
+                long remaining = groupCommitNanos;
+                while (running && !flushPending && remaining > 0) {
+                    remaining = flushRequested.awaitNanos(remaining);
+                }
+                flushPending = false;
+            } catch (InterruptedException e) {
+                log.warn("트랜잭션 로그 flusher 스레드가 인터럽트되었습니다. 계속 반영합니다.");
+            } finally {
+                flushLock.unlock();
+            }
+            if (!flush()) {
+                return;
+            }
+        }
+        flush();
+    }
+
+    /*
+     * 지금까지 append 된 기록을 반영한다. 다 쓴 세그먼트는 반영한 뒤 닫는다.
+     * 실패하면 이후 append/awaitDurable 이 모두 실패하도록 남겨 두고 false 를 반환한다.
+     */
+    private boolean flush() {
+        long target;
+        List<Segment> segments;
+        appendLock.lock();
+        try {
+            target = lastLsn;
+            segments = new ArrayList<>(rolled);
+            rolled.clear();
+            segments.add(current);
+        } finally {
+            appendLock.unlock();
+        }
+        if (target == durableLsn && segments.size() == 1) {
+            return true;
+        }
+        try {
+            boolean created = false;
+            for (int i = 0; i < segments.size(); i++) {
+                Segment segment = segments.get(i);
+                created |= segment.force();
+                if (i < segments.size() - 1) {
+                    segment.close();
+                }
+            }
+            if (created) {
+                forceDirectory();
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.error("트랜잭션 로그를 디스크에 반영하지 못했습니다. lsn: {}", target, e);
+            failure = e;
+        }
+        flushLock.lock();
+        try {
+            if (failure == null) {
+                durableLsn = target;
+            }
+            flushed.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
+        return failure == null;
+    }
+
+    // 파일을 force 해도 디렉터리 항목은 반영되지 않으므로 새 세그먼트를 만든 뒤 디렉터리를 따로 force 한다. (Windows 는 디렉터리를 열 수 없다)
+    private void forceDirectory() throws IOException {
+        if (WINDOWS) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private void checkFailure() {
+        Exception cause = failure;
+        if (cause != null) {
+            throw new IllegalStateException("트랜잭션 로그를 디스크에 반영하지 못해 더 이상 기록할 수 없습니다.", cause);
+        }
+    }
+
+    // 유효한 마지막 기록 뒤로 위치를 옮기고 나머지를 0 으로 지운다. 마지막 lsn 을 반환한다.
+    private static long recover(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        long expectedLsn = segment.firstLsn;
+        int position = 0;
+        while (read(buffer, position, expectedLsn) != null) {
+            position += RECORD_BYTES;
+            expectedLsn++;
+        }
+        for (int i = position; i < buffer.limit(); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.position(position);
+        return expectedLsn - 1;
+    }
+
+    // position 의 기록이 온전하고 lsn 이 expectedLsn 이면 읽고, 아니면 null (로그의 끝)
+    private static PointTransaction read(ByteBuffer buffer, int position, long expectedLsn) {
+        if (position + RECORD_BYTES > buffer.limit() || buffer.getInt(position) != PAYLOAD_BYTES) {
+            return null;
+        }
+        int payload = position + HEADER_BYTES;
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.slice(payload, PAYLOAD_BYTES));
+        if ((int) checksum.getValue() != buffer.getInt(position + Integer.BYTES)) {
+            return null;
+        }
+        long lsn = buffer.getLong(payload);
+        byte type = buffer.get(payload + 16);
+        if (lsn != expectedLsn || type < 0 || type >= TYPES.length) {
+            return null;
+        }
+        return new PointTransaction(
+                lsn,
+                buffer.getLong(payload + 8),
+                TYPES[type],
+                buffer.getLong(payload + 17),
+                buffer.getLong(payload + 25),
+                buffer.getLong(payload + 33)
+        );
+    }
+
+    private List<Path> segmentPaths() throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted((a, b) -> Long.compare(firstLsnOf(a), firstLsnOf(b)))
+                    .toList();
+        }
+    }
+
+    private static long firstLsnOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class Segment {
+
+        private final long firstLsn;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private boolean metadataForced;
+
+        private Segment(long firstLsn, FileChannel channel, MappedByteBuffer buffer, boolean metadataForced) {
+            this.firstLsn = firstLsn;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.metadataForced = metadataForced;
+        }
+
+        private static Segment create(Path directory, long firstLsn, int segmentBytes) throws IOException {
+            Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstLsn, SEGMENT_SUFFIX));
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(firstLsn, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes), false);
+        }
+
+        // 다른 segmentBytes 로 만든 파일이면 파일 크기를 그대로 쓴다. 크기가 모자라면 매핑하면서 늘어난다.
+        private static Segment open(Path path, long firstLsn, int segmentBytes) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = Math.max(channel.size(), segmentBytes);
+            return new Segment(firstLsn, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size), true);
+        }
+
+        /*
+         * flusher 스레드에서만 호출한다. 새로 만든 파일은 처음 한 번 파일 메타데이터(크기)까지 반영한다.
+         * 처음 반영한 새 파일이면 true 를 반환하며, 디렉터리 항목은 호출한 쪽에서 디렉터리를 force 해 반영한다.
+         */
+        private boolean force() throws IOException {
+            boolean created = !metadataForced;
+            if (created) {
+                channel.force(true);
+                metadataForced = true;
+            }
+            buffer.force();
+            return created;
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("트랜잭션 로그 세그먼트를 닫지 못했습니다. firstLsn: {}", firstLsn, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.execution.PointThreads;
+import io.hhplus.tdd.point.infrastructure.PointHistoryStore;
+import io.hhplus.tdd.point.infrastructure.PointHistoryWriter;
+import io.hhplus.tdd.point.infrastructure.PointSummaryStore;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 시작 시 잔고/내역/집계 복구
+ * - 가장 최근 스냅샷의 잔고를 청크 단위로 병렬로 읽어 잔고 저장소에 되살린 뒤,
+ *   스냅샷 이후의 트랜잭션 로그만 lsn 순서대로 다시 적용한다. recover 는 여기까지 하고 반환하므로
+ *   요청을 받기까지의 시간은 유저 수와 로그 tail 에만 비례하고 쌓인 내역 수와는 무관하다.
+ * - 내역은 별도 스레드에서 스냅샷이 가리키는 위치(historyLsn)까지는 내역 보관 파일에서, 그 뒤는 로그 tail 에서
+ *   lsn 순서대로 다시 기록하고, 메모리에만 있는 유저별 집계도 같은 내역으로 다시 쌓는다.
+ * - 그동안 PointHistoryWriter 를 멈춰 새 내역이 복구한 내역 뒤에 기록되게 하므로, 내역/집계 조회는 복구가 끝날 때까지 기다린다.
+ *   복구가 길어져 내역 큐가 가득 차면 충전/사용은 PointBusyException 으로 거절된다.
+ * - 로그에는 반영 후 잔고가 남으므로 같은 기록을 다시 적용해도 결과가 같다.
+ */
+@RequiredArgsConstructor
+public class PointRecovery {
+
+    private static final Logger log = LoggerFactory.getLogger(PointRecovery.class);
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryStore pointHistoryStore;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointSummaryStore pointSummaryStore;
+    private final PointTransactionLog pointTransactionLog;
+    private final PointSnapshotStore pointSnapshotStore;
+    private final int parallelism;
+    private final CompletableFuture<Long> historiesRestored = new CompletableFuture<>();
+
+    public Result recover() {
+        long startedAt = System.nanoTime();
+        pointHistoryWriter.pause();
+        try {
+            LongAdder restoredUsers = new LongAdder();
+            long snapshotLsn = pointSnapshotStore.load((userId, point, updateMillis) -> {
+                userPointRepository.restore(userId, point, updateMillis);
+                restoredUsers.increment();
+            }, parallelism);
+
+            long historyLsn = pointSnapshotStore.latestHistoryLsn();
+            if (historyLsn < snapshotLsn) {
+                log.warn("스냅샷 lsn {} 이전 내역 중 lsn {} 이후는 보관되지 않아 복구할 수 없습니다.", snapshotLsn, historyLsn);
+            }
+            List<PointTransaction> tail = new ArrayList<>();
+            pointTransactionLog.replay(snapshotLsn, transaction -> {
+                userPointRepository.restore(transaction.userId(), transaction.point(), transaction.updateMillis());
+                tail.add(transaction);
+            });
+            PointThreads.unstarted("point-history-recovery", false, () -> restoreHistories(historyLsn, tail)).start();
+
+            Result result = new Result(snapshotLsn, restoredUsers.sum(), tail.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            log.info("포인트 잔고를 복구했습니다. 스냅샷 lsn: {}, 스냅샷 유저 수: {}, 다시 적용한 로그 수: {}, 소요 시간: {}ms",
+                    result.snapshotLsn(), result.restoredUsers(), result.replayedTransactions(), result.elapsedMillis());
+            return result;
+        } catch (RuntimeException e) {
+            pointHistoryWriter.resume();
+            historiesRestored.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 내역/집계 복구가 끝나면 복구한 내역 수로 완료된다.
+     */
+    public CompletableFuture<Long> historiesRestored() {
+        return historiesRestored;
+    }
+
+    // 보관 파일을 읽지 못하면 복구한 만큼만 남기고 기록을 다시 시작한다. 잔고는 이미 복구되어 있다.
+    private void restoreHistories(long historyLsn, List<PointTransaction> tail) {
+        long startedAt = System.nanoTime();
+        try {
+            long[] restored = new long[1];
+            pointSnapshotStore.forEachHistory(historyLsn, transaction -> {
+                restoreHistory(transaction);
+                restored[0]++;
+            });
+            tail.forEach(this::restoreHistory);
+            log.info("포인트 내역을 복구했습니다. 보관 내역 수: {}, 로그 내역 수: {}, 소요 시간: {}ms",
+                    restored[0], tail.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            historiesRestored.complete(restored[0] + tail.size());
+        } catch (RuntimeException e) {
+            log.error("포인트 내역을 복구하지 못했습니다. 복구한 내역까지만 두고 기록을 다시 시작합니다.", e);
+            historiesRestored.completeExceptionally(e);
+        } finally {
+            pointHistoryWriter.resume();
+        }
+    }
+
+    private void restoreHistory(PointTransaction transaction) {
+        long historyAmount = transaction.type() == TransactionType.CHARGE ? transaction.amount() : -transaction.amount();
+        pointHistoryStore.insert(transaction.userId(), historyAmount, transaction.type(), transaction.updateMillis());
+        pointSummaryStore.record(transaction.userId(), transaction.type(), transaction.amount(), transaction.updateMillis());
+    }
+
+    /**
+     * 잔고 복구 결과
+     */
+    public record Result(
+            long snapshotLsn,
+            long restoredUsers,
+            long replayedTransactions,
+            long elapsedMillis
+    ) {
+    }
+}
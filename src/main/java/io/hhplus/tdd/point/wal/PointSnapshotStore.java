@@ -0,0 +1,599 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 잔고 스냅샷/내역 보관 파일 저장소
+ * - 파일(snapshot-<lsn>.snap)은 lsn 시점의 모든 유저 잔고를 유저 ID 순서로 담는다.
+ *   [magic][version][lsn][userCount][chunkUsers][historyLsn] 헤더 뒤에 [count][CRC32C][(userId, point, updateMillis) x count] 청크가 이어진다.
+ *   historyLsn 은 내역 보관 파일에 옮겨 둔 로그의 마지막 lsn 이다. (version 1 파일에는 없어 0 으로 읽는다.)
+ * - 마지막 청크만 chunkUsers 보다 작을 수 있어 청크 위치를 계산할 수 있으므로, 읽을 때 청크 단위로 나눠 병렬로 읽는다.
+ * - 내역 보관 파일(history-<lsn>.hist)은 지울 로그 구간의 충전/사용을 lsn 순서로 그대로 옮겨 담는다.
+ *   파일이 historyCompactFiles 개를 넘으면 하나로 합치고, historyRetentionMillis 가 있으면 합치면서 그보다 오래된 내역을 버린다.
+ *   [magic][version][throughLsn][count][CRC32C] 헤더 뒤에 (lsn, userId, type, amount, point, updateMillis) 가 이어진다.
+ * - 임시 파일에 다 쓰고 디스크에 반영한 뒤 이름을 바꾸고 디렉터리까지 디스크에 반영하므로,
+ *   보이는 파일은 항상 온전하고 commit 이 끝난 뒤에는 로그를 지워도 된다.
+ */
+public class PointSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PointSnapshotStore.class);
+
+    private static final int MAGIC = 0x50534E50; // "PSNP"
+    private static final int VERSION = 2;
+    private static final int V1_HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES * 2 + Integer.BYTES;
+    private static final int HEADER_BYTES = V1_HEADER_BYTES + Long.BYTES;
+    private static final int CHUNK_HEADER_BYTES = Integer.BYTES * 2;
+    private static final int ENTRY_BYTES = Long.BYTES * 3;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final int HISTORY_MAGIC = 0x50484953; // "PHIS"
+    private static final int HISTORY_VERSION = 1;
+    private static final int HISTORY_HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES * 2 + Integer.BYTES;
+    private static final int HISTORY_ENTRY_BYTES = Long.BYTES * 5 + Integer.BYTES;
+    private static final int HISTORY_BUFFER_ENTRIES = 1024;
+    private static final String HISTORY_PREFIX = "history-";
+    private static final String HISTORY_SUFFIX = ".hist";
+    private static final TransactionType[] TRANSACTION_TYPES = TransactionType.values();
+    private static final int DEFAULT_HISTORY_COMPACT_FILES = 16;
+    // Windows 는 디렉터리를 FileChannel 로 열 수 없어 디렉터리 반영을 건너뛴다.
+    private static final boolean WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+    private final Path directory;
+    private final int chunkUsers;
+    private final int retained;
+    private final int historyCompactFiles;
+    private final long historyRetentionMillis;
+    // 복구가 보관 파일을 읽는 동안(read) 합치기(write)가 파일을 지우지 않게 한다.
+    private final ReentrantReadWriteLock historyLock = new ReentrantReadWriteLock();
+
+    public PointSnapshotStore(Path directory, int chunkUsers, int retained) {
+        this(directory, chunkUsers, retained, DEFAULT_HISTORY_COMPACT_FILES, 0L);
+    }
+
+    /**
+     * @param historyCompactFiles    내역 보관 파일이 이 개수를 넘으면 하나로 합친다.
+     * @param historyRetentionMillis 합칠 때 이보다 오래된 내역을 버린다. (0 이면 모두 남긴다.)
+     */
+    public PointSnapshotStore(Path directory, int chunkUsers, int retained, int historyCompactFiles, long historyRetentionMillis) {
+        if (chunkUsers <= 0 || retained <= 0 || historyCompactFiles <= 0) {
+            throw new IllegalArgumentException("청크 크기, 보관 개수, 내역 보관 파일 수는 1 이상이어야 합니다.");
+        }
+        if (historyRetentionMillis < 0) {
+            throw new IllegalArgumentException("내역 보관 기간은 0 이상이어야 합니다. historyRetentionMillis: " + historyRetentionMillis);
+        }
+        this.directory = directory;
+        this.chunkUsers = chunkUsers;
+        this.retained = retained;
+        this.historyCompactFiles = historyCompactFiles;
+        this.historyRetentionMillis = historyRetentionMillis;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷 디렉터리를 만들 수 없습니다. directory: " + directory, e);
+        }
+    }
+
+    /**
+     * 유저 한 명의 잔고를 받는 콜백
+     */
+    @FunctionalInterface
+    public interface BalanceConsumer {
+        void accept(long userId, long point, long updateMillis);
+    }
+
+    /**
+     * 가장 최근 스냅샷의 lsn (없으면 0)
+     */
+    public long latestLsn() {
+        List<Path> snapshots = snapshotPaths();
+        return snapshots.isEmpty() ? 0L : lsnOf(snapshots.get(snapshots.size() - 1), SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+    }
+
+    /**
+     * 가장 최근 스냅샷이 가리키는 내역 보관 위치(그 lsn 까지의 내역은 보관 파일에 있다). 없으면 0
+     */
+    public long latestHistoryLsn() {
+        List<Path> snapshots = snapshotPaths();
+        if (snapshots.isEmpty()) {
+            return 0L;
+        }
+        Path path = snapshots.get(snapshots.size() - 1);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readHeader(channel, path).historyLsn();
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 읽을 수 없습니다. path: " + path, e);
+        }
+    }
+
+    /**
+     * 가장 최근 스냅샷을 parallelism 개의 스레드로 나눠 읽고 lsn 을 반환한다. (없으면 0)
+     * - 청크마다 다른 스레드에서 consumer 를 부르므로 consumer 는 동시 호출에 안전해야 한다.
+     */
+    public long load(BalanceConsumer consumer, int parallelism) {
+        List<Path> snapshots = snapshotPaths();
+        if (snapshots.isEmpty()) {
+            return 0L;
+        }
+        Path path = snapshots.get(snapshots.size() - 1);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, path);
+            int chunkCount = header.chunkCount();
+            pool.submit(() -> IntStream.range(0, chunkCount).parallel()
+                    .forEach(chunk -> readChunk(channel, path, header, chunk, consumer))).get();
+            return header.lsn();
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 읽을 수 없습니다. path: " + path, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("스냅샷을 읽는 중 인터럽트가 발생했습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("스냅샷을 읽지 못했습니다. path: " + path, e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 가장 최근 스냅샷을 유저 ID 순서대로 한 스레드에서 읽고 lsn 을 반환한다. (없으면 0)
+     */
+    public long forEach(BalanceConsumer consumer) {
+        List<Path> snapshots = snapshotPaths();
+        if (snapshots.isEmpty()) {
+            return 0L;
+        }
+        Path path = snapshots.get(snapshots.size() - 1);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, path);
+            for (int chunk = 0; chunk < header.chunkCount(); chunk++) {
+                readChunk(channel, path, header, chunk, consumer);
+            }
+            return header.lsn();
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 읽을 수 없습니다. path: " + path, e);
+        }
+    }
+
+    /**
+     * lsn 까지 보관된 내역을 lsn 순서대로 읽는다.
+     * - 스냅샷 저장 전에 실패해 같은 구간이 다시 보관됐을 수 있으므로, 이미 읽은 lsn 이하는 건너뛴다.
+     */
+    public void forEachHistory(long throughLsn, Consumer<PointTransaction> consumer) {
+        historyLock.readLock().lock();
+        try {
+            long lastLsn = 0L;
+            for (Path path : historyPaths()) {
+                if (lsnOf(path, HISTORY_PREFIX, HISTORY_SUFFIX) > throughLsn) {
+                    break;
+                }
+                lastLsn = readHistory(path, lastLsn, throughLsn, consumer);
+            }
+        } finally {
+            historyLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 내역 보관 파일이 historyCompactFiles 개를 넘으면 가장 최근 파일 이름으로 하나로 합치고 합쳤는지 반환한다.
+     * - 합친 파일을 디스크에 반영한 뒤에 이전 파일을 지우므로, 중간에 멈춰도 lsn 중복 건너뛰기로 같은 내역을 읽는다.
+     * - 복구가 보관 파일을 읽고 있으면 기다리지 않고 다음 기회로 미룬다.
+     */
+    public boolean compactHistory() {
+        if (historyPaths().size() <= historyCompactFiles || !historyLock.writeLock().tryLock()) {
+            return false;
+        }
+        try {
+            List<Path> histories = historyPaths();
+            if (histories.size() <= historyCompactFiles) {
+                return false;
+            }
+            long throughLsn = lsnOf(histories.get(histories.size() - 1), HISTORY_PREFIX, HISTORY_SUFFIX);
+            long cutoffMillis = historyRetentionMillis > 0 ? System.currentTimeMillis() - historyRetentionMillis : Long.MIN_VALUE;
+            try (HistoryWriter writer = beginHistory(throughLsn)) {
+                forEachHistory(throughLsn, transaction -> {
+                    if (transaction.updateMillis() >= cutoffMillis) {
+                        writer.add(transaction);
+                    }
+                });
+                writer.commit();
+            }
+            for (Path path : histories.subList(0, histories.size() - 1)) {
+                Files.deleteIfExists(path);
+            }
+            forceDirectory();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("내역 보관 파일을 합치지 못했습니다. directory: " + directory, e);
+        } finally {
+            historyLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * lsn 시점 스냅샷 쓰기 시작
+     * - 유저 ID 가 증가하는 순서로 add 한 뒤 commit 해야 보이는 스냅샷이 된다.
+     * @param historyLsn 이 스냅샷과 함께 내역 보관 파일에 옮겨 둔 로그의 마지막 lsn
+     */
+    public Writer begin(long lsn, long historyLsn) {
+        Path temp = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, lsn, TEMP_SUFFIX));
+        try {
+            return new Writer(lsn, historyLsn, temp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷 파일을 만들 수 없습니다. path: " + temp, e);
+        }
+    }
+
+    /**
+     * throughLsn 까지의 로그 구간을 옮겨 담을 내역 보관 파일 쓰기 시작
+     * - lsn 이 증가하는 순서로 add 한 뒤 commit 해야 보이는 파일이 된다.
+     */
+    public HistoryWriter beginHistory(long throughLsn) {
+        Path temp = directory.resolve(String.format("%s%020d%s", HISTORY_PREFIX, throughLsn, TEMP_SUFFIX));
+        try {
+            return new HistoryWriter(throughLsn, temp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("내역 보관 파일을 만들 수 없습니다. path: " + temp, e);
+        }
+    }
+
+    private Header readHeader(FileChannel channel, Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES);
+        channel.read(buffer, 0);
+        buffer.flip();
+        if (buffer.remaining() < V1_HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IllegalStateException("스냅샷 파일 형식이 올바르지 않습니다. path: " + path);
+        }
+        int version = buffer.getInt();
+        if (version == 1) {
+            return new Header(buffer.getLong(), buffer.getLong(), buffer.getInt(), 0L, V1_HEADER_BYTES);
+        }
+        if (version != VERSION || buffer.remaining() < HEADER_BYTES - Integer.BYTES * 2) {
+            throw new IllegalStateException("스냅샷 파일 형식이 올바르지 않습니다. path: " + path);
+        }
+        return new Header(buffer.getLong(), buffer.getLong(), buffer.getInt(), buffer.getLong(), HEADER_BYTES);
+    }
+
+    private static void readChunk(FileChannel channel, Path path, Header header, int chunk, BalanceConsumer consumer) {
+        long offset = header.headerBytes() + (long) chunk * (CHUNK_HEADER_BYTES + (long) header.chunkUsers() * ENTRY_BYTES);
+        int count = (int) Math.min(header.chunkUsers(), header.userCount() - (long) chunk * header.chunkUsers());
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, CHUNK_HEADER_BYTES + (long) count * ENTRY_BYTES);
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.slice(CHUNK_HEADER_BYTES, count * ENTRY_BYTES));
+            if (buffer.getInt(0) != count || buffer.getInt(Integer.BYTES) != (int) crc.getValue()) {
+                throw new IllegalStateException("스냅샷 청크가 손상되었습니다. path: " + path + ", chunk: " + chunk);
+            }
+            for (int i = 0, position = CHUNK_HEADER_BYTES; i < count; i++, position += ENTRY_BYTES) {
+                consumer.accept(buffer.getLong(position), buffer.getLong(position + 8), buffer.getLong(position + 16));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 읽을 수 없습니다. path: " + path, e);
+        }
+    }
+
+    // 전체 CRC 를 먼저 확인한 뒤 lastLsn 보다 크고 throughLsn 이하인 기록만 넘기고, 넘긴 마지막 lsn 을 반환한다.
+    private static long readHistory(Path path, long lastLsn, long throughLsn, Consumer<PointTransaction> consumer) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HISTORY_HEADER_BYTES);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HISTORY_HEADER_BYTES || header.getInt() != HISTORY_MAGIC || header.getInt() != HISTORY_VERSION) {
+                throw new IllegalStateException("내역 보관 파일 형식이 올바르지 않습니다. path: " + path);
+            }
+            header.getLong();
+            long count = header.getLong();
+            int expectedCrc = header.getInt();
+            ByteBuffer buffer = ByteBuffer.allocate(HISTORY_BUFFER_ENTRIES * HISTORY_ENTRY_BYTES);
+            CRC32C crc = new CRC32C();
+            long end = HISTORY_HEADER_BYTES + count * HISTORY_ENTRY_BYTES;
+            for (long position = HISTORY_HEADER_BYTES; position < end; ) {
+                position += readFully(channel, buffer, position, end, path);
+                crc.update(buffer);
+            }
+            if ((int) crc.getValue() != expectedCrc) {
+                throw new IllegalStateException("내역 보관 파일이 손상되었습니다. path: " + path);
+            }
+            for (long position = HISTORY_HEADER_BYTES; position < end; ) {
+                position += readFully(channel, buffer, position, end, path);
+                while (buffer.hasRemaining()) {
+                    PointTransaction transaction = new PointTransaction(buffer.getLong(), buffer.getLong(),
+                            TRANSACTION_TYPES[buffer.getInt()], buffer.getLong(), buffer.getLong(), buffer.getLong());
+                    if (transaction.lsn() > lastLsn && transaction.lsn() <= throughLsn) {
+                        consumer.accept(transaction);
+                        lastLsn = transaction.lsn();
+                    }
+                }
+            }
+            return lastLsn;
+        } catch (IOException e) {
+            throw new UncheckedIOException("내역 보관 파일을 읽을 수 없습니다. path: " + path, e);
+        }
+    }
+
+    // position 부터 end 를 넘지 않게 buffer 를 채우고 읽기 상태로 바꾼 뒤 읽은 바이트 수를 반환한다.
+    private static int readFully(FileChannel channel, ByteBuffer buffer, long position, long end, Path path) throws IOException {
+        buffer.clear();
+        buffer.limit((int) Math.min(buffer.capacity(), end - position));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IllegalStateException("내역 보관 파일이 잘렸습니다. path: " + path);
+            }
+        }
+        buffer.flip();
+        return buffer.limit();
+    }
+
+    // 이름 바꾸기(디렉터리 항목 변경)를 디스크에 반영한다.
+    private void forceDirectory() throws IOException {
+        if (WINDOWS) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    // 새 스냅샷을 commit 한 뒤 최근 retained 개만 남기고 지운다.
+    private void prune() {
+        List<Path> snapshots = snapshotPaths();
+        for (int i = 0; i < snapshots.size() - retained; i++) {
+            try {
+                Files.deleteIfExists(snapshots.get(i));
+            } catch (IOException e) {
+                log.warn("오래된 스냅샷을 지우지 못했습니다. path: {}", snapshots.get(i), e);
+            }
+        }
+    }
+
+    private List<Path> snapshotPaths() {
+        return paths(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+    }
+
+    private List<Path> historyPaths() {
+        return paths(HISTORY_PREFIX, HISTORY_SUFFIX);
+    }
+
+    private List<Path> paths(String prefix, String suffix) {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(suffix);
+                    })
+                    .sorted((a, b) -> Long.compare(lsnOf(a, prefix, suffix), lsnOf(b, prefix, suffix)))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷 목록을 읽을 수 없습니다. directory: " + directory, e);
+        }
+    }
+
+    private static long lsnOf(Path path, String prefix, String suffix) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    private record Header(
+            long lsn,
+            long userCount,
+            int chunkUsers,
+            long historyLsn,
+            int headerBytes
+    ) {
+        private int chunkCount() {
+            return (int) ((userCount + chunkUsers - 1) / chunkUsers);
+        }
+    }
+
+    /**
+     * 스냅샷 파일 쓰기
+     * - 청크 하나만큼 메모리에 모았다가 CRC 와 함께 파일에 쓴다.
+     */
+    public final class Writer implements AutoCloseable {
+
+        private final long lsn;
+        private final long historyLsn;
+        private final Path temp;
+        private final FileChannel channel;
+        private final ByteBuffer chunk;
+        private final CRC32C crc = new CRC32C();
+        private long userCount;
+        private long lastUserId = Long.MIN_VALUE;
+        private boolean committed;
+
+        private Writer(long lsn, long historyLsn, Path temp) throws IOException {
+            this.lsn = lsn;
+            this.historyLsn = historyLsn;
+            this.temp = temp;
+            this.channel = FileChannel.open(temp,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.chunk = ByteBuffer.allocateDirect(CHUNK_HEADER_BYTES + chunkUsers * ENTRY_BYTES);
+            this.chunk.position(CHUNK_HEADER_BYTES);
+            channel.position(HEADER_BYTES);
+        }
+
+        public void add(long userId, long point, long updateMillis) {
+            if (userId <= lastUserId) {
+                throw new IllegalArgumentException("스냅샷에는 유저 ID 가 증가하는 순서로 넣어야 합니다. userId: " + userId);
+            }
+            lastUserId = userId;
+            chunk.putLong(userId).putLong(point).putLong(updateMillis);
+            userCount++;
+            if (!chunk.hasRemaining()) {
+                writeChunk();
+            }
+        }
+
+        /**
+         * 헤더를 쓰고 디스크에 반영한 뒤 스냅샷 파일로 이름을 바꾸고, 바뀐 이름도 디스크에 반영한다.
+         */
+        public void commit() {
+            try {
+                if (chunk.position() > CHUNK_HEADER_BYTES) {
+                    writeChunk();
+                }
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                        .putInt(MAGIC).putInt(VERSION).putLong(lsn).putLong(userCount).putInt(chunkUsers).putLong(historyLsn)
+                        .flip();
+                writeFully(header, 0);
+                channel.force(true);
+                channel.close();
+                Path target = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, lsn, SNAPSHOT_SUFFIX));
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                committed = true;
+                forceDirectory();
+            } catch (IOException e) {
+                throw new UncheckedIOException("스냅샷을 저장할 수 없습니다. path: " + temp, e);
+            }
+            prune();
+        }
+
+        /**
+         * commit 하지 않았으면 임시 파일을 지운다.
+         */
+        @Override
+        public void close() {
+            if (committed) {
+                return;
+            }
+            try {
+                channel.close();
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.warn("스냅샷 임시 파일을 지우지 못했습니다. path: {}", temp, e);
+            }
+        }
+
+        private void writeChunk() {
+            int count = (chunk.position() - CHUNK_HEADER_BYTES) / ENTRY_BYTES;
+            crc.reset();
+            crc.update(chunk.slice(CHUNK_HEADER_BYTES, count * ENTRY_BYTES));
+            chunk.putInt(0, count).putInt(Integer.BYTES, (int) crc.getValue());
+            chunk.flip();
+            try {
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("스냅샷을 저장할 수 없습니다. path: " + temp, e);
+            }
+            chunk.clear();
+            chunk.position(CHUNK_HEADER_BYTES);
+        }
+
+        private void writeFully(ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        }
+    }
+
+    /**
+     * 내역 보관 파일 쓰기
+     * - 기록 HISTORY_BUFFER_ENTRIES 건만큼 메모리에 모았다가 파일에 쓰고, CRC 는 commit 할 때 헤더에 쓴다.
+     */
+    public final class HistoryWriter implements AutoCloseable {
+
+        private final long throughLsn;
+        private final Path temp;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(HISTORY_BUFFER_ENTRIES * HISTORY_ENTRY_BYTES);
+        private final CRC32C crc = new CRC32C();
+        private long count;
+        private long lastLsn;
+        private boolean committed;
+
+        private HistoryWriter(long throughLsn, Path temp) throws IOException {
+            this.throughLsn = throughLsn;
+            this.temp = temp;
+            this.channel = FileChannel.open(temp,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            channel.position(HISTORY_HEADER_BYTES);
+        }
+
+        public void add(PointTransaction transaction) {
+            if (transaction.lsn() <= lastLsn || transaction.lsn() > throughLsn) {
+                throw new IllegalArgumentException("내역 보관 파일에는 lsn 이 증가하는 순서로 throughLsn 까지만 넣어야 합니다. lsn: " + transaction.lsn());
+            }
+            lastLsn = transaction.lsn();
+            buffer.putLong(transaction.lsn()).putLong(transaction.userId()).putInt(transaction.type().ordinal())
+                    .putLong(transaction.amount()).putLong(transaction.point()).putLong(transaction.updateMillis());
+            count++;
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+        }
+
+        /**
+         * 헤더를 쓰고 디스크에 반영한 뒤 보관 파일로 이름을 바꾸고, 바뀐 이름도 디스크에 반영한다.
+         */
+        public void commit() {
+            try {
+                flush();
+                ByteBuffer header = ByteBuffer.allocate(HISTORY_HEADER_BYTES)
+                        .putInt(HISTORY_MAGIC).putInt(HISTORY_VERSION).putLong(throughLsn).putLong(count).putInt((int) crc.getValue())
+                        .flip();
+                for (long position = 0; header.hasRemaining(); ) {
+                    position += channel.write(header, position);
+                }
+                channel.force(true);
+                channel.close();
+                Path target = directory.resolve(String.format("%s%020d%s", HISTORY_PREFIX, throughLsn, HISTORY_SUFFIX));
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                committed = true;
+                forceDirectory();
+            } catch (IOException e) {
+                throw new UncheckedIOException("내역 보관 파일을 저장할 수 없습니다. path: " + temp, e);
+            }
+        }
+
+        /**
+         * commit 하지 않았으면 임시 파일을 지운다.
+         */
+        @Override
+        public void close() {
+            if (committed) {
+                return;
+            }
+            try {
+                channel.close();
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.warn("내역 보관 임시 파일을 지우지 못했습니다. path: {}", temp, e);
+            }
+        }
+
+        private void flush() {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("내역 보관 파일을 저장할 수 없습니다. path: " + temp, e);
+            }
+            buffer.clear();
+        }
+    }
+}
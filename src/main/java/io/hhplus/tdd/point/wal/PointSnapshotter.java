@@ -0,0 +1,142 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.execution.PointThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 주기적 잔고 스냅샷 생성기
+ * - 살아 있는 잔고 저장소를 멈추거나 훑지 않고, 직전 스냅샷에 그 뒤의 트랜잭션 로그(디스크에 반영된 lsn 까지)를 합쳐 새 스냅샷을 만든다.
+ *   로그에는 반영 후 잔고가 남으므로 유저별 마지막 기록만 모으면 되고, 메모리는 그 사이 바뀐 유저 수만큼만 쓴다.
+ * - 직전 스냅샷과 바뀐 유저 목록이 모두 유저 ID 순서이므로 한 번 훑으며 병합해 쓴다.
+ * - 로그를 훑으며 그 구간의 충전/사용은 내역 보관 파일에 그대로 옮겨 담고, 스냅샷 헤더에 보관한 위치를 남긴다.
+ * - 보관 파일과 스냅샷을 모두 디스크(디렉터리 포함)에 반영한 뒤에만 그 lsn 까지 담은 로그 세그먼트를 지워,
+ *   재시작 시 다시 읽을 로그가 스냅샷 주기만큼으로 제한되면서도 내역은 잃지 않는다. 쌓인 보관 파일은 그 뒤에 합친다.
+ */
+public class PointSnapshotter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PointSnapshotter.class);
+
+    private final PointTransactionLog pointTransactionLog;
+    private final PointSnapshotStore pointSnapshotStore;
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final ScheduledExecutorService scheduler;
+
+    public PointSnapshotter(PointTransactionLog pointTransactionLog, PointSnapshotStore pointSnapshotStore, long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("스냅샷 주기는 1ms 이상이어야 합니다. intervalMillis: " + intervalMillis);
+        }
+        this.pointTransactionLog = pointTransactionLog;
+        this.pointSnapshotStore = pointSnapshotStore;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(PointThreads.factory("point-snapshotter-", false));
+        this.scheduler.scheduleWithFixedDelay(this::snapshotQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 지금까지 디스크에 반영된 로그까지 담은 스냅샷을 만들고 그 lsn 을 반환한다.
+     * - 직전 스냅샷 이후 반영된 로그가 없으면 만들지 않고 직전 스냅샷의 lsn 을 반환한다.
+     */
+    public long snapshot() {
+        snapshotLock.lock();
+        try {
+            long baseLsn = pointSnapshotStore.latestLsn();
+            long targetLsn = pointTransactionLog.durableLsn();
+            if (targetLsn <= baseLsn) {
+                return baseLsn;
+            }
+            long startedAt = System.nanoTime();
+            Map<Long, PointTransaction> changed = new HashMap<>();
+            try (PointSnapshotStore.HistoryWriter history = pointSnapshotStore.beginHistory(targetLsn)) {
+                pointTransactionLog.replay(baseLsn, transaction -> {
+                    if (transaction.lsn() <= targetLsn) {
+                        changed.put(transaction.userId(), transaction);
+                        history.add(transaction);
+                    }
+                });
+                history.commit();
+            }
+            long[] changedUserIds = changed.keySet().stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(changedUserIds);
+
+            try (PointSnapshotStore.Writer writer = pointSnapshotStore.begin(targetLsn, targetLsn)) {
+                Merger merger = new Merger(writer, changed, changedUserIds);
+                pointSnapshotStore.forEach(merger);
+                merger.finish();
+                writer.commit();
+            }
+            pointTransactionLog.truncate(targetLsn);
+            pointSnapshotStore.compactHistory();
+            log.info("포인트 스냅샷을 저장했습니다. lsn: {}, 바뀐 유저 수: {}, 소요 시간: {}ms",
+                    targetLsn, changedUserIds.length, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            return targetLsn;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.error("포인트 스냅샷을 저장하지 못했습니다. 다음 주기에 다시 시도합니다.", e);
+        }
+    }
+
+    /**
+     * 직전 스냅샷(유저 ID 순)과 바뀐 유저(유저 ID 순)를 병합해 쓴다. 같은 유저는 바뀐 값을 쓴다.
+     */
+    private static final class Merger implements PointSnapshotStore.BalanceConsumer {
+
+        private final PointSnapshotStore.Writer writer;
+        private final Map<Long, PointTransaction> changed;
+        private final long[] changedUserIds;
+        private int next;
+
+        private Merger(PointSnapshotStore.Writer writer, Map<Long, PointTransaction> changed, long[] changedUserIds) {
+            this.writer = writer;
+            this.changed = changed;
+            this.changedUserIds = changedUserIds;
+        }
+
+        @Override
+        public void accept(long userId, long point, long updateMillis) {
+            while (next < changedUserIds.length && changedUserIds[next] < userId) {
+                writeChanged(changedUserIds[next++]);
+            }
+            if (next < changedUserIds.length && changedUserIds[next] == userId) {
+                writeChanged(changedUserIds[next++]);
+                return;
+            }
+            writer.add(userId, point, updateMillis);
+        }
+
+        private void finish() {
+            while (next < changedUserIds.length) {
+                writeChanged(changedUserIds[next++]);
+            }
+        }
+
+        private void writeChanged(long userId) {
+            PointTransaction transaction = changed.get(userId);
+            writer.add(userId, transaction.point(), transaction.updateMillis());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+
+/**
+ * 로그에 남는 충전/사용 한 건
+ * - lsn : 로그 순번 (1부터 1씩 증가)
+ * - amount : 요청 금액 (사용도 양수), point : 반영 후 잔고
+ */
+public record PointTransaction(
+        long lsn,
+        long userId,
+        TransactionType type,
+        long amount,
+        long point,
+        long updateMillis
+) {
+}
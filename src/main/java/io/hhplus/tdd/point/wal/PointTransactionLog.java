@@ -0,0 +1,65 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+
+import java.util.function.Consumer;
+
+/**
+ * 포인트 트랜잭션 로그 (write-ahead log)
+ * - PointService 는 잔고를 저장하기 전에 반영할 충전/사용을 append 하고, awaitDurable 로 디스크 반영을 기다린다.
+ * - 기다리는 기준은 구현의 durability 설정을 따른다.
+ */
+public interface PointTransactionLog {
+
+    /**
+     * 아무것도 남기지 않는 로그 (point.wal.enabled=false)
+     */
+    PointTransactionLog NOOP = new PointTransactionLog() {
+        @Override
+        public long append(long userId, TransactionType type, long amount, long point, long updateMillis) {
+            return 0L;
+        }
+
+        @Override
+        public void awaitDurable(long lsn) {
+        }
+
+        @Override
+        public void replay(long afterLsn, Consumer<PointTransaction> consumer) {
+        }
+
+        @Override
+        public long durableLsn() {
+            return 0L;
+        }
+
+        @Override
+        public void truncate(long throughLsn) {
+        }
+    };
+
+    /**
+     * 로그에 한 건을 추가하고 발급한 lsn 을 반환한다. 디스크 반영은 기다리지 않는다.
+     */
+    long append(long userId, TransactionType type, long amount, long point, long updateMillis);
+
+    /**
+     * lsn 까지의 기록이 durability 설정만큼 안전해질 때까지 기다린다.
+     */
+    void awaitDurable(long lsn);
+
+    /**
+     * afterLsn 보다 큰 기록을 lsn 순서대로 읽어 consumer 에 넘긴다.
+     */
+    void replay(long afterLsn, Consumer<PointTransaction> consumer);
+
+    /**
+     * 디스크에 반영된 마지막 lsn
+     */
+    long durableLsn();
+
+    /**
+     * throughLsn 까지의 기록만 담은 오래된 부분을 지운다. (스냅샷에 담긴 기록)
+     */
+    void truncate(long throughLsn);
+}
@@ -0,0 +1,86 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.infrastructure.PointHistoryStore;
+import io.hhplus.tdd.point.infrastructure.PointHistoryWriter;
+import io.hhplus.tdd.point.infrastructure.PointSummaryStore;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * 포인트 트랜잭션 로그 설정
+ * - point.wal.enabled=false (기본) : 로그를 남기지 않는다.
+ * - point.wal.enabled=true : directory 아래 메모리 맵 세그먼트 파일에 남기고, 주기적으로 잔고 스냅샷을 만든다.
+ *   시작할 때 스냅샷과 그 뒤의 로그로 잔고를 복구한다. 잔고 복구는 요청을 받기 전(빈 생성 중)에 끝나고,
+ *   내역/집계 복구는 그 뒤 별도 스레드에서 이어진다.
+ *   UserPointTable 은 쓰기마다 지연이 있으므로 유저가 많으면 point.balance.store=primitive 와 함께 쓴다.
+ */
+@Configuration
+public class PointTransactionLogConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "point.wal.enabled", havingValue = "false", matchIfMissing = true)
+    public PointTransactionLog noopPointTransactionLog() {
+        return PointTransactionLog.NOOP;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "point.wal.enabled", havingValue = "true")
+    public PointTransactionLog mappedPointTransactionLog(
+            @Value("${point.wal.directory:./data/wal}") String directory,
+            @Value("${point.wal.segment-bytes:67108864}") int segmentBytes,
+            @Value("${point.wal.durability:batched}") String durability,
+            @Value("${point.wal.group-commit-millis:5}") long groupCommitMillis
+    ) {
+        return new MappedPointTransactionLog(
+                Path.of(directory),
+                segmentBytes,
+                Durability.valueOf(durability.toUpperCase().replace('-', '_')),
+                groupCommitMillis
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "point.wal.enabled", havingValue = "true")
+    public PointSnapshotStore pointSnapshotStore(
+            @Value("${point.wal.snapshot.directory:./data/snapshot}") String directory,
+            @Value("${point.wal.snapshot.chunk-users:65536}") int chunkUsers,
+            @Value("${point.wal.snapshot.retained:2}") int retained,
+            @Value("${point.wal.snapshot.history-compact-files:16}") int historyCompactFiles,
+            @Value("${point.wal.snapshot.history-retention-millis:0}") long historyRetentionMillis
+    ) {
+        return new PointSnapshotStore(Path.of(directory), chunkUsers, retained, historyCompactFiles, historyRetentionMillis);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "point.wal.enabled", havingValue = "true")
+    public PointRecovery pointRecovery(
+            UserPointRepository userPointRepository,
+            PointHistoryStore pointHistoryStore,
+            PointHistoryWriter pointHistoryWriter,
+            PointSummaryStore pointSummaryStore,
+            PointTransactionLog pointTransactionLog,
+            PointSnapshotStore pointSnapshotStore,
+            @Value("${point.wal.snapshot.load-parallelism:0}") int loadParallelism
+    ) {
+        int parallelism = loadParallelism > 0 ? loadParallelism : Runtime.getRuntime().availableProcessors();
+        PointRecovery pointRecovery = new PointRecovery(
+                userPointRepository, pointHistoryStore, pointHistoryWriter, pointSummaryStore, pointTransactionLog, pointSnapshotStore, parallelism);
+        pointRecovery.recover();
+        return pointRecovery;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "point.wal.enabled", havingValue = "true")
+    public PointSnapshotter pointSnapshotter(
+            PointTransactionLog pointTransactionLog,
+            PointSnapshotStore pointSnapshotStore,
+            @Value("${point.wal.snapshot.interval-millis:60000}") long intervalMillis
+    ) {
+        return new PointSnapshotter(pointTransactionLog, pointSnapshotStore, intervalMillis);
+    }
+}
@@ -0,0 +1,157 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.lock.AdaptiveFairLock;
+import io.hhplus.tdd.point.lock.AdaptiveFairLock.Fairness;
+import io.hhplus.tdd.point.lock.AdaptiveFairLock.Policy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveFairLockTest {
+
+    @Test
+    @DisplayName("adaptive 락은 비공정으로 시작해, 기준 이상 기다린 스레드가 생기면 공정으로 바뀌고 한동안 경합이 없으면 다시 비공정으로 돌아간다.")
+    void lock_SwitchesFairnessWithContention() throws Exception {
+        // given
+        AdaptiveFairLock lock = new AdaptiveFairLock(Fairness.adaptive(10L, 100, 0));
+        assertThat(lock.isFair()).isFalse();
+
+        // when: 다른 스레드가 20ms 넘게 락을 기다린다.
+        lock.lock();
+        CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> {
+            lock.lock();
+            lock.unlock();
+        });
+        while (lock.getQueueLength() == 0) {
+            Thread.onSpinWait();
+        }
+        Thread.sleep(20L);
+        lock.unlock();
+        waiter.get(1, TimeUnit.SECONDS);
+
+        // then
+        assertThat(lock.isFair()).isTrue();
+        for (int i = 0; i < AdaptiveFairLock.CALM_ACQUISITIONS; i++) {
+            lock.lock();
+            lock.unlock();
+        }
+        assertThat(lock.isFair()).isFalse();
+    }
+
+    @Test
+    @DisplayName("점유 시간이 긴 락은 앞선 점유 한 번 분량만 기다린 스레드가 생겨도 공정으로 바뀌지 않는다.")
+    void lock_ScalesWaitThresholdWithHoldTime() throws Exception {
+        // given: 최소 기준은 1ms 지만, 10ms 씩 점유한 기록이 평균에 쌓여 있다.
+        AdaptiveFairLock lock = new AdaptiveFairLock(Fairness.adaptive(1L, 100, 4));
+        for (int i = 0; i < 16; i++) {
+            lock.lock();
+            Thread.sleep(10L);
+            lock.unlock();
+        }
+
+        // when: 다른 스레드가 점유 한 번(10ms) 동안 락을 기다린다.
+        lock.lock();
+        CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> {
+            lock.lock();
+            lock.unlock();
+        });
+        while (lock.getQueueLength() == 0) {
+            Thread.onSpinWait();
+        }
+        Thread.sleep(10L);
+        lock.unlock();
+        waiter.get(1, TimeUnit.SECONDS);
+
+        // then
+        assertThat(lock.isFair()).isFalse();
+    }
+
+    @Test
+    @DisplayName("락 밖의 체인에서 기준 이상의 앞선 명령이나 대기 시간을 넘겨받으면 adaptive 락은 공정으로 바뀐다.")
+    void lock_CountsQueueAndWaitOutsideTheLock() {
+        // given
+        AdaptiveFairLock byQueue = new AdaptiveFairLock(Fairness.adaptive(60_000L, 4));
+        AdaptiveFairLock byWait = new AdaptiveFairLock(Fairness.adaptive(10L, 100));
+
+        // when
+        byQueue.lock(0L, 3);
+        byQueue.unlock();
+        boolean fairBelowThreshold = byQueue.isFair();
+        byQueue.lock(0L, 4);
+        byQueue.unlock();
+        byWait.lock(TimeUnit.MILLISECONDS.toNanos(10L), 0);
+        byWait.unlock();
+
+        // then
+        assertThat(fairBelowThreshold).isFalse();
+        assertThat(byQueue.isFair()).isTrue();
+        assertThat(byWait.isFair()).isTrue();
+    }
+
+    @Test
+    @DisplayName("이미 줄을 선 스레드는 공정 모드가 아니어도 들어온 순서대로 락을 받는다.")
+    void lock_GrantsQueuedThreadsInArrivalOrder() throws Exception {
+        // given
+        AdaptiveFairLock lock = new AdaptiveFairLock(Fairness.adaptive(60_000L, 100));
+        List<Integer> acquired = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<Void>> waiters = new ArrayList<>();
+        lock.lock();
+        for (int i = 0; i < 3; i++) {
+            final int order = i;
+            waiters.add(CompletableFuture.runAsync(() -> {
+                lock.lock();
+                try {
+                    acquired.add(order);
+                } finally {
+                    lock.unlock();
+                }
+            }, Executors.newSingleThreadExecutor()));
+            while (lock.getQueueLength() != i + 1) {
+                Thread.onSpinWait();
+            }
+        }
+
+        // when
+        lock.unlock();
+        CompletableFuture.allOf(waiters.toArray(CompletableFuture[]::new)).get(1, TimeUnit.SECONDS);
+
+        // then
+        assertThat(acquired).containsExactly(0, 1, 2);
+        assertThat(lock.isFair()).isFalse();
+    }
+
+    @Test
+    @DisplayName("락은 재진입할 수 있고, 잡지 않은 스레드가 해제하면 IllegalMonitorStateException 예외가 발생한다.")
+    void lock_IsReentrantAndOwnedByThread() {
+        // given
+        AdaptiveFairLock lock = new AdaptiveFairLock(Fairness.NON_FAIR);
+
+        // when
+        lock.lock();
+        lock.lock();
+        lock.unlock();
+
+        // then
+        assertThat(lock.isLocked()).isTrue();
+        lock.unlock();
+        assertThat(lock.isLocked()).isFalse();
+        assertThatThrownBy(lock::unlock).isInstanceOf(IllegalMonitorStateException.class);
+    }
+
+    @Test
+    @DisplayName("설정 값으로 정책을 만들 수 있고, 알 수 없는 값이면 IllegalArgumentException 예외가 발생한다.")
+    void fairness_ParsesPolicy() {
+        assertThat(Fairness.of("non-fair", 5L, 8)).isEqualTo(Fairness.NON_FAIR);
+        assertThat(Fairness.of("adaptive", 5L, 8).policy()).isEqualTo(Policy.ADAPTIVE);
+        assertThatThrownBy(() -> Fairness.of("random", 5L, 8)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.infrastructure.ColumnarPointHistoryStore;
+import io.hhplus.tdd.point.infrastructure.PointHistoryStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarPointHistoryStoreTest {
+
+    private static final long USER_ID = 1L;
+    private static final long OTHER_USER_ID = 2L;
+
+    PointHistoryStore pointHistoryStore = new ColumnarPointHistoryStore();
+
+    @Test
+    @DisplayName("유저별 내역 조회 시 해당 유저의 내역만 기록된 순서대로 같은 값으로 반환된다.")
+    void selectAllByUserId_ReturnsOnlyUserHistoriesInOrder() {
+        // given
+        PointHistory charged = pointHistoryStore.insert(USER_ID, 1000L, TransactionType.CHARGE, 1L);
+        pointHistoryStore.insert(OTHER_USER_ID, 500L, TransactionType.CHARGE, 2L);
+        PointHistory used = pointHistoryStore.insert(USER_ID, -300L, TransactionType.USE, 3L);
+
+        // when
+        List<PointHistory> histories = pointHistoryStore.selectAllByUserId(USER_ID);
+
+        // then
+        assertThat(histories).containsExactly(charged, used);
+    }
+
+    @Test
+    @DisplayName("내역이 없는 유저를 조회하면 빈 목록이 반환된다.")
+    void selectAllByUserId_ReturnsEmptyWhenNoHistory() {
+        assertThat(pointHistoryStore.selectAllByUserId(USER_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("청크 여러 개에 걸쳐 기록해도 커서와 기간으로 이어지는 구간을 조회한다.")
+    void selectByUserId_ReturnsRangeAcrossChunks() {
+        // given
+        for (long millis = 1; millis <= 20_000; millis++) {
+            pointHistoryStore.insert(USER_ID, millis, TransactionType.CHARGE, millis);
+        }
+        long cursor = pointHistoryStore.selectAllByUserId(USER_ID).get(8_999).id();
+
+        // when
+        List<PointHistory> afterCursor = pointHistoryStore.selectByUserId(USER_ID, cursor, Long.MIN_VALUE, Long.MAX_VALUE, 3);
+        List<PointHistory> inPeriod = pointHistoryStore.selectByUserId(USER_ID, 0L, 8_180L, 8_190L, 100);
+
+        // then
+        assertThat(pointHistoryStore.selectAllByUserId(USER_ID)).hasSize(20_000);
+        assertThat(afterCursor).extracting(PointHistory::amount).containsExactly(9_001L, 9_002L, 9_003L);
+        assertThat(inPeriod).extracting(PointHistory::updateMillis).containsExactly(
+                8_180L, 8_181L, 8_182L, 8_183L, 8_184L, 8_185L, 8_186L, 8_187L, 8_188L, 8_189L, 8_190L);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 내역을 기록해도 유저별로 ID 가 증가하는 순서로 모두 기록된다.")
+    void insert_IsSafeUnderConcurrentInserts() throws InterruptedException {
+        // given
+        final int threadCount = 8;
+        final int insertsPerThread = 1_000;
+        final ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        final CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            final long userId = i % 2 == 0 ? USER_ID : OTHER_USER_ID;
+            executorService.submit(() -> {
+                try {
+                    for (int j = 0; j < insertsPerThread; j++) {
+                        pointHistoryStore.insert(userId, 100L, TransactionType.CHARGE, 1L);
+                    }
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+        countDownLatch.await();
+        executorService.shutdown();
+
+        // then
+        List<PointHistory> userHistories = pointHistoryStore.selectAllByUserId(USER_ID);
+        List<PointHistory> otherUserHistories = pointHistoryStore.selectAllByUserId(OTHER_USER_ID);
+        assertThat(userHistories).hasSize(threadCount / 2 * insertsPerThread);
+        assertThat(otherUserHistories).hasSize(threadCount / 2 * insertsPerThread);
+        assertThat(userHistories).extracting(PointHistory::id).isSorted();
+        assertThat(userHistories).extracting(PointHistory::id).doesNotContainAnyElementsOf(
+                otherUserHistories.stream().map(PointHistory::id).toList());
+    }
+}
@@ -0,0 +1,208 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.lock.DistributedLockConfig;
+import io.hhplus.tdd.point.lock.DistributedLockManager;
+import io.hhplus.tdd.point.lock.InMemoryDistributedLockClient;
+import io.hhplus.tdd.point.lock.PointBusyException;
+import io.hhplus.tdd.point.lock.StripedLockManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 두 DistributedLockManager 가 InMemoryDistributedLockClient 하나를 함께 써 두 인스턴스를 흉내 낸다.
+ */
+class DistributedLockManagerTest {
+
+    private static final long USER_ID = 1L;
+    private static final String KEY_PREFIX = "point:lock:";
+    private static final long LEASE_MILLIS = 3_000L;
+    private static final long LINGER_MILLIS = 1_000L;
+
+    private final AtomicLong now = new AtomicLong();
+    private InMemoryDistributedLockClient client;
+    private DistributedLockManager nodeA;
+    private DistributedLockManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        client = new InMemoryDistributedLockClient(now::get);
+        nodeA = node();
+        nodeB = node();
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 lease 를 들고 있는 유저의 작업은 기다린 뒤 PointBusyException 으로 거절된다.")
+    void executeWithLock_FailsWhileOtherNodeHoldsLease() {
+        // given
+        nodeA.executeWithLock(USER_ID, () -> null);
+
+        // when & then
+        assertThatThrownBy(() -> nodeB.executeWithLock(USER_ID, () -> null))
+                .isInstanceOf(PointBusyException.class);
+        assertThat(nodeB.executeWithLock(2L, () -> "다른 유저")).isEqualTo("다른 유저");
+    }
+
+    @Test
+    @DisplayName("lease 를 들고 있는 동안 같은 유저의 작업은 저장소 왕복 없이 실행된다.")
+    void executeWithLock_ReusesCachedLease() {
+        // when
+        for (int i = 0; i < 100; i++) {
+            nodeA.executeWithLock(USER_ID, () -> null);
+            now.addAndGet(10L);
+        }
+
+        // then
+        assertThat(client.roundTrips()).isEqualTo(1L);
+        assertThat(nodeA.leaseCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("쓰지 않은 지 linger 시간이 지난 lease 는 한 번에 해제되어 다른 인스턴스가 잡을 수 있다.")
+    void maintain_ReleasesIdleLeasesInOneRoundTrip() {
+        // given
+        for (long userId = 1; userId <= 10; userId++) {
+            nodeA.executeWithLock(userId, () -> null);
+        }
+        long before = client.roundTrips();
+
+        // when
+        now.addAndGet(LINGER_MILLIS);
+        nodeA.maintain();
+
+        // then
+        assertThat(client.roundTrips() - before).isEqualTo(1L);
+        assertThat(nodeA.leaseCount()).isZero();
+        assertThat(client.ownerOf(KEY_PREFIX + USER_ID)).isNull();
+        assertThat(nodeB.executeWithLock(USER_ID, () -> "인스턴스 B")).isEqualTo("인스턴스 B");
+    }
+
+    @Test
+    @DisplayName("계속 쓰이는 lease 는 만료 전에 한 번에 연장되어 다른 인스턴스에 넘어가지 않는다.")
+    void maintain_RenewsActiveLeasesInOneRoundTrip() {
+        // given
+        for (long userId = 1; userId <= 10; userId++) {
+            nodeA.executeWithLock(userId, () -> null);
+        }
+        now.addAndGet(LEASE_MILLIS / 2);
+        for (long userId = 1; userId <= 10; userId++) {
+            nodeA.executeWithLock(userId, () -> null);
+        }
+        long before = client.roundTrips();
+
+        // when
+        nodeA.maintain();
+        now.addAndGet(LEASE_MILLIS / 2 + 1);
+
+        // then
+        assertThat(client.roundTrips() - before).isEqualTo(1L);
+        assertThat(nodeA.leaseCount()).isEqualTo(10);
+        assertThatThrownBy(() -> nodeB.executeWithLock(USER_ID, () -> null))
+                .isInstanceOf(PointBusyException.class);
+    }
+
+    @Test
+    @DisplayName("두 인스턴스에서 같은 유저의 읽기-쓰기를 동시에 실행해도 한 번에 한 곳에서만 실행된다.")
+    void executeWithLock_SerializesSameUserAcrossNodes() {
+        // given: 실제 시간으로 동작하고, lease 는 쓰지 않으면 바로 해제된다.
+        InMemoryDistributedLockClient sharedClient = new InMemoryDistributedLockClient();
+        DistributedLockManager first = new DistributedLockManager(
+                new StripedLockManager(16, true, new long[0]), sharedClient, KEY_PREFIX, 300L, 0L, 10_000L);
+        DistributedLockManager second = new DistributedLockManager(
+                new StripedLockManager(16, true, new long[0]), sharedClient, KEY_PREFIX, 300L, 0L, 10_000L);
+        final int requestCount = 50;
+        final long[] counter = {0L};
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        // when
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (DistributedLockManager node : List.of(first, second)) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < requestCount; i++) {
+                    node.executeWithLock(USER_ID, () -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        long current = counter[0];
+                        Thread.yield();
+                        counter[0] = current + 1;
+                        running.decrementAndGet();
+                        return null;
+                    });
+                }
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        first.close();
+        second.close();
+
+        // then
+        assertThat(counter[0]).isEqualTo(requestCount * 2L);
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(sharedClient.ownerOf(KEY_PREFIX + USER_ID)).isNull();
+    }
+
+    @Test
+    @DisplayName("LockManager 를 거치지 않는 샤드 실행이나 낙관적 모드와 함께 켜면 IllegalArgumentException 예외가 발생한다.")
+    void config_FailsWithModesBypassingLockManager() {
+        DistributedLockConfig config = new DistributedLockConfig();
+        StripedLockManager stripedLockManager = new StripedLockManager(16, true, new long[0]);
+
+        assertThatThrownBy(() -> config.distributedLockManager(stripedLockManager, client, KEY_PREFIX,
+                LEASE_MILLIS, 100L, 200L, "shard", false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> config.distributedLockManager(stripedLockManager, client, KEY_PREFIX,
+                LEASE_MILLIS, 100L, 200L, "lock", true))
+                .isInstanceOf(IllegalArgumentException.class);
+        try (DistributedLockManager manager = config.distributedLockManager(stripedLockManager, client, KEY_PREFIX,
+                LEASE_MILLIS, 100L, 200L, "lock", false)) {
+            assertThat(manager).isNotNull();
+        }
+    }
+
+    @Test
+    @DisplayName("쓰지 않는 lease 를 놓기 전에 다른 인스턴스의 대기가 끝나는 설정이면 IllegalArgumentException 예외가 발생한다.")
+    void config_FailsWhenLingerOutlastsWait() {
+        DistributedLockConfig config = new DistributedLockConfig();
+        StripedLockManager stripedLockManager = new StripedLockManager(16, true, new long[0]);
+
+        assertThatThrownBy(() -> config.distributedLockManager(stripedLockManager, client, KEY_PREFIX,
+                LEASE_MILLIS, 1_000L, 200L, "lock", false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("같은 유저의 다음 요청이 다른 인스턴스로 가도, 앞선 인스턴스가 쓰지 않는 lease 를 놓아 대기 시간 안에 처리된다.")
+    void executeWithLock_HandsOverIdleLeaseWithinWait() {
+        // given: 실제 시계와 주기 작업을 쓰는 두 인스턴스 (linger 100ms, wait 200ms)
+        InMemoryDistributedLockClient sharedClient = new InMemoryDistributedLockClient();
+        try (DistributedLockManager first = new DistributedLockManager(new StripedLockManager(16, true, new long[0]),
+                sharedClient, KEY_PREFIX, LEASE_MILLIS, 100L, 200L);
+             DistributedLockManager second = new DistributedLockManager(new StripedLockManager(16, true, new long[0]),
+                     sharedClient, KEY_PREFIX, LEASE_MILLIS, 100L, 200L)) {
+
+            // when: 요청이 두 인스턴스를 번갈아 간다.
+            for (int i = 0; i < 5; i++) {
+                DistributedLockManager node = i % 2 == 0 ? first : second;
+                assertThat(node.executeWithLock(USER_ID, () -> "ok")).isEqualTo("ok");
+            }
+        }
+
+        // then
+        assertThat(sharedClient.ownerOf(KEY_PREFIX + USER_ID)).isNull();
+    }
+
+    // 가짜 시계는 저절로 흐르지 않으므로 lease 를 기다리지 않는다. (waitMillis = 0)
+    private DistributedLockManager node() {
+        return new DistributedLockManager(new StripedLockManager(16, true, new long[0]), client, KEY_PREFIX,
+                LEASE_MILLIS, LINGER_MILLIS, 0L, now::get, false);
+    }
+}
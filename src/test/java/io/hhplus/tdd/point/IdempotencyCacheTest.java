@@ -0,0 +1,138 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.infrastructure.IdempotencyCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyCacheTest {
+
+    private static final long USER_ID = 1L;
+    private static final String KEY = "retry-key-1";
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private IdempotencyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new IdempotencyCache(2, 1_000L, now::get);
+    }
+
+    @Test
+    @DisplayName("같은 키로 다시 요청하면 처음 결과를 반환하고 충전을 다시 실행하지 않는다.")
+    void execute_ReturnsStoredResultForRetry() throws Exception {
+        // given
+        UserPoint first = cache.execute(USER_ID, KEY, TransactionType.CHARGE, 1_000L, () -> charge(1_000L)).get();
+
+        // when
+        UserPoint retried = cache.execute(USER_ID, KEY, TransactionType.CHARGE, 1_000L, () -> charge(2_000L)).get();
+
+        // then
+        assertThat(retried).isEqualTo(first);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("처음 요청이 처리 중이면 재시도는 같은 결과를 기다린다.")
+    void execute_WaitsForInFlightRequest() throws Exception {
+        // given
+        CompletableFuture<UserPoint> pending = new CompletableFuture<>();
+        CompletableFuture<UserPoint> first = cache.execute(USER_ID, KEY, TransactionType.CHARGE, 1_000L, () -> pending);
+
+        // when
+        CompletableFuture<UserPoint> retried = cache.execute(USER_ID, KEY, TransactionType.CHARGE, 1_000L, () -> charge(1_000L));
+        pending.complete(new UserPoint(USER_ID, 1_000L, 0L));
+
+        // then
+        assertThat(retried.get()).isEqualTo(first.get());
+        assertThat(calls.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 키로 금액이 다른 요청을 보내면 예외가 발생한다.")
+    void execute_FailsWhenPayloadDiffers() {
+        // given
+        cache.execute(USER_ID, KEY, TransactionType.CHARGE, 1_000L, () -> charge(1_000L));
+
+        // when & then
+        assertThatThrownBy(() -> cache.execute(USER_ID, KEY, TransactionType.CHARGE, 2_000L, () -> charge(2_000L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.");
+    }
+
+    @Test
+    @DisplayName("정책 위반 실패는 보관해 재시도에도 같은 예외를 돌려주고, 그 밖의 실패는 지워 다시 실행한다.")
+    void execute_KeepsOnlyPolicyFailures() throws Exception {
+        // given
+        cache.execute(USER_ID, "policy", TransactionType.USE, 1_000L,
+                () -> CompletableFuture.failedFuture(new IllegalArgumentException("사용할 포인트가 보유한 포인트보다 많습니다.")));
+        cache.execute(USER_ID, "transient", TransactionType.CHARGE, 1_000L,
+                () -> CompletableFuture.failedFuture(new IllegalStateException("일시적인 실패")));
+
+        // when
+        CompletableFuture<UserPoint> policyRetry = cache.execute(USER_ID, "policy", TransactionType.USE, 1_000L, () -> charge(1_000L));
+        CompletableFuture<UserPoint> transientRetry = cache.execute(USER_ID, "transient", TransactionType.CHARGE, 1_000L, () -> charge(1_000L));
+
+        // then
+        assertThatThrownBy(policyRetry::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(transientRetry.get().point()).isEqualTo(1_000L);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("보관 시간이 지나면 같은 키로 온 요청을 새 요청으로 실행한다.")
+    void execute_RunsAgainAfterTtl() throws Exception {
+        // given
+        cache.execute(USER_ID, KEY, TransactionType.CHARGE, 1_000L, () -> charge(1_000L)).get();
+
+        // when
+        now.addAndGet(1_000L);
+        cache.execute(USER_ID, KEY, TransactionType.CHARGE, 1_000L, () -> charge(1_000L)).get();
+
+        // then
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 먼저 완료된 항목부터 지우고, 처리 중인 항목은 남긴다.")
+    void execute_EvictsOldestCompletedEntries() {
+        // given
+        CompletableFuture<UserPoint> pending = new CompletableFuture<>();
+        cache.execute(USER_ID, "in-flight", TransactionType.CHARGE, 1_000L, () -> pending);
+        cache.execute(USER_ID, "done-1", TransactionType.CHARGE, 1_000L, () -> charge(1_000L));
+
+        // when
+        cache.execute(USER_ID, "done-2", TransactionType.CHARGE, 1_000L, () -> charge(1_000L));
+        cache.execute(USER_ID, "in-flight", TransactionType.CHARGE, 1_000L, () -> charge(1_000L));
+
+        // then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key 가 비어 있으면 예외가 발생한다.")
+    void execute_FailsWhenKeyIsBlank() {
+        // when & then
+        assertThatThrownBy(() -> cache.execute(USER_ID, " ", TransactionType.CHARGE, 1_000L, () -> charge(1_000L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private CompletableFuture<UserPoint> charge(long point) {
+        calls.incrementAndGet();
+        return CompletableFuture.completedFuture(new UserPoint(USER_ID, point, now.get()));
+    }
+}
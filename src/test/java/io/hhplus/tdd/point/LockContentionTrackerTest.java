@@ -0,0 +1,122 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.metrics.LockContentionTracker;
+import io.hhplus.tdd.point.metrics.LockContentionTracker.ContendedUser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LockContentionTrackerTest {
+
+    private final AtomicLong now = new AtomicLong(0L);
+
+    @Test
+    @DisplayName("경합이 잦은 유저 순서대로 경합 횟수와 최대 대기 스레드 수를 반환한다.")
+    void top_ReturnsMostContendedUsersFirst() {
+        // given
+        LockContentionTracker tracker = new LockContentionTracker(8, 6, 1_000L, now::get);
+        contend(tracker, 1L, 3, 1_000L);
+        contend(tracker, 2L, 5, 1_000L);
+        tracker.onContended(3L, 2L, 7, 1_000L);
+
+        // when
+        List<ContendedUser> top = tracker.top(10);
+
+        // then
+        assertThat(top).extracting(ContendedUser::userId).containsExactly(2L, 1L);
+        assertThat(top.get(0).contentionCount()).isEqualTo(6L);
+        assertThat(top.get(0).maxQueueLength()).isEqualTo(7);
+        assertThat(top.get(1).contentionCount()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("추적 가능한 유저 수를 넘으면 경합이 가장 적은 유저를 밀어내, 경합이 잦은 유저는 계속 추적된다.")
+    void top_KeepsHeavyHittersWithinCapacity() {
+        // given
+        LockContentionTracker tracker = new LockContentionTracker(2, 6, 1_000L, now::get);
+        contend(tracker, 1L, 200, 1_000L);
+
+        // when: 한 번씩만 경합하는 유저가 계속 들어온다.
+        for (long userId = 100; userId < 200; userId++) {
+            contend(tracker, userId, 1, 1_000L);
+        }
+
+        // then
+        List<ContendedUser> top = tracker.top(10);
+        assertThat(top).hasSize(2);
+        assertThat(top.get(0).userId()).isEqualTo(1L);
+        assertThat(top.get(0).contentionCount()).isEqualTo(200L);
+        assertThat(top.get(0).countError()).isZero();
+    }
+
+    @Test
+    @DisplayName("대기 시간 백분위는 관측된 최대 대기 시간을 넘지 않는다.")
+    void top_ReturnsWaitPercentiles() {
+        // given
+        LockContentionTracker tracker = new LockContentionTracker(8, 6, 1_000L, now::get);
+        contend(tracker, 1L, 99, 10_000L);          // 10µs
+        contend(tracker, 1L, 1, 5_000_000L);        // 5ms
+
+        // when
+        ContendedUser user = tracker.top(1).get(0);
+
+        // then
+        assertThat(user.p50WaitMicros()).isBetween(10L, 20L);
+        assertThat(user.p99WaitMicros()).isBetween(10L, 20L);
+        assertThat(user.maxWaitMicros()).isEqualTo(5_000L);
+        assertThat(user.p50WaitMicros()).isLessThanOrEqualTo(user.p90WaitMicros());
+    }
+
+    @Test
+    @DisplayName("시간 창을 벗어난 경합은 집계에서 빠진다.")
+    void top_DropsContentionOutsideWindow() {
+        // given
+        LockContentionTracker tracker = new LockContentionTracker(8, 3, 1_000L, now::get);
+        contend(tracker, 1L, 5, 1_000L);
+        now.set(2_500L);
+        contend(tracker, 2L, 1, 1_000L);
+        assertThat(tracker.top(10)).extracting(ContendedUser::userId).containsExactly(1L, 2L);
+
+        // when
+        now.set(3_500L);
+
+        // then
+        assertThat(tracker.top(10)).extracting(ContendedUser::userId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("경합은 기다린 유저가 아닌 락을 잡고 있던 유저에게 기록된다.")
+    void top_AttributesContentionToHolder() {
+        // given: 같은 스트라이프를 쓰는 유저 5 가 유저 1 이 잡은 락을 기다렸다.
+        LockContentionTracker tracker = new LockContentionTracker(8, 6, 1_000L, now::get);
+
+        // when
+        tracker.onContended(5L, 1L, 3, 2_000_000L);
+
+        // then
+        List<ContendedUser> top = tracker.top(10);
+        assertThat(top).extracting(ContendedUser::userId).containsExactly(1L);
+        assertThat(top.get(0).maxQueueLength()).isEqualTo(3);
+        assertThat(top.get(0).maxWaitMicros()).isEqualTo(2_000L);
+    }
+
+    @Test
+    @DisplayName("조회 건수가 0 이하이면 IllegalArgumentException 예외가 발생한다.")
+    void top_FailsWhenLimitIsNotPositive() {
+        LockContentionTracker tracker = new LockContentionTracker(8, 6, 1_000L, now::get);
+
+        assertThatThrownBy(() -> tracker.top(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void contend(LockContentionTracker tracker, long userId, int times, long waitNanos) {
+        for (int i = 0; i < times; i++) {
+            tracker.onContended(userId, userId, 1, waitNanos);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.execution.LockingPointCommandExecutor;
+import io.hhplus.tdd.point.lock.LockObserver;
+import io.hhplus.tdd.point.lock.PointBusyException;
+import io.hhplus.tdd.point.lock.StripedLockManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LockingPointCommandExecutorTest {
+
+    private static final long USER_ID = 1L;
+
+    LockingPointCommandExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new LockingPointCommandExecutor(new StripedLockManager(16, true, new long[0]), Executors.newFixedThreadPool(8));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("같은 유저에 대한 비동기 명령은 요청한 순서대로 하나씩 실행된다.")
+    void submit_ExecutesSameUserInOrder() {
+        // given
+        List<Integer> executed = new ArrayList<>();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            final int order = i;
+            futures.add(executor.submit(USER_ID, () -> {
+                executed.add(order);
+                return order;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // then
+        assertThat(executed).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(executed.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    @DisplayName("유저 락이 잡혀 있어도 비동기 명령 요청은 기다리지 않고 바로 반환된다.")
+    void submit_ReturnsWithoutWaitingForUserLock() throws Exception {
+        // given
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> executor.execute(USER_ID, () -> {
+            locked.countDown();
+            await(release);
+            return null;
+        }));
+        locked.await();
+
+        // when
+        CompletableFuture<String> result = executor.submit(USER_ID, () -> "done");
+
+        // then
+        assertThat(result).isNotDone();
+        release.countDown();
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("done");
+        holder.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("앞선 명령이 실패해도 같은 유저의 다음 명령은 실행되고, 실패는 해당 future 로만 전달된다.")
+    void submit_ContinuesAfterFailure() {
+        // when
+        CompletableFuture<Object> failed = executor.submit(USER_ID, () -> {
+            throw new IllegalArgumentException("실패");
+        });
+        CompletableFuture<String> next = executor.submit(USER_ID, () -> "next");
+
+        // then
+        assertThat(next.join()).isEqualTo("next");
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("유저별 대기 명령 수 상한에 이르면 새 명령을 PointBusyException 으로 거절하고, 명령이 끝나면 다시 받는다.")
+    void submit_RejectsWhenUserHasTooManyPendingCommands() throws Exception {
+        // given
+        LockingPointCommandExecutor limited = new LockingPointCommandExecutor(
+                new StripedLockManager(16, true, new long[0]), Executors.newFixedThreadPool(2), 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = limited.submit(USER_ID, () -> {
+            await(release);
+            return "first";
+        });
+        CompletableFuture<String> second = limited.submit(USER_ID, () -> "second");
+
+        // when & then
+        assertThatThrownBy(() -> limited.submit(USER_ID, () -> "third"))
+                .isInstanceOf(PointBusyException.class);
+        assertThatThrownBy(() -> limited.execute(USER_ID, () -> "sync"))
+                .isInstanceOf(PointBusyException.class);
+        assertThat(limited.execute(2L, () -> "other user")).isEqualTo("other user");
+
+        release.countDown();
+        assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(second.get(1, TimeUnit.SECONDS)).isEqualTo("second");
+        assertThat(limited.submit(USER_ID, () -> "again").get(1, TimeUnit.SECONDS)).isEqualTo("again");
+        limited.close();
+    }
+
+    @Test
+    @DisplayName("체인에서 앞선 명령을 기다린 비동기 명령은 앞선 명령 수와 체인 대기 시간이 락 경합으로 관찰된다.")
+    void submit_ReportsChainDepthAndWaitToLockObserver() throws Exception {
+        // given
+        List<Integer> contendedQueueLengths = new CopyOnWriteArrayList<>();
+        List<Long> waits = new CopyOnWriteArrayList<>();
+        LockObserver observer = new LockObserver() {
+            @Override
+            public void onContended(long userId, long holderUserId, int queueLength, long waitNanos) {
+                assertThat(holderUserId).isEqualTo(userId);
+                contendedQueueLengths.add(queueLength);
+            }
+
+            @Override
+            public void onUnlocked(long userId, long waitNanos, long holdNanos) {
+                waits.add(waitNanos);
+            }
+        };
+        LockingPointCommandExecutor observed = new LockingPointCommandExecutor(
+                new StripedLockManager(16, true, new long[0], observer), Executors.newFixedThreadPool(2));
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = observed.submit(USER_ID, () -> {
+            await(release);
+            return "first";
+        });
+        CompletableFuture<String> second = observed.submit(USER_ID, () -> "second");
+
+        // when
+        assertThat(observed.pendingCount(USER_ID)).isEqualTo(2);
+        Thread.sleep(20L);
+        release.countDown();
+        second.get(1, TimeUnit.SECONDS);
+        first.get(1, TimeUnit.SECONDS);
+
+        // then: 두 번째 명령은 앞선 명령 1개를 20ms 넘게 기다렸다.
+        assertThat(contendedQueueLengths).containsExactly(1);
+        assertThat(waits).hasSize(2);
+        assertThat(waits.get(1)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20L));
+        observed.close();
+    }
+
+    @Test
+    @DisplayName("비동기 풀의 대기열이 가득 차면 명령은 PointBusyException 으로 실패한다.")
+    void submit_FailsWithPointBusyExceptionWhenPoolQueueIsFull() throws Exception {
+        // given: 스레드 1개, 대기열 1칸
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                (task, rejectedBy) -> {
+                    throw new PointBusyException("가득 참");
+                });
+        LockingPointCommandExecutor bounded = new LockingPointCommandExecutor(
+                new StripedLockManager(16, true, new long[0]), pool);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = bounded.submit(1L, () -> {
+            await(release);
+            return "running";
+        });
+        CompletableFuture<String> queued = bounded.submit(2L, () -> "queued");
+
+        // when
+        CompletableFuture<String> rejected = bounded.submit(3L, () -> "rejected");
+
+        // then
+        assertThatThrownBy(() -> rejected.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(PointBusyException.class);
+        release.countDown();
+        assertThat(running.get(1, TimeUnit.SECONDS)).isEqualTo("running");
+        assertThat(queued.get(1, TimeUnit.SECONDS)).isEqualTo("queued");
+        bounded.close();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
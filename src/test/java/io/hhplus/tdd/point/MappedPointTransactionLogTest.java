@@ -0,0 +1,150 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.wal.Durability;
+import io.hhplus.tdd.point.wal.MappedPointTransactionLog;
+import io.hhplus.tdd.point.wal.PointTransaction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedPointTransactionLogTest {
+
+    private static final long USER_ID = 1L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("기록한 트랜잭션을 다시 열어 lsn 순서대로 읽을 수 있고, 이어서 기록하면 다음 lsn 을 발급한다.")
+    void append_SurvivesReopen() {
+        // given
+        MappedPointTransactionLog transactionLog = new MappedPointTransactionLog(directory, 4096, Durability.PER_OP, 5);
+        long lsn = transactionLog.append(USER_ID, TransactionType.CHARGE, 1_000L, 1_000L, 10L);
+        transactionLog.append(USER_ID, TransactionType.USE, 300L, 700L, 20L);
+        transactionLog.awaitDurable(lsn + 1);
+        transactionLog.close();
+
+        // when
+        MappedPointTransactionLog reopened = new MappedPointTransactionLog(directory, 4096, Durability.PER_OP, 5);
+        List<PointTransaction> transactions = replayAll(reopened);
+        long nextLsn = reopened.append(USER_ID, TransactionType.CHARGE, 100L, 800L, 30L);
+        reopened.close();
+
+        // then
+        assertThat(transactions).containsExactly(
+                new PointTransaction(1L, USER_ID, TransactionType.CHARGE, 1_000L, 1_000L, 10L),
+                new PointTransaction(2L, USER_ID, TransactionType.USE, 300L, 700L, 20L)
+        );
+        assertThat(nextLsn).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("세그먼트가 가득 차면 새 세그먼트로 넘어가고, 여러 세그먼트에 걸친 기록도 이어서 읽는다.")
+    void append_RollsSegments() throws IOException {
+        // given
+        MappedPointTransactionLog transactionLog = new MappedPointTransactionLog(
+                directory, MappedPointTransactionLog.RECORD_BYTES * 4, Durability.BATCHED, 1);
+
+        // when
+        long lsn = 0L;
+        for (int i = 1; i <= 10; i++) {
+            lsn = transactionLog.append(USER_ID, TransactionType.CHARGE, i, i, i);
+        }
+        transactionLog.awaitDurable(lsn);
+        List<PointTransaction> afterFive = new ArrayList<>();
+        transactionLog.replay(5L, afterFive::add);
+        transactionLog.close();
+
+        // then
+        try (Stream<Path> segments = Files.list(directory)) {
+            assertThat(segments.count()).isEqualTo(3L);
+        }
+        assertThat(afterFive).extracting(PointTransaction::lsn).containsExactly(6L, 7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    @DisplayName("CRC 가 맞지 않는 기록부터는 로그의 끝으로 보고, 다시 열면 그 자리부터 이어서 기록한다.")
+    void reopen_TruncatesAtCorruptedRecord() throws IOException {
+        // given
+        MappedPointTransactionLog transactionLog = new MappedPointTransactionLog(directory, 4096, Durability.PER_OP, 5);
+        for (int i = 1; i <= 3; i++) {
+            transactionLog.awaitDurable(transactionLog.append(USER_ID, TransactionType.CHARGE, i, i, i));
+        }
+        transactionLog.close();
+        Path segment;
+        try (Stream<Path> segments = Files.list(directory)) {
+            segment = segments.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // 두 번째 기록의 amount 한 바이트를 바꾼다.
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), MappedPointTransactionLog.RECORD_BYTES + 30L);
+        }
+
+        // when
+        MappedPointTransactionLog reopened = new MappedPointTransactionLog(directory, 4096, Durability.PER_OP, 5);
+        List<PointTransaction> transactions = replayAll(reopened);
+        long nextLsn = reopened.append(USER_ID, TransactionType.CHARGE, 9L, 9L, 9L);
+        reopened.close();
+
+        // then
+        assertThat(transactions).extracting(PointTransaction::lsn).containsExactly(1L);
+        assertThat(nextLsn).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 기록하고 반영을 기다려도 lsn 이 빠짐없이 이어진다.")
+    void append_IsSafeUnderConcurrentAppends() throws InterruptedException {
+        // given
+        MappedPointTransactionLog transactionLog = new MappedPointTransactionLog(directory, 64 * 1024, Durability.PER_OP, 5);
+        final int threadCount = 8;
+        final int appendsPerThread = 200;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+
+        // when
+        for (int t = 0; t < threadCount; t++) {
+            long userId = t + 1L;
+            executorService.submit(() -> {
+                try {
+                    for (int i = 0; i < appendsPerThread; i++) {
+                        transactionLog.awaitDurable(transactionLog.append(userId, TransactionType.CHARGE, 10L, 10L, i));
+                    }
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+        countDownLatch.await();
+        executorService.shutdown();
+        List<PointTransaction> transactions = replayAll(transactionLog);
+        transactionLog.close();
+
+        // then
+        assertThat(transactions).hasSize(threadCount * appendsPerThread);
+        for (int i = 0; i < transactions.size(); i++) {
+            assertThat(transactions.get(i).lsn()).isEqualTo(i + 1L);
+        }
+    }
+
+    private static List<PointTransaction> replayAll(MappedPointTransactionLog transactionLog) {
+        List<PointTransaction> transactions = new ArrayList<>();
+        transactionLog.replay(0L, transactions::add);
+        return transactions;
+    }
+}
@@ -0,0 +1,180 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.infrastructure.OptimisticUserPointStore;
+import io.hhplus.tdd.point.infrastructure.PointHistoryWriter;
+import io.hhplus.tdd.point.infrastructure.PrimitiveUserPointRepository;
+import io.hhplus.tdd.point.infrastructure.TableUserPointRepository;
+import io.hhplus.tdd.point.wal.PointTransactionLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticUserPointStoreTest {
+
+    private static final long USER_ID = 1L;
+    private static final long HOT_USER_ID = 2L;
+
+    @Mock
+    UserPointTable userPointTable;
+
+    @Mock
+    PointHistoryWriter pointHistoryWriter;
+
+    PrimitiveUserPointRepository userPointRepository;
+    OptimisticUserPointStore store;
+
+    @BeforeEach
+    void setUp() {
+        userPointRepository = new PrimitiveUserPointRepository(4, 16);
+        store = new OptimisticUserPointStore(userPointRepository, pointHistoryWriter, PointTransactionLog.NOOP,
+                true, 3, 8, new long[]{HOT_USER_ID});
+    }
+
+    @Test
+    @DisplayName("충전을 반영하면 잔고 저장소에 한 번 저장하고 내역을 남긴다.")
+    void apply_PersistsAndRecordsHistory() {
+        // given
+        userPointRepository.insertOrUpdate(USER_ID, 1_000L);
+
+        // when
+        UserPoint result = store.apply(USER_ID, TransactionType.CHARGE, 500L, 3);
+
+        // then
+        assertThat(result.point()).isEqualTo(1_500L);
+        assertThat(store.read(USER_ID)).isEqualTo(result);
+        assertThat(userPointRepository.selectVersionedById(USER_ID).version()).isEqualTo(2L);
+        verify(pointHistoryWriter).reserve(USER_ID, 1);
+        verify(pointHistoryWriter).enqueueReserved(USER_ID, 500L, TransactionType.CHARGE, result.updateMillis());
+    }
+
+    @Test
+    @DisplayName("정책 위반은 다시 시도하지 않고 IllegalArgumentException 예외가 발생하며 저장하지 않는다.")
+    void apply_FailsWithoutPersistingWhenPolicyViolated() {
+        // given
+        userPointRepository.insertOrUpdate(USER_ID, 100L);
+
+        // when & then
+        assertThatThrownBy(() -> store.apply(USER_ID, TransactionType.USE, 500L, 3))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("사용할 포인트가 보유한 포인트보다 많습니다.");
+        assertThat(userPointRepository.selectVersionedById(USER_ID).version()).isEqualTo(1L);
+        verify(pointHistoryWriter).cancel(USER_ID, 1);
+        verify(pointHistoryWriter, never()).enqueueReserved(anyLong(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("잔고 저장에 실패한 충전은 반영되지 않으므로, 다시 요청해도 한 번만 반영된다.")
+    void apply_DoesNotApplyWhenSaveFails() {
+        // given
+        OptimisticUserPointStore tableStore = new OptimisticUserPointStore(new TableUserPointRepository(userPointTable, true),
+                pointHistoryWriter, PointTransactionLog.NOOP, true, 3, 8, new long[0]);
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 1_000L, 0L));
+        when(userPointTable.insertOrUpdate(USER_ID, 1_500L))
+                .thenThrow(new IllegalStateException("저장 실패"))
+                .thenReturn(new UserPoint(USER_ID, 1_500L, 1L));
+
+        // when
+        assertThatThrownBy(() -> tableStore.apply(USER_ID, TransactionType.CHARGE, 500L, 3))
+                .isInstanceOf(IllegalStateException.class);
+        UserPoint retried = tableStore.apply(USER_ID, TransactionType.CHARGE, 500L, 3);
+
+        // then
+        assertThat(retried.point()).isEqualTo(1_500L);
+        verify(userPointTable, times(2)).insertOrUpdate(USER_ID, 1_500L);
+        verify(pointHistoryWriter).cancel(USER_ID, 1);
+        verify(pointHistoryWriter, times(1)).enqueueReserved(USER_ID, 500L, TransactionType.CHARGE, 1L);
+    }
+
+    @Test
+    @DisplayName("같은 유저에게 락 없이 동시에 충전해도 유실 없이 모두 반영되고, 충전마다 한 번씩 저장하고 내역을 남긴다.")
+    void apply_ConcurrentChargesAreNotLost() throws InterruptedException {
+        // given
+        final int threadCount = 100;
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    store.apply(USER_ID, TransactionType.CHARGE, 10L, Integer.MAX_VALUE);
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+        countDownLatch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(store.read(USER_ID).point()).isEqualTo(threadCount * 10L);
+        assertThat(userPointRepository.selectVersionedById(USER_ID).version()).isEqualTo(threadCount);
+        verify(pointHistoryWriter, times(threadCount))
+                .enqueueReserved(eq(USER_ID), eq(10L), eq(TransactionType.CHARGE), anyLong());
+    }
+
+    @Test
+    @DisplayName("같은 유저에게 동시에 충전해도 내역은 저장 순서대로 큐에 들어가 저장 시각이 줄어들지 않는다.")
+    void apply_EnqueuesHistoriesInCommitOrder() throws InterruptedException {
+        // given
+        final int threadCount = 100;
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+        List<Long> enqueued = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> enqueued.add(invocation.getArgument(3)))
+                .when(pointHistoryWriter).enqueueReserved(eq(USER_ID), eq(10L), eq(TransactionType.CHARGE), anyLong());
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    store.apply(USER_ID, TransactionType.CHARGE, 10L, Integer.MAX_VALUE);
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+        countDownLatch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(enqueued).hasSize(threadCount).isSorted();
+        assertThat(enqueued.get(threadCount - 1)).isEqualTo(store.read(USER_ID).updateMillis());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 로그와 함께 켜면 IllegalArgumentException 예외가 발생한다.")
+    void create_FailsWithTransactionLog() {
+        PointTransactionLog pointTransactionLog = mock(PointTransactionLog.class);
+
+        assertThatThrownBy(() -> new OptimisticUserPointStore(userPointRepository, pointHistoryWriter, pointTransactionLog,
+                true, 3, 8, new long[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("hot-user-ids 로 지정된 유저는 hot 유저로 판단된다.")
+    void isHot_ReturnsTrueForConfiguredHotUser() {
+        assertThat(store.isHot(HOT_USER_ID)).isTrue();
+        assertThat(store.isHot(USER_ID)).isFalse();
+    }
+}
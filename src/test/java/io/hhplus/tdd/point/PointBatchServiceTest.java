@@ -0,0 +1,149 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.PointBatchService;
+import io.hhplus.tdd.point.domain.PointCommand;
+import io.hhplus.tdd.point.domain.PointCommandResult;
+import io.hhplus.tdd.point.domain.PointService;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PointBatchServiceTest {
+
+    @Mock
+    PointService pointService;
+
+    PointBatchService pointBatchService;
+
+    @BeforeEach
+    void setUp() {
+        pointBatchService = new PointBatchService(pointService, 4);
+    }
+
+    @Test
+    @DisplayName("명령별 성공/실패 결과가 요청한 순서대로 반환된다.")
+    void execute_ReturnsResultPerCommandInRequestOrder() {
+        // given
+        PointCommand charge = new PointCommand(1L, TransactionType.CHARGE, 1000L);
+        PointCommand use = new PointCommand(2L, TransactionType.USE, 500L);
+        when(pointService.chargeUserPointAsync(1L, 1000L))
+                .thenReturn(CompletableFuture.completedFuture(new UserPoint(1L, 1000L, 0L)));
+        when(pointService.useUserPointAsync(2L, 500L))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("사용할 포인트가 보유한 포인트보다 많습니다.")));
+
+        // when
+        List<PointCommandResult> results = pointBatchService.execute(List.of(charge, use)).join();
+
+        // then
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).success()).isTrue();
+        assertThat(results.get(0).userPoint().point()).isEqualTo(1000L);
+        assertThat(results.get(1).success()).isFalse();
+        assertThat(results.get(1).error()).isEqualTo("사용할 포인트가 보유한 포인트보다 많습니다.");
+    }
+
+    @Test
+    @DisplayName("같은 유저의 명령은 요청에 담긴 순서대로 처리된다.")
+    void execute_KeepsOrderForSameUser() {
+        // given
+        List<PointCommand> commands = new ArrayList<>();
+        for (long amount = 1; amount <= 5; amount++) {
+            commands.add(new PointCommand(1L, TransactionType.CHARGE, amount));
+            commands.add(new PointCommand(2L, TransactionType.CHARGE, amount));
+        }
+        when(pointService.chargeUserPointAsync(anyLong(), anyLong()))
+                .thenAnswer(invocation -> CompletableFuture.supplyAsync(() ->
+                        new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 0L)));
+
+        // when
+        pointBatchService.execute(commands).join();
+
+        // then
+        InOrder inOrder = inOrder(pointService);
+        for (long amount = 1; amount <= 5; amount++) {
+            inOrder.verify(pointService).chargeUserPointAsync(1L, amount);
+        }
+    }
+
+    @Test
+    @DisplayName("한 요청에서 동시에 처리하는 유저 수는 parallelism 을 넘지 않는다.")
+    void execute_LimitsConcurrentUsersPerRequest() {
+        // given: 유저 10명의 명령이 끝나지 않은 채로 남는다.
+        List<CompletableFuture<UserPoint>> pending = new ArrayList<>();
+        when(pointService.chargeUserPointAsync(anyLong(), anyLong())).thenAnswer(invocation -> {
+            CompletableFuture<UserPoint> future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        });
+        List<PointCommand> commands = new ArrayList<>();
+        for (long userId = 1; userId <= 10; userId++) {
+            commands.add(new PointCommand(userId, TransactionType.CHARGE, 100L));
+        }
+
+        // when
+        CompletableFuture<List<PointCommandResult>> results = pointBatchService.execute(commands);
+
+        // then: parallelism(4)명만 시작하고, 끝날 때마다 다음 유저를 시작한다.
+        assertThat(pending).hasSize(4);
+        assertThat(results).isNotDone();
+        for (int i = 0; i < 10; i++) {
+            pending.get(i).complete(new UserPoint(i + 1L, 100L, 0L));
+        }
+        assertThat(results.join()).allMatch(PointCommandResult::success);
+    }
+
+    @Test
+    @DisplayName("빈 명령이 있으면 처리 전에 IllegalArgumentException 예외가 발생한다.")
+    void execute_FailsWhenCommandIsNull() {
+        // given
+        List<PointCommand> commands = new ArrayList<>();
+        commands.add(new PointCommand(1L, TransactionType.CHARGE, 100L));
+        commands.add(null);
+
+        // when & then
+        assertThatThrownBy(() -> pointBatchService.execute(commands))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(pointService);
+    }
+
+    @Test
+    @DisplayName("유효하지 않은 유저 ID 의 명령은 서비스를 호출하지 않고 실패 결과로 반환된다.")
+    void execute_FailsInvalidUserIdWithoutCallingService() {
+        // when
+        List<PointCommandResult> results = pointBatchService.execute(List.of(new PointCommand(0L, TransactionType.CHARGE, 100L))).join();
+
+        // then
+        assertThat(results.get(0).success()).isFalse();
+        assertThat(results.get(0).error()).isEqualTo("유효하지 않은 유저 ID입니다. ID: 0");
+        verifyNoInteractions(pointService);
+    }
+
+    @Test
+    @DisplayName("최대 명령 수를 넘으면 IllegalArgumentException 예외가 발생한다.")
+    void execute_FailsWhenExceedingMaxBatchSize() {
+        // given
+        List<PointCommand> commands = Collections.nCopies(PointBatchService.MAX_BATCH_SIZE + 1,
+                new PointCommand(1L, TransactionType.CHARGE, 1L));
+
+        // when & then
+        assertThatThrownBy(() -> pointBatchService.execute(commands))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(pointService);
+    }
+}
@@ -1,10 +1,16 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.point.domain.PointBatchService;
+import io.hhplus.tdd.point.domain.PointCommand;
+import io.hhplus.tdd.point.domain.PointCommandResult;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryPage;
 import io.hhplus.tdd.point.domain.PointService;
+import io.hhplus.tdd.point.domain.PointSummary;
 import io.hhplus.tdd.point.domain.TransactionType;
 import io.hhplus.tdd.point.domain.UserPoint;
 import io.hhplus.tdd.point.interfaces.PointController;
+import io.hhplus.tdd.point.lock.PointBusyException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,12 +18,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PointController.class)
@@ -29,6 +39,9 @@ class PointControllerTest {
     @MockBean
     PointService pointService;
 
+    @MockBean
+    PointBatchService pointBatchService;
+
     private static final long USER_ID = 1L;
 
     @Test
@@ -37,11 +50,16 @@ class PointControllerTest {
         // Given
         UserPoint mockUserPoint = new UserPoint(USER_ID, 1000L, System.currentTimeMillis());
 
-        when(pointService.getUserPoint(USER_ID)).thenReturn(mockUserPoint);
+        when(pointService.getUserPointAsync(USER_ID)).thenReturn(CompletableFuture.completedFuture(mockUserPoint));
 
-        // When & Then
-        mockMvc.perform(get("/point/{id}", USER_ID)
+        // When
+        MvcResult mvcResult = mockMvc.perform(get("/point/{id}", USER_ID)
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted()) // 요청 스레드를 반환하고 비동기로 처리되는지 검증
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk()) // 200 응답 검증
                 .andExpect(jsonPath("$.id").value(USER_ID))
                 .andExpect(jsonPath("$.point").value(1000L));
@@ -69,41 +87,243 @@ class PointControllerTest {
     }
 
 
+    @Test
+    @DisplayName("limit 을 주고 포인트 내역을 조회하면 페이지와 다음 커서를 200 응답으로 반환한다.")
+    void getUserPointHistoriesPage_Success() throws Exception {
+        // Given
+        PointHistory history1 = new PointHistory(1L, USER_ID, 500L, TransactionType.CHARGE, 1000L);
+        PointHistory history2 = new PointHistory(2L, USER_ID, -200L, TransactionType.USE, 2000L);
+        PointHistoryPage mockPage = new PointHistoryPage(List.of(history1, history2), 2L);
+
+        when(pointService.getUserPointHistories(USER_ID, null, 2, 1000L, null)).thenReturn(mockPage);
+
+        // When & Then
+        mockMvc.perform(get("/point/{id}/histories", USER_ID)
+                        .param("limit", "2")
+                        .param("from", "1000")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()) // 200 응답 검증
+                .andExpect(jsonPath("$.histories[0].id").value(1L))
+                .andExpect(jsonPath("$.histories[1].id").value(2L))
+                .andExpect(jsonPath("$.nextCursor").value(2L));
+    }
+
+    @Test
+    @DisplayName("기간을 주고 전체 유저의 포인트 내역을 조회하면 시각 순 페이지를 200 응답으로 반환한다.")
+    void getPointHistoriesBetween_Success() throws Exception {
+        // Given
+        PointHistory history1 = new PointHistory(3L, 2L, 500L, TransactionType.CHARGE, 1000L);
+        PointHistory history2 = new PointHistory(1L, USER_ID, -200L, TransactionType.USE, 1500L);
+        when(pointService.getPointHistoriesBetween(1000L, 2000L, null, 2))
+                .thenReturn(new PointHistoryPage(List.of(history1, history2), 1L));
+
+        // When & Then
+        mockMvc.perform(get("/point/histories")
+                        .param("from", "1000")
+                        .param("to", "2000")
+                        .param("limit", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()) // 200 응답 검증
+                .andExpect(jsonPath("$.histories[0].userId").value(2L))
+                .andExpect(jsonPath("$.histories[1].userId").value(USER_ID))
+                .andExpect(jsonPath("$.nextCursor").value(1L));
+    }
+
+    @Test
+    @DisplayName("특정 유저의 포인트 내역을 내보내면 한 줄에 내역 하나씩 NDJSON 으로 응답한다.")
+    void exportUserPointHistories_StreamsNdjson() throws Exception {
+        // Given
+        PointHistory history1 = new PointHistory(1L, USER_ID, 500L, TransactionType.CHARGE, 1000L);
+        PointHistory history2 = new PointHistory(2L, USER_ID, -200L, TransactionType.USE, 2000L);
+        when(pointService.exportUserPointHistories(USER_ID)).thenReturn(consumer -> {
+            consumer.accept(List.of(history1));
+            consumer.accept(List.of(history2));
+        });
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(get("/point/{id}/histories/export", USER_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk()) // 200 응답 검증
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("""
+                        {"id":1,"userId":1,"amount":500,"type":"CHARGE","updateMillis":1000}
+                        {"id":2,"userId":1,"amount":-200,"type":"USE","updateMillis":2000}
+                        """));
+    }
+
+    @Test
+    @DisplayName("내보내기 기간이 잘못되면 스트림을 열기 전에 400 응답을 반환한다.")
+    void exportPointHistories_FailsWhenPeriodIsInvalid() throws Exception {
+        // Given
+        when(pointService.exportPointHistories(2000L, 1000L))
+                .thenThrow(new IllegalArgumentException("조회 시작 시각은 종료 시각보다 늦을 수 없습니다."));
+
+        // When & Then
+        mockMvc.perform(get("/point/histories/export")
+                        .param("from", "2000")
+                        .param("to", "1000"))
+                .andExpect(status().isBadRequest()) // 400 응답 검증
+                .andExpect(jsonPath("$.message").value("조회 시작 시각은 종료 시각보다 늦을 수 없습니다."));
+    }
+
+    @Test
+    @DisplayName("특정 유저의 포인트 누적 집계 조회가 성공하고 200 응답을 반환한다.")
+    void getPointSummary_Success() throws Exception {
+        // Given
+        when(pointService.getPointSummary(USER_ID, false)).thenReturn(new PointSummary(USER_ID, 1_500L, 400L, 3L, 300L));
+
+        // When & Then
+        mockMvc.perform(get("/point/{id}/summary", USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk()) // 200 응답 검증
+                .andExpect(jsonPath("$.totalCharged").value(1_500L))
+                .andExpect(jsonPath("$.totalUsed").value(400L))
+                .andExpect(jsonPath("$.transactionCount").value(3L))
+                .andExpect(jsonPath("$.lastActivityMillis").value(300L));
+    }
+
     @Test
     @DisplayName("충전 금액이 0원 이하일 때 예외가 발생해 400 응답을 반환한다.")
     void chargeUserPoint_FailsWhenAmountIsZeroOrNegative() throws Exception {
         // Given
         long chargeAmount = -100L;
-        when(pointService.chargeUserPoint(USER_ID, chargeAmount))
-                .thenThrow(new IllegalArgumentException("충전 금액은 0원 이하일 수 없습니다."));
+        when(pointService.chargeUserPointAsync(USER_ID, chargeAmount, null))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("충전 금액은 0원 이하일 수 없습니다.")));
 
-        // When & Then
-        mockMvc.perform(patch("/point/{id}/charge", USER_ID)
+        // When
+        MvcResult mvcResult = mockMvc.perform(patch("/point/{id}/charge", USER_ID)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(chargeAmount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isBadRequest()) // 400 응답 검증
                 .andExpect(jsonPath("$.code").value("400"))
                 .andExpect(jsonPath("$.message").value("충전 금액은 0원 이하일 수 없습니다."));
     }
 
+    @Test
+    @DisplayName("특정 유저의 포인트 충전이 성공하고 200 응답을 반환한다.")
+    void chargeUserPoint_Success() throws Exception {
+        // Given
+        long chargeAmount = 1_000L;
+        when(pointService.chargeUserPointAsync(USER_ID, chargeAmount, null))
+                .thenReturn(CompletableFuture.completedFuture(new UserPoint(USER_ID, 1_000L, 0L)));
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(patch("/point/{id}/charge", USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.valueOf(chargeAmount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk()) // 200 응답 검증
+                .andExpect(jsonPath("$.id").value(USER_ID))
+                .andExpect(jsonPath("$.point").value(1_000L));
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key 헤더를 주고 충전하면 키와 함께 충전을 요청하고 200 응답을 반환한다.")
+    void chargeUserPoint_WithIdempotencyKey() throws Exception {
+        // Given
+        long chargeAmount = 1_000L;
+        when(pointService.chargeUserPointAsync(USER_ID, chargeAmount, "retry-key-1"))
+                .thenReturn(CompletableFuture.completedFuture(new UserPoint(USER_ID, 1_000L, 0L)));
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(patch("/point/{id}/charge", USER_ID)
+                        .header("Idempotency-Key", "retry-key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.valueOf(chargeAmount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk()) // 200 응답 검증
+                .andExpect(jsonPath("$.point").value(1_000L));
+    }
+
+    @Test
+    @DisplayName("유저의 처리 용량을 넘어 거절되면 429 응답과 Retry-After 헤더를 반환한다.")
+    void chargeUserPoint_FailsWhenUserIsBusy() throws Exception {
+        // Given
+        long chargeAmount = 1_000L;
+        when(pointService.chargeUserPointAsync(USER_ID, chargeAmount, null))
+                .thenReturn(CompletableFuture.failedFuture(new PointBusyException("요청이 몰려 처리하지 못했습니다. 잠시 후 다시 시도해주세요. ID: 1")));
+
+        // When
+        MvcResult mvcResult = mockMvc.perform(patch("/point/{id}/charge", USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.valueOf(chargeAmount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isTooManyRequests()) // 429 응답 검증
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.code").value("429"));
+    }
+
     // 추가 테스트: 포인트 사용 시 잔고 부족 예외 발생
     @Test
     @DisplayName("포인트 사용 시 잔고가 부족하면 예외가 발생해 400 응답을 반환한다.")
     void useUserPoint_FailsWhenBalanceNotEnough() throws Exception {
         // Given
         long useAmount = 1_000L;
-        when(pointService.useUserPoint(USER_ID, useAmount))
-                .thenThrow(new IllegalArgumentException("사용할 포인트가 보유한 포인트보다 많습니다."));
+        when(pointService.useUserPointAsync(USER_ID, useAmount, null))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("사용할 포인트가 보유한 포인트보다 많습니다.")));
 
-        // When & Then
-        mockMvc.perform(patch("/point/{id}/use", USER_ID)
+        // When
+        MvcResult mvcResult = mockMvc.perform(patch("/point/{id}/use", USER_ID)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(String.valueOf(useAmount)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isBadRequest()) // 400 응답 검증
                 .andExpect(jsonPath("$.code").value("400"))
                 .andExpect(jsonPath("$.message").value("사용할 포인트가 보유한 포인트보다 많습니다."));
     }
 
+    @Test
+    @DisplayName("여러 유저의 포인트를 일괄 처리하면 명령별 결과를 200 응답으로 반환한다.")
+    void batch_Success() throws Exception {
+        // Given
+        PointCommand charge = new PointCommand(USER_ID, TransactionType.CHARGE, 1000L);
+        PointCommand use = new PointCommand(2L, TransactionType.USE, 500L);
+        when(pointBatchService.execute(List.of(charge, use))).thenReturn(CompletableFuture.completedFuture(List.of(
+                PointCommandResult.success(charge, new UserPoint(USER_ID, 1000L, 0L)),
+                PointCommandResult.failure(use, "사용할 포인트가 보유한 포인트보다 많습니다.")
+        )));
 
+        // When
+        MvcResult mvcResult = mockMvc.perform(post("/point/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"userId": 1, "type": "CHARGE", "amount": 1000},
+                                 {"userId": 2, "type": "USE", "amount": 500}]
+                                """))
+                .andExpect(request().asyncStarted())
+                .andReturn();
 
-}
\ No newline at end of file
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk()) // 200 응답 검증
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].userPoint.point").value(1000L))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].error").value("사용할 포인트가 보유한 포인트보다 많습니다."));
+    }
+}
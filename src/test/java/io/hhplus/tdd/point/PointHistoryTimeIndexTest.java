@@ -0,0 +1,89 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.infrastructure.PointHistoryTimeIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointHistoryTimeIndexTest {
+
+    PointHistoryTimeIndex timeIndex = new PointHistoryTimeIndex(100L);
+
+    @Test
+    @DisplayName("여러 유저의 내역이 시각 순서와 다르게 기록되어도 기간 안의 내역을 (updateMillis, ID) 순으로 반환한다.")
+    void select_ReturnsHistoriesInTimeOrder() {
+        // given
+        timeIndex.add(history(1L, 1L, 250L));
+        timeIndex.add(history(2L, 2L, 120L));
+        timeIndex.add(history(3L, 3L, 50L));
+        timeIndex.add(history(4L, 1L, 120L));
+        timeIndex.add(history(5L, 2L, 420L));
+
+        // when
+        List<PointHistory> histories = timeIndex.select(100L, 0L, 300L, 10);
+
+        // then
+        assertThat(histories).extracting(PointHistory::id).containsExactly(2L, 4L, 1L);
+    }
+
+    @Test
+    @DisplayName("마지막 내역의 시각과 ID 로 이어서 조회하면 같은 시각의 남은 내역부터 반환한다.")
+    void select_ContinuesFromTimeAndIdCursor() {
+        // given
+        for (long id = 1; id <= 10; id++) {
+            timeIndex.add(history(id, id, 100L + (id - 1) / 2 * 50L));
+        }
+        List<PointHistory> firstPage = timeIndex.select(0L, 0L, Long.MAX_VALUE, 3);
+        PointHistory last = firstPage.get(2);
+
+        // when
+        List<PointHistory> nextPage = timeIndex.select(last.updateMillis(), last.id(), Long.MAX_VALUE, 3);
+
+        // then
+        assertThat(firstPage).extracting(PointHistory::id).containsExactly(1L, 2L, 3L);
+        assertThat(nextPage).extracting(PointHistory::id).containsExactly(4L, 5L, 6L);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 기록해도 모든 내역이 조회된다.")
+    void add_IsSafeUnderConcurrentWrites() throws InterruptedException {
+        // given
+        final int threadCount = 8;
+        final int addsPerThread = 1_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        for (int t = 0; t < threadCount; t++) {
+            long userId = t + 1;
+            executorService.submit(() -> {
+                try {
+                    for (int i = 0; i < addsPerThread; i++) {
+                        timeIndex.add(history(userId * addsPerThread + i, userId, i));
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        List<PointHistory> histories = timeIndex.select(Long.MIN_VALUE, 0L, Long.MAX_VALUE, threadCount * addsPerThread + 1);
+        assertThat(histories).hasSize(threadCount * addsPerThread);
+        assertThat(histories).isSortedAccordingTo((a, b) -> Long.compare(a.updateMillis(), b.updateMillis()));
+    }
+
+    private static PointHistory history(long id, long userId, long updateMillis) {
+        return new PointHistory(id, userId, 100L, TransactionType.CHARGE, updateMillis);
+    }
+}
@@ -0,0 +1,132 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.infrastructure.PointHistoryStore;
+import io.hhplus.tdd.point.infrastructure.PointHistoryWriter;
+import io.hhplus.tdd.point.infrastructure.TablePointHistoryStore;
+import io.hhplus.tdd.point.lock.PointBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointHistoryWriterTest {
+
+    private static final long USER_ID = 1L;
+    private static final long OTHER_USER_ID = 2L;
+
+    PointHistoryStore pointHistoryStore;
+    PointHistoryWriter pointHistoryWriter;
+
+    @BeforeEach
+    void setUp() {
+        pointHistoryStore = new TablePointHistoryStore(new PointHistoryTable());
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryStore, 2, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointHistoryWriter.close();
+    }
+
+    @Test
+    @DisplayName("flush 후 조회하면 요청한 순서대로 유저의 내역이 기록되어 있다.")
+    void flush_WritesHistoriesInOrder() {
+        // given
+        pointHistoryWriter.enqueue(USER_ID, 1000L, TransactionType.CHARGE, 1L);
+        pointHistoryWriter.enqueue(OTHER_USER_ID, 500L, TransactionType.CHARGE, 2L);
+        pointHistoryWriter.enqueue(USER_ID, -400L, TransactionType.USE, 3L);
+
+        // when
+        pointHistoryWriter.flush(USER_ID);
+
+        // then
+        List<PointHistory> histories = pointHistoryStore.selectAllByUserId(USER_ID);
+        assertThat(histories).extracting(PointHistory::amount).containsExactly(1000L, -400L);
+        assertThat(histories).extracting(PointHistory::type).containsExactly(TransactionType.CHARGE, TransactionType.USE);
+    }
+
+    @Test
+    @DisplayName("기록할 내역이 없는 유저는 flush 가 바로 반환된다.")
+    void flush_ReturnsImmediatelyWhenNothingPending() {
+        // when
+        pointHistoryWriter.flush(USER_ID);
+
+        // then
+        assertThat(pointHistoryStore.selectAllByUserId(USER_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("종료 시 남은 내역을 모두 기록하고, 이후 요청은 IllegalStateException 예외가 발생한다.")
+    void close_WritesRemainingHistories() {
+        // given
+        pointHistoryWriter.enqueue(USER_ID, 1000L, TransactionType.CHARGE, 1L);
+        pointHistoryWriter.enqueue(USER_ID, 2000L, TransactionType.CHARGE, 2L);
+
+        // when
+        pointHistoryWriter.close();
+
+        // then
+        assertThat(pointHistoryStore.selectAllByUserId(USER_ID)).hasSize(2);
+        assertThatThrownBy(() -> pointHistoryWriter.enqueue(USER_ID, 100L, TransactionType.CHARGE, 3L))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("pause 하면 resume 할 때까지 받은 내역을 기록하지 않는다.")
+    void pause_HoldsHistoriesUntilResumed() throws InterruptedException {
+        // given
+        pointHistoryWriter.pause();
+        pointHistoryWriter.enqueue(USER_ID, 1000L, TransactionType.CHARGE, 1L);
+
+        // when
+        Thread.sleep(200L);
+        List<PointHistory> whilePaused = pointHistoryStore.selectAllByUserId(USER_ID);
+        pointHistoryWriter.resume();
+        pointHistoryWriter.flush(USER_ID);
+
+        // then
+        assertThat(whilePaused).isEmpty();
+        assertThat(pointHistoryStore.selectAllByUserId(USER_ID)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("큐에 자리가 없으면 기다리지 않고 PointBusyException 으로 거절하고, 돌려받은 자리는 다시 쓸 수 있다.")
+    void reserve_RejectsWhenQueueIsFull() {
+        // given: 첫 내역 기록이 끝나지 않아 자리가 돌아오지 않는 기록기 (파티션 1개, 용량 2)
+        CountDownLatch blocked = new CountDownLatch(1);
+        PointHistoryStore blockingStore = new TablePointHistoryStore(new PointHistoryTable()) {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        };
+        PointHistoryWriter fullWriter = new PointHistoryWriter(blockingStore, 1, 2, 1);
+        fullWriter.enqueue(USER_ID, 1000L, TransactionType.CHARGE, 1L);
+        fullWriter.reserve(OTHER_USER_ID, 1);
+
+        // when & then
+        assertThatThrownBy(() -> fullWriter.enqueue(USER_ID, 2000L, TransactionType.CHARGE, 2L))
+                .isInstanceOf(PointBusyException.class);
+        fullWriter.cancel(OTHER_USER_ID, 1);
+        fullWriter.enqueue(USER_ID, 2000L, TransactionType.CHARGE, 2L);
+
+        blocked.countDown();
+        fullWriter.flush(USER_ID);
+        assertThat(blockingStore.selectAllByUserId(USER_ID)).extracting(PointHistory::amount).containsExactly(1000L, 2000L);
+        fullWriter.close();
+    }
+}
@@ -0,0 +1,40 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.PointService;
+import io.hhplus.tdd.point.domain.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "point.execution.mode=shard")
+public class PointServiceShardModeTest {
+
+    @Autowired
+    private PointService pointService;
+
+    @Test
+    @DisplayName("샤드 모드에서 동시에 요청된 같은 유저의 충전/사용은 락 없이 순차적으로 처리된다.")
+    void concurrentChargeAndUseInShardModeTest() {
+        // Given
+        final long userId = 11L;
+        final int requestCount = 5;
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>();
+
+        // When: 각 5개의 충전 및 사용을 비동기로 요청
+        for (int i = 0; i < requestCount; i++) {
+            futures.add(pointService.chargeUserPointAsync(userId, 1000L));
+            futures.add(pointService.useUserPointAsync(userId, 400L));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // Then
+        assertThat(pointService.getUserPoint(userId).point()).isEqualTo(3000L);
+    }
+}
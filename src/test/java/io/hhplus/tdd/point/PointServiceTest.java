@@ -1,20 +1,43 @@
 package io.hhplus.tdd.point;
 
 
-import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.domain.PointCommandCoalescer;
 import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointHistoryPage;
 import io.hhplus.tdd.point.domain.PointService;
+import io.hhplus.tdd.point.domain.PointSummary;
 import io.hhplus.tdd.point.domain.TransactionType;
 import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.execution.LockingPointCommandExecutor;
+import io.hhplus.tdd.point.infrastructure.IdempotencyCache;
+import io.hhplus.tdd.point.infrastructure.OptimisticUserPointStore;
+import io.hhplus.tdd.point.infrastructure.PointHistoryStore;
+import io.hhplus.tdd.point.infrastructure.PointHistoryWriter;
+import io.hhplus.tdd.point.infrastructure.PointSummaryStore;
+import io.hhplus.tdd.point.infrastructure.TableUserPointRepository;
+import io.hhplus.tdd.point.infrastructure.UserPointCache;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+import io.hhplus.tdd.point.lock.StripedLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.wal.PointTransactionLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,13 +49,51 @@ public class PointServiceTest {
     UserPointTable userPointTable;
 
     @Mock
-    PointHistoryTable pointHistoryTable;
+    PointHistoryStore pointHistoryStore;
+
+    PointHistoryWriter pointHistoryWriter;
+
+    StripedLockManager lockManager;
+
+    PointCommandCoalescer pointCommandCoalescer;
+
+    SimpleMeterRegistry meterRegistry;
+
+    PointSummaryStore pointSummaryStore;
 
-    @InjectMocks
     PointService pointService;
 
     private static final Long USER_ID = 1L;
 
+    @BeforeEach
+    void setUp() {
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryStore, 100, 1000);
+        lockManager = new StripedLockManager(16, true, new long[0]);
+        pointCommandCoalescer = new PointCommandCoalescer(256);
+        meterRegistry = new SimpleMeterRegistry();
+        pointSummaryStore = new PointSummaryStore();
+        pointService = createPointService(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointHistoryWriter.close();
+    }
+
+    private PointService createPointService(boolean optimistic) {
+        return createPointService(optimistic, PointTransactionLog.NOOP);
+    }
+
+    private PointService createPointService(boolean optimistic, PointTransactionLog pointTransactionLog) {
+        UserPointRepository userPointRepository = new TableUserPointRepository(userPointTable);
+        OptimisticUserPointStore optimisticUserPointStore = new OptimisticUserPointStore(
+                userPointRepository, pointHistoryWriter, pointTransactionLog, optimistic, 3, 8, new long[0]);
+        return new PointService(userPointRepository, pointHistoryStore, new UserPointCache(100), pointHistoryWriter,
+                new LockingPointCommandExecutor(lockManager), pointCommandCoalescer, new PointMetrics(meterRegistry),
+                optimisticUserPointStore, pointTransactionLog, new IdempotencyCache(1000, 60_000L),
+                pointSummaryStore);
+    }
+
     @Test
     @DisplayName("유저가 포인트를 조회하면 올바른 포인트가 반환된다.")
     void getUserPoint_returnCorrectUserPoint() {
@@ -51,6 +112,40 @@ public class PointServiceTest {
         verify(userPointTable).selectById(USER_ID);
     }
 
+    @Test
+    @DisplayName("한 번 조회한 유저의 포인트는 캐시에서 반환되어 테이블을 다시 조회하지 않는다.")
+    void getUserPoint_returnCachedUserPoint() {
+        // Given
+        UserPoint mockUserPoint = new UserPoint(USER_ID, 1000L, 500L);
+        when(userPointTable.selectById(USER_ID)).thenReturn(mockUserPoint);
+
+        // When
+        pointService.getUserPoint(USER_ID);
+        UserPoint result = pointService.getUserPoint(USER_ID);
+
+        // Then 두 번째 조회도 같은 포인트를 반환하고, 테이블은 한 번만 조회한다.
+        assertThat(result).isEqualTo(mockUserPoint);
+        verify(userPointTable, times(1)).selectById(USER_ID);
+    }
+
+    @Test
+    @DisplayName("포인트 충전 후 조회하면 테이블을 다시 조회하지 않고 충전된 잔액이 반환된다.")
+    void getUserPoint_returnChargedUserPointFromCache() {
+        // Given
+        UserPoint currentUserPoint = new UserPoint(USER_ID, 500L, 0L);
+        UserPoint updatedUserPoint = new UserPoint(USER_ID, 800L, System.currentTimeMillis());
+        when(userPointTable.selectById(USER_ID)).thenReturn(currentUserPoint);
+        when(userPointTable.insertOrUpdate(USER_ID, 800L)).thenReturn(updatedUserPoint);
+        pointService.chargeUserPoint(USER_ID, 300L);
+
+        // When
+        UserPoint result = pointService.getUserPoint(USER_ID);
+
+        // Then 충전 시 갱신된 캐시에서 반환되는지 검증한다.
+        assertThat(result.point()).isEqualTo(800L);
+        verify(userPointTable, times(1)).selectById(USER_ID);
+    }
+
     @Test
     @DisplayName("유저의 포인트 내역을 조회하면 올바른 내역이 반환된다.")
     void getUserPointHistories_returnCorrectHistories() {
@@ -59,7 +154,7 @@ public class PointServiceTest {
         PointHistory history2 = new PointHistory(2L, USER_ID, 200L, TransactionType.USE, 2000L);
         List<PointHistory> mockHistories = List.of(history1, history2);
 
-        when(pointHistoryTable.selectAllByUserId(USER_ID)).thenReturn(mockHistories);
+        when(pointHistoryStore.selectAllByUserId(USER_ID)).thenReturn(mockHistories);
 
         // When
         List<PointHistory> result = pointService.getUserPointHistories(USER_ID);
@@ -69,7 +164,52 @@ public class PointServiceTest {
         assertThat(result).containsExactly(history1, history2);
 
         // selectAllByUserId 메서드가 호출되었는지 행동을 검증한다.
-        verify(pointHistoryTable).selectAllByUserId(USER_ID);
+        verify(pointHistoryStore).selectAllByUserId(USER_ID);
+    }
+
+    @Test
+    @DisplayName("내역을 페이지로 조회하면 limit 건과 다음 페이지 커서가 반환된다.")
+    void getUserPointHistoriesPage_returnPageWithNextCursor() {
+        // Given
+        PointHistory history1 = new PointHistory(1L, USER_ID, 500L, TransactionType.CHARGE, 1000L);
+        PointHistory history2 = new PointHistory(2L, USER_ID, 200L, TransactionType.CHARGE, 2000L);
+        PointHistory history3 = new PointHistory(3L, USER_ID, -100L, TransactionType.USE, 3000L);
+        when(pointHistoryStore.selectByUserId(USER_ID, 0L, Long.MIN_VALUE, Long.MAX_VALUE, 3))
+                .thenReturn(List.of(history1, history2, history3));
+
+        // When
+        PointHistoryPage result = pointService.getUserPointHistories(USER_ID, null, 2, null, null);
+
+        // Then limit 건만 담고 마지막 내역 ID 를 다음 커서로 반환한다.
+        assertThat(result.histories()).containsExactly(history1, history2);
+        assertThat(result.nextCursor()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("마지막 페이지를 조회하면 다음 페이지 커서는 null 이다.")
+    void getUserPointHistoriesPage_returnNullCursorOnLastPage() {
+        // Given
+        PointHistory history3 = new PointHistory(3L, USER_ID, -100L, TransactionType.USE, 3000L);
+        when(pointHistoryStore.selectByUserId(USER_ID, 2L, Long.MIN_VALUE, Long.MAX_VALUE, 3))
+                .thenReturn(List.of(history3));
+
+        // When
+        PointHistoryPage result = pointService.getUserPointHistories(USER_ID, 2L, 2, null, null);
+
+        // Then
+        assertThat(result.histories()).containsExactly(history3);
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("페이지 크기가 최대 크기를 넘으면 IllegalArgumentException 예외가 발생한다.")
+    void getUserPointHistoriesPage_FailsWhenLimitExceedsMax() {
+        // When & Then
+        assertThatThrownBy(() -> pointService.getUserPointHistories(USER_ID, null, PointHistoryPage.MAX_LIMIT + 1, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // 이후 메서드가 호출되지 않음을 검증한다.
+        verify(pointHistoryStore, never()).selectByUserId(anyLong(), anyLong(), anyLong(), anyLong(), anyInt());
     }
 
     @Test
@@ -86,7 +226,23 @@ public class PointServiceTest {
 
         // insertOrUpdate와 insert 메서드가 호출되지 않았음을 검증한다.
         verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
-        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        verify(pointHistoryStore, never()).insert(anyLong(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("유저가 포인트를 비동기로 조회하면 조회 결과가 담긴 future 를 반환하고, 이후 조회는 캐시에서 반환된다.")
+    void getUserPointAsync_returnCorrectUserPoint() {
+        // Given
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 1000L, 500L));
+
+        // When
+        UserPoint result = pointService.getUserPointAsync(USER_ID).join();
+        CompletableFuture<UserPoint> cached = pointService.getUserPointAsync(USER_ID);
+
+        // Then
+        assertThat(result.point()).isEqualTo(1000L);
+        assertThat(cached).isCompletedWithValue(result);
+        verify(userPointTable, times(1)).selectById(USER_ID);
     }
 
     @Test
@@ -104,7 +260,7 @@ public class PointServiceTest {
 
         // insertOrUpdate와 insert 메서드가 호출되지 않았음을 검증한다.
         verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
-        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        verify(pointHistoryStore, never()).insert(anyLong(), anyLong(), any(), anyLong());
     }
 
     @Test
@@ -131,9 +287,53 @@ public class PointServiceTest {
                 .isEqualTo(updatedUserPoint);
 
 
-        // insertOrUpdate와 insert 메서드가 호출되었음을 검증한다.
+        // insertOrUpdate와 insert 메서드가 호출되었음을 검증한다. (내역은 비동기로 기록되므로 반영을 기다린다.)
+        pointHistoryWriter.flush(USER_ID);
         verify(userPointTable).insertOrUpdate(USER_ID, expectedNewPoint);
-        verify(pointHistoryTable).insert(eq(USER_ID), eq(chargeAmount), eq(TransactionType.CHARGE), anyLong());
+        verify(pointHistoryStore).insert(eq(USER_ID), eq(chargeAmount), eq(TransactionType.CHARGE), anyLong());
+    }
+
+    @Test
+    @DisplayName("같은 유저에 대해 대기 중인 충전/사용 요청은 한 번의 조회와 한 번의 저장으로 묶여 처리되고, 실패한 요청만 개별 실패한다.")
+    void chargeAndUse_CoalescesPendingCommands() throws Exception {
+        // Given
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 999_000L, 0L));
+        when(userPointTable.insertOrUpdate(USER_ID, 999_300L)).thenReturn(new UserPoint(USER_ID, 999_300L, 0L));
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+        List<Future<UserPoint>> results = new ArrayList<>();
+
+        // When: 유저 락을 잡은 동안 요청 3건이 도착 순서대로 대기열에 쌓인 뒤 락을 놓는다.
+        lockManager.executeWithLock(USER_ID, () -> {
+            results.add(executorService.submit(() -> pointService.chargeUserPoint(USER_ID, 500L)));
+            awaitPending(1);
+            results.add(executorService.submit(() -> pointService.chargeUserPoint(USER_ID, 1_000L)));
+            awaitPending(2);
+            results.add(executorService.submit(() -> pointService.useUserPoint(USER_ID, 200L)));
+            awaitPending(3);
+            return null;
+        });
+
+        // Then 요청별 결과: 충전 성공, 최대 잔고 초과로 실패, 사용 성공
+        assertThat(results.get(0).get().point()).isEqualTo(999_500L);
+        assertThatThrownBy(() -> results.get(1).get())
+                .hasCauseInstanceOf(IllegalArgumentException.class)
+                .hasRootCauseMessage("포인트 충전은 최대 잔고를 초과할 수 없습니다.");
+        assertThat(results.get(2).get().point()).isEqualTo(999_300L);
+        executorService.shutdown();
+
+        // 조회와 저장은 한 번씩만, 내역은 성공한 요청마다 기록되었음을 검증한다.
+        pointHistoryWriter.flush(USER_ID);
+        verify(userPointTable, times(1)).selectById(USER_ID);
+        verify(userPointTable, times(1)).insertOrUpdate(anyLong(), anyLong());
+        verify(pointHistoryStore).insert(eq(USER_ID), eq(500L), eq(TransactionType.CHARGE), anyLong());
+        verify(pointHistoryStore).insert(eq(USER_ID), eq(-200L), eq(TransactionType.USE), anyLong());
+        verify(pointHistoryStore, times(2)).insert(anyLong(), anyLong(), any(), anyLong());
+    }
+
+    private void awaitPending(int count) {
+        while (pointCommandCoalescer.pendingCount(USER_ID) < count) {
+            Thread.onSpinWait();
+        }
     }
 
     @Test
@@ -150,7 +350,90 @@ public class PointServiceTest {
 
         // 이후 메서드가 호출되지 않음을 검증한다.
         verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
-        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        verify(pointHistoryStore, never()).insert(anyLong(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("낙관적 모드에서 충전/사용하면 버전 비교 후 반영되고, 조회는 반영된 최신 값을 반환한다.")
+    void chargeAndUse_OptimisticMode() {
+        // Given
+        PointService optimisticPointService = createPointService(true);
+        AtomicReference<UserPoint> stored = new AtomicReference<>(new UserPoint(USER_ID, 1_000L, 0L));
+        when(userPointTable.selectById(USER_ID)).thenAnswer(invocation -> stored.get());
+        when(userPointTable.insertOrUpdate(eq(USER_ID), anyLong())).thenAnswer(invocation -> {
+            UserPoint saved = new UserPoint(USER_ID, invocation.getArgument(1), System.currentTimeMillis());
+            stored.set(saved);
+            return saved;
+        });
+
+        // When
+        optimisticPointService.chargeUserPoint(USER_ID, 500L);
+        UserPoint result = optimisticPointService.useUserPoint(USER_ID, 300L);
+
+        // Then
+        assertThat(result.point()).isEqualTo(1_200L);
+        assertThat(optimisticPointService.getUserPoint(USER_ID).point()).isEqualTo(1_200L);
+        verify(userPointTable).insertOrUpdate(USER_ID, 1_500L);
+        verify(userPointTable).insertOrUpdate(USER_ID, 1_200L);
+        pointHistoryWriter.flush(USER_ID);
+        verify(pointHistoryStore).insert(eq(USER_ID), eq(500L), eq(TransactionType.CHARGE), anyLong());
+        verify(pointHistoryStore).insert(eq(USER_ID), eq(-300L), eq(TransactionType.USE), anyLong());
+    }
+
+    @Test
+    @DisplayName("충전은 잔고를 저장하기 전에 트랜잭션 로그에 남기고 디스크 반영을 기다린다.")
+    void chargeUserPoint_AppendsTransactionLogBeforeSaving() {
+        // Given
+        PointTransactionLog pointTransactionLog = mock(PointTransactionLog.class);
+        PointService loggingPointService = createPointService(false, pointTransactionLog);
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 1_000L, 0L));
+        when(userPointTable.insertOrUpdate(USER_ID, 1_500L)).thenReturn(new UserPoint(USER_ID, 1_500L, 0L));
+        when(pointTransactionLog.append(eq(USER_ID), eq(TransactionType.CHARGE), eq(500L), eq(1_500L), anyLong())).thenReturn(7L);
+
+        // When
+        loggingPointService.chargeUserPoint(USER_ID, 500L);
+
+        // Then
+        InOrder inOrder = inOrder(pointTransactionLog, userPointTable);
+        inOrder.verify(pointTransactionLog).append(eq(USER_ID), eq(TransactionType.CHARGE), eq(500L), eq(1_500L), anyLong());
+        inOrder.verify(pointTransactionLog).awaitDurable(7L);
+        inOrder.verify(userPointTable).insertOrUpdate(USER_ID, 1_500L);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 로그의 디스크 반영 대기가 실패하면 충전은 실패하고 잔고와 내역에 반영하지 않는다.")
+    void chargeUserPoint_FailsWhenAwaitDurableFails() {
+        // Given
+        PointTransactionLog pointTransactionLog = mock(PointTransactionLog.class);
+        PointService loggingPointService = createPointService(false, pointTransactionLog);
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 1_000L, 0L));
+        when(pointTransactionLog.append(eq(USER_ID), eq(TransactionType.CHARGE), eq(500L), eq(1_500L), anyLong())).thenReturn(7L);
+        doThrow(new IllegalStateException("flush 실패")).when(pointTransactionLog).awaitDurable(7L);
+
+        // When & Then
+        assertThatThrownBy(() -> loggingPointService.chargeUserPoint(USER_ID, 500L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("flush 실패");
+        assertThat(loggingPointService.getUserPoint(USER_ID).point()).isEqualTo(1_000L);
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        pointHistoryWriter.flush(USER_ID);
+        verify(pointHistoryStore, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        assertThat(pointSummaryStore.get(USER_ID).transactionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("트랜잭션 로그 없이 잔고 저장이 실패하면 충전은 실패하고 내역과 누적 집계를 남기지 않는다.")
+    void chargeUserPoint_FailsWithoutHistoryWhenSaveFails() {
+        // Given
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 1_000L, 0L));
+        when(userPointTable.insertOrUpdate(USER_ID, 1_500L)).thenThrow(new IllegalStateException("저장 실패"));
+
+        // When & Then
+        assertThatThrownBy(() -> pointService.chargeUserPoint(USER_ID, 500L))
+                .isInstanceOf(IllegalStateException.class);
+        pointHistoryWriter.flush(USER_ID);
+        verify(pointHistoryStore, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        assertThat(pointSummaryStore.get(USER_ID).transactionCount()).isZero();
     }
 
     @Test
@@ -168,7 +451,23 @@ public class PointServiceTest {
 
         // 이후 메서드가 호출되지 않음을 검증한다.
         verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
-        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        verify(pointHistoryStore, never()).insert(anyLong(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("충전/사용 정책에 걸린 요청은 거절 지표로 집계되고, 처리 시간은 메서드별로 기록된다.")
+    void useUserPoint_RecordsRejectedAndTimerMetrics() {
+        // Given
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 500L, 0L));
+
+        // When
+        assertThatThrownBy(() -> pointService.useUserPoint(USER_ID, 1_000L))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // Then
+        assertThat(meterRegistry.get("point.rejected").tag("type", "use").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("point.rejected").tag("type", "charge").counter().count()).isZero();
+        assertThat(meterRegistry.get("point.service").tag("method", "useUserPoint").timer().count()).isEqualTo(1L);
     }
 
     @Test
@@ -194,9 +493,89 @@ public class PointServiceTest {
                 .ignoringFields("updateMillis")
                 .isEqualTo(updatedUserPoint);
 
-        // 이후 메서드가 호출됨을 검증한다.
+        // 이후 메서드가 호출됨을 검증한다. (내역은 비동기로 기록되므로 반영을 기다린다.)
+        pointHistoryWriter.flush(USER_ID);
         verify(userPointTable).insertOrUpdate(USER_ID, expectedNewPoint);
-        verify(pointHistoryTable).insert(eq(USER_ID), eq(-useAmount), eq(TransactionType.USE), anyLong());
+        verify(pointHistoryStore).insert(eq(USER_ID), eq(-useAmount), eq(TransactionType.USE), anyLong());
+    }
+
+    @Test
+    @DisplayName("전체 유저의 내역을 기간으로 조회하면 limit 건을 넘는 다음 내역이 있을 때 커서를 함께 반환한다.")
+    void getPointHistoriesBetween_ReturnsPageWithCursor() {
+        // Given
+        when(pointHistoryStore.selectByUpdateMillis(1_000L, 0L, Long.MAX_VALUE, 3)).thenReturn(List.of(
+                new PointHistory(5L, 2L, 500L, TransactionType.CHARGE, 1_000L),
+                new PointHistory(2L, USER_ID, 300L, TransactionType.CHARGE, 1_200L),
+                new PointHistory(7L, 3L, -100L, TransactionType.USE, 1_300L)
+        ));
+
+        // When
+        PointHistoryPage page = pointService.getPointHistoriesBetween(1_000L, null, null, 2);
+
+        // Then
+        assertThat(page.histories()).extracting(PointHistory::id).containsExactly(5L, 2L);
+        assertThat(page.nextCursor()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("특정 유저의 내역을 내보내면 저장소를 커서로 이어 읽으며 청크 단위로 전달한다.")
+    void exportUserPointHistories_ReadsChunksWithCursor() throws Exception {
+        // Given
+        List<PointHistory> firstChunk = new ArrayList<>();
+        for (long id = 1; id <= PointHistoryPage.MAX_LIMIT; id++) {
+            firstChunk.add(new PointHistory(id, USER_ID, 100L, TransactionType.CHARGE, id));
+        }
+        PointHistory last = new PointHistory(PointHistoryPage.MAX_LIMIT + 1, USER_ID, 100L, TransactionType.CHARGE, 5_000L);
+        when(pointHistoryStore.selectByUserId(USER_ID, 0L, Long.MIN_VALUE, Long.MAX_VALUE, PointHistoryPage.MAX_LIMIT)).thenReturn(firstChunk);
+        when(pointHistoryStore.selectByUserId(USER_ID, PointHistoryPage.MAX_LIMIT, Long.MIN_VALUE, Long.MAX_VALUE, PointHistoryPage.MAX_LIMIT))
+                .thenReturn(List.of(last));
+        List<Integer> chunkSizes = new ArrayList<>();
+
+        // When
+        pointService.exportUserPointHistories(USER_ID).forEachChunk(chunk -> chunkSizes.add(chunk.size()));
+
+        // Then
+        assertThat(chunkSizes).containsExactly(PointHistoryPage.MAX_LIMIT, 1);
+        verify(pointHistoryStore, never()).selectAllByUserId(anyLong());
+    }
+
+    @Test
+    @DisplayName("충전/사용을 반영하면 누적 집계가 갱신되고, 집계 조회는 내역을 읽지 않는다.")
+    void getPointSummary_ReturnsRunningAggregates() {
+        // Given
+        when(userPointTable.selectById(USER_ID)).thenReturn(new UserPoint(USER_ID, 0L, 0L));
+        when(userPointTable.insertOrUpdate(eq(USER_ID), anyLong()))
+                .thenAnswer(invocation -> new UserPoint(USER_ID, invocation.getArgument(1), System.currentTimeMillis()));
+        pointService.chargeUserPoint(USER_ID, 1_000L);
+        UserPoint used = pointService.useUserPoint(USER_ID, 300L);
+
+        // When
+        PointSummary summary = pointService.getPointSummary(USER_ID, false);
+
+        // Then
+        assertThat(summary.totalCharged()).isEqualTo(1_000L);
+        assertThat(summary.totalUsed()).isEqualTo(300L);
+        assertThat(summary.transactionCount()).isEqualTo(2L);
+        assertThat(summary.lastActivityMillis()).isEqualTo(used.updateMillis());
+        verify(pointHistoryStore, never()).selectAllByUserId(anyLong());
+    }
+
+    @Test
+    @DisplayName("rebuild 로 조회하면 전체 내역으로 누적 집계를 다시 계산한다.")
+    void getPointSummary_RebuildsFromHistories() {
+        // Given
+        when(pointHistoryStore.selectAllByUserId(USER_ID)).thenReturn(List.of(
+                new PointHistory(1L, USER_ID, 1_000L, TransactionType.CHARGE, 100L),
+                new PointHistory(2L, USER_ID, -400L, TransactionType.USE, 200L),
+                new PointHistory(3L, USER_ID, 500L, TransactionType.CHARGE, 300L)
+        ));
+
+        // When
+        PointSummary rebuilt = pointService.getPointSummary(USER_ID, true);
+
+        // Then
+        assertThat(rebuilt).isEqualTo(new PointSummary(USER_ID, 1_500L, 400L, 3L, 300L));
+        assertThat(pointService.getPointSummary(USER_ID, false)).isEqualTo(rebuilt);
     }
 
     @Test
@@ -226,6 +605,6 @@ public class PointServiceTest {
                 .hasMessage("유효하지 않은 유저 ID입니다. ID: " + invalidId);
 
         // 이후 메서드가 호출되지 않음을 검증한다.
-        verify(pointHistoryTable, never()).selectAllByUserId(anyLong());
+        verify(pointHistoryStore, never()).selectAllByUserId(anyLong());
     }
 }
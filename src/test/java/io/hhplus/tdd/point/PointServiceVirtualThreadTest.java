@@ -0,0 +1,53 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.PointService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+class PointServiceVirtualThreadTest {
+
+    private static final long USER_ID = 1L;
+
+    @Autowired
+    private PointService pointService;
+
+    @Test
+    @DisplayName("가상 스레드에서 같은 유저에게 동시에 충전해도 캐리어 스레드를 붙잡지(pinning) 않고 모두 반영된다.")
+    void chargeUserPoint_OnVirtualThreads_DoesNotPinCarrierThread() throws Exception {
+        // Given
+        final int threadCount = 20;
+        final long amount = 100L;
+        Path recordingFile = Files.createTempFile("virtual-thread-pinned", ".jfr");
+
+        // When: 유저 락을 잡은 채 테이블 지연(sleep)을 기다리는 요청을 가상 스레드로 동시에 보낸다.
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            recording.start();
+            try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < threadCount; i++) {
+                    executorService.submit(() -> pointService.chargeUserPoint(USER_ID, amount));
+                }
+            }
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        // Then
+        assertThat(RecordingFile.readAllEvents(recordingFile)).isEmpty();
+        assertThat(pointService.getUserPoint(USER_ID).point()).isEqualTo(threadCount * amount);
+        Files.deleteIfExists(recordingFile);
+    }
+}
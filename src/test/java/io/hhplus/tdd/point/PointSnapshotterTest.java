@@ -0,0 +1,229 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.PointSummary;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.infrastructure.ColumnarPointHistoryStore;
+import io.hhplus.tdd.point.infrastructure.PointHistoryStore;
+import io.hhplus.tdd.point.infrastructure.PointHistoryWriter;
+import io.hhplus.tdd.point.infrastructure.PointSummaryStore;
+import io.hhplus.tdd.point.infrastructure.PrimitiveUserPointRepository;
+import io.hhplus.tdd.point.infrastructure.TableUserPointRepository;
+import io.hhplus.tdd.point.infrastructure.UserPointRepository;
+import io.hhplus.tdd.point.wal.Durability;
+import io.hhplus.tdd.point.wal.MappedPointTransactionLog;
+import io.hhplus.tdd.point.wal.PointRecovery;
+import io.hhplus.tdd.point.wal.PointSnapshotStore;
+import io.hhplus.tdd.point.wal.PointSnapshotter;
+import io.hhplus.tdd.point.wal.PointTransaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointSnapshotterTest {
+
+    @TempDir
+    Path directory;
+
+    MappedPointTransactionLog pointTransactionLog;
+
+    PointSnapshotStore pointSnapshotStore;
+
+    PointSnapshotter pointSnapshotter;
+
+    List<PointHistoryWriter> pointHistoryWriters = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        pointTransactionLog = new MappedPointTransactionLog(directory.resolve("wal"), 4096, Durability.PER_OP, 5);
+        // 청크를 작게 잡아 여러 청크에 걸쳐 쓰고 읽게 한다.
+        pointSnapshotStore = new PointSnapshotStore(directory.resolve("snapshot"), 2, 2);
+        pointSnapshotter = new PointSnapshotter(pointTransactionLog, pointSnapshotStore, 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointHistoryWriters.forEach(PointHistoryWriter::close);
+        pointSnapshotter.close();
+        pointTransactionLog.close();
+    }
+
+    @Test
+    @DisplayName("스냅샷은 직전 스냅샷에 그 뒤의 로그를 합쳐 유저별 마지막 잔고를 담는다.")
+    void snapshot_MergesPreviousSnapshotWithLog() {
+        // given
+        append(3L, TransactionType.CHARGE, 300L, 300L, 1L);
+        append(1L, TransactionType.CHARGE, 100L, 100L, 2L);
+        pointSnapshotter.snapshot();
+        append(2L, TransactionType.CHARGE, 200L, 200L, 3L);
+        append(1L, TransactionType.USE, 50L, 50L, 4L);
+
+        // when
+        long lsn = pointSnapshotter.snapshot();
+
+        // then
+        record Balance(long userId, long point, long updateMillis) {
+        }
+        List<Balance> balances = new ArrayList<>();
+        long loadedLsn = pointSnapshotStore.forEach((userId, point, updateMillis) -> balances.add(new Balance(userId, point, updateMillis)));
+        assertThat(lsn).isEqualTo(4L);
+        assertThat(loadedLsn).isEqualTo(4L);
+        assertThat(balances).containsExactly(
+                new Balance(1L, 50L, 4L),
+                new Balance(2L, 200L, 3L),
+                new Balance(3L, 300L, 1L)
+        );
+    }
+
+    @Test
+    @DisplayName("복구는 스냅샷의 잔고를 되살리고, 스냅샷 이후의 로그만 다시 적용해 내역을 남긴다.")
+    void recover_LoadsSnapshotAndReplaysTail() {
+        // given
+        append(1L, TransactionType.CHARGE, 1_000L, 1_000L, 1L);
+        append(2L, TransactionType.CHARGE, 500L, 500L, 2L);
+        pointSnapshotter.snapshot();
+        append(1L, TransactionType.USE, 300L, 700L, 3L);
+        PrimitiveUserPointRepository userPointRepository = new PrimitiveUserPointRepository(4, 16);
+        ColumnarPointHistoryStore pointHistoryStore = new ColumnarPointHistoryStore();
+
+        // when
+        PointRecovery pointRecovery = recovery(userPointRepository, pointHistoryStore, new PointSummaryStore());
+        PointRecovery.Result result = pointRecovery.recover();
+        pointRecovery.historiesRestored().join();
+
+        // then
+        assertThat(result.snapshotLsn()).isEqualTo(2L);
+        assertThat(result.restoredUsers()).isEqualTo(2L);
+        assertThat(result.replayedTransactions()).isEqualTo(1L);
+        assertThat(userPointRepository.selectById(1L)).isEqualTo(new UserPoint(1L, 700L, 3L));
+        assertThat(userPointRepository.selectById(2L)).isEqualTo(new UserPoint(2L, 500L, 2L));
+        assertThat(pointHistoryStore.selectAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(1_000L, -300L);
+    }
+
+    @Test
+    @DisplayName("스냅샷으로 지운 로그 구간의 내역과 집계도 재시작 후 lsn 순서대로 복구된다.")
+    void recover_RestoresHistoriesAndSummariesBeforeSnapshot() {
+        // given
+        append(1L, TransactionType.CHARGE, 1_000L, 1_000L, 1L);
+        append(1L, TransactionType.USE, 200L, 800L, 2L);
+        pointSnapshotter.snapshot();
+        append(1L, TransactionType.CHARGE, 50L, 850L, 3L);
+        pointSnapshotter.snapshot();
+        append(1L, TransactionType.USE, 300L, 550L, 4L);
+        ColumnarPointHistoryStore pointHistoryStore = new ColumnarPointHistoryStore();
+        PointSummaryStore pointSummaryStore = new PointSummaryStore();
+
+        // when
+        PointRecovery pointRecovery = recovery(new PrimitiveUserPointRepository(4, 16), pointHistoryStore, pointSummaryStore);
+        PointRecovery.Result result = pointRecovery.recover();
+        long restoredHistories = pointRecovery.historiesRestored().join();
+
+        // then
+        assertThat(result.snapshotLsn()).isEqualTo(3L);
+        assertThat(result.replayedTransactions()).isEqualTo(1L);
+        assertThat(restoredHistories).isEqualTo(4L);
+        assertThat(pointHistoryStore.selectAllByUserId(1L)).extracting(PointHistory::amount)
+                .containsExactly(1_000L, -200L, 50L, -300L);
+        assertThat(pointSummaryStore.get(1L)).isEqualTo(PointSummary.of(1L, pointHistoryStore.selectAllByUserId(1L)));
+    }
+
+    @Test
+    @DisplayName("테이블 잔고 저장소로 복구해도 잔고의 저장 시각은 로그에 남은 시각을 유지한다.")
+    void recover_KeepsUpdateMillisInTableRepository() {
+        // given
+        append(1L, TransactionType.CHARGE, 1_000L, 1_000L, 7L);
+        TableUserPointRepository userPointRepository = new TableUserPointRepository(new UserPointTable());
+
+        // when
+        recovery(userPointRepository, new ColumnarPointHistoryStore(), new PointSummaryStore()).recover();
+
+        // then
+        assertThat(userPointRepository.selectById(1L)).isEqualTo(new UserPoint(1L, 1_000L, 7L));
+        assertThat(userPointRepository.insertOrUpdate(1L, 500L).updateMillis()).isNotEqualTo(7L);
+        assertThat(userPointRepository.selectById(1L).updateMillis()).isNotEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("내역 복구가 끝나기 전에 들어온 새 내역은 복구한 내역 뒤에 기록되고, 그동안 내역 조회는 기다린다.")
+    void recover_WritesNewHistoriesAfterRestoredHistories() {
+        // given
+        append(1L, TransactionType.CHARGE, 1_000L, 1_000L, 1L);
+        pointSnapshotter.snapshot();
+        ColumnarPointHistoryStore pointHistoryStore = new ColumnarPointHistoryStore();
+        PointRecovery pointRecovery = recovery(new PrimitiveUserPointRepository(4, 16), pointHistoryStore, new PointSummaryStore());
+
+        // when
+        pointRecovery.recover();
+        pointHistoryWriters.get(0).enqueue(1L, -100L, TransactionType.USE, 2L);
+        pointHistoryWriters.get(0).flush(1L);
+
+        // then
+        assertThat(pointRecovery.historiesRestored()).isCompleted();
+        assertThat(pointHistoryStore.selectAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(1_000L, -100L);
+    }
+
+    @Test
+    @DisplayName("내역 보관 파일이 정해진 개수를 넘으면 하나로 합치고, 보관 기간이 지난 내역은 버린다.")
+    void compactHistory_MergesArchivesAndDropsExpiredHistories() {
+        // given
+        PointSnapshotStore compacting = new PointSnapshotStore(directory.resolve("compact"), 2, 2, 2, 60_000L);
+        long now = System.currentTimeMillis();
+        archive(compacting, 1L, now - 120_000L);
+        archive(compacting, 2L, now);
+        archive(compacting, 3L, now);
+
+        // when
+        boolean compacted = compacting.compactHistory();
+
+        // then
+        List<Long> lsns = new ArrayList<>();
+        compacting.forEachHistory(3L, transaction -> lsns.add(transaction.lsn()));
+        assertThat(compacted).isTrue();
+        assertThat(lsns).containsExactly(2L, 3L);
+        assertThat(directory.resolve("compact").toFile().list((dir, name) -> name.endsWith(".hist"))).hasSize(1);
+        assertThat(compacting.compactHistory()).isFalse();
+    }
+
+    @Test
+    @DisplayName("스냅샷 이후 새로 반영된 로그가 없으면 스냅샷을 다시 만들지 않는다.")
+    void snapshot_SkipsWhenNothingChanged() {
+        // given
+        append(1L, TransactionType.CHARGE, 100L, 100L, 1L);
+        long first = pointSnapshotter.snapshot();
+
+        // when
+        long second = pointSnapshotter.snapshot();
+
+        // then
+        assertThat(second).isEqualTo(first);
+    }
+
+    private PointRecovery recovery(UserPointRepository userPointRepository, PointHistoryStore pointHistoryStore,
+                                   PointSummaryStore pointSummaryStore) {
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryStore, 10, 100);
+        pointHistoryWriters.add(pointHistoryWriter);
+        return new PointRecovery(userPointRepository, pointHistoryStore, pointHistoryWriter, pointSummaryStore,
+                pointTransactionLog, pointSnapshotStore, 2);
+    }
+
+    private static void archive(PointSnapshotStore store, long lsn, long updateMillis) {
+        try (PointSnapshotStore.HistoryWriter writer = store.beginHistory(lsn)) {
+            writer.add(new PointTransaction(lsn, 1L, TransactionType.CHARGE, 10L, 10L * lsn, updateMillis));
+            writer.commit();
+        }
+    }
+
+    private void append(long userId, TransactionType type, long amount, long point, long updateMillis) {
+        pointTransactionLog.awaitDurable(pointTransactionLog.append(userId, type, amount, point, updateMillis));
+    }
+}
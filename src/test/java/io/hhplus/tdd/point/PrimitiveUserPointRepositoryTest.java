@@ -0,0 +1,134 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.infrastructure.PrimitiveUserPointRepository;
+import io.hhplus.tdd.point.infrastructure.VersionedUserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrimitiveUserPointRepositoryTest {
+
+    @Test
+    @DisplayName("저장한 적 없는 유저를 조회하면 0 포인트를 반환한다.")
+    void selectById_ReturnsEmptyWhenNotStored() {
+        // given
+        PrimitiveUserPointRepository repository = new PrimitiveUserPointRepository(4, 16);
+
+        // when
+        UserPoint userPoint = repository.selectById(1L);
+
+        // then
+        assertThat(userPoint.id()).isEqualTo(1L);
+        assertThat(userPoint.point()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 유저에게 다시 저장하면 잔고와 저장 시각을 덮어쓴다.")
+    void insertOrUpdate_OverwritesExistingUser() {
+        // given
+        PrimitiveUserPointRepository repository = new PrimitiveUserPointRepository(4, 16);
+        repository.insertOrUpdate(1L, 1_000L);
+
+        // when
+        UserPoint updated = repository.insertOrUpdate(1L, 300L);
+
+        // then
+        assertThat(repository.selectById(1L)).isEqualTo(updated);
+        assertThat(repository.selectById(1L).point()).isEqualTo(300L);
+        assertThat(repository.size()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("초기 용량보다 많은 유저를 저장해도 모든 유저의 잔고를 그대로 조회한다.")
+    void insertOrUpdate_GrowsBeyondInitialCapacity() {
+        // given
+        PrimitiveUserPointRepository repository = new PrimitiveUserPointRepository(4, 16);
+
+        // when
+        for (long id = 1; id <= 10_000; id++) {
+            repository.insertOrUpdate(id, id * 10);
+        }
+
+        // then
+        assertThat(repository.size()).isEqualTo(10_000L);
+        for (long id = 1; id <= 10_000; id++) {
+            assertThat(repository.selectById(id).point()).isEqualTo(id * 10);
+        }
+    }
+
+    @Test
+    @DisplayName("저장된 버전이 기대한 버전일 때만 조건부 저장이 반영되고 버전이 하나 오른다.")
+    void compareAndSet_SavesOnlyWhenVersionMatches() {
+        // given
+        PrimitiveUserPointRepository repository = new PrimitiveUserPointRepository(4, 16);
+        assertThat(repository.selectVersionedById(1L).version()).isZero();
+        repository.insertOrUpdate(1L, 1_000L);
+
+        // when
+        List<UserPoint> onSaved = new ArrayList<>();
+        VersionedUserPoint stale = repository.compareAndSet(1L, 0L, 9_999L, onSaved::add);
+        VersionedUserPoint saved = repository.compareAndSet(1L, 1L, 1_500L, onSaved::add);
+
+        // then
+        assertThat(stale).isNull();
+        assertThat(onSaved).containsExactly(saved.userPoint());
+        assertThat(saved.version()).isEqualTo(2L);
+        assertThat(repository.selectVersionedById(1L)).isEqualTo(saved);
+        assertThat(repository.selectById(1L).point()).isEqualTo(1_500L);
+    }
+
+    @Test
+    @DisplayName("유효하지 않은 유저 ID 로 저장하면 IllegalArgumentException 예외가 발생한다.")
+    void insertOrUpdate_FailsWhenIdIsInvalid() {
+        // given
+        PrimitiveUserPointRepository repository = new PrimitiveUserPointRepository(4, 16);
+
+        // when & then
+        assertThatThrownBy(() -> repository.insertOrUpdate(0L, 100L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("유효하지 않은 유저 ID입니다. ID: 0");
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 저장하고 조회해도 저장된 잔고만 읽힌다.")
+    void concurrentInsertAndSelect() throws InterruptedException {
+        // given
+        PrimitiveUserPointRepository repository = new PrimitiveUserPointRepository(4, 16);
+        final int threadCount = 8;
+        final int usersPerThread = 5_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+
+        // when
+        for (int t = 0; t < threadCount; t++) {
+            long base = (long) t * usersPerThread;
+            executorService.submit(() -> {
+                try {
+                    for (long id = base + 1; id <= base + usersPerThread; id++) {
+                        repository.insertOrUpdate(id, id);
+                        assertThat(repository.selectById(id).point()).isEqualTo(id);
+                    }
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+        countDownLatch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(repository.size()).isEqualTo((long) threadCount * usersPerThread);
+        for (long id = 1; id <= (long) threadCount * usersPerThread; id++) {
+            assertThat(repository.selectById(id).point()).isEqualTo(id);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.lock.DistributedLockClient.LockLease;
+import io.hhplus.tdd.point.lock.DistributedLockManager;
+import io.hhplus.tdd.point.lock.PointBusyException;
+import io.hhplus.tdd.point.lock.RedissonDistributedLockClient;
+import io.hhplus.tdd.point.lock.StripedLockManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 실제 Redis(컨테이너)에 RedissonDistributedLockClient 의 Lua 스크립트와 RBatch 를 실행한다. Docker 가 없으면 건너뛴다.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedissonDistributedLockClientTest {
+
+    private static final String KEY = "point:lock:1";
+    private static final String OTHER_KEY = "point:lock:2";
+
+    @Container
+    static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    static RedissonClient redissonClient;
+
+    RedissonDistributedLockClient client;
+
+    @BeforeAll
+    static void connect() {
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://" + redis.getHost() + ":" + redis.getMappedPort(6379));
+        redissonClient = Redisson.create(config);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        redissonClient.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redissonClient.getKeys().flushall();
+        client = new RedissonDistributedLockClient(redissonClient);
+    }
+
+    @Test
+    @DisplayName("한 번의 요청으로 여러 lease 를 잡고, 다른 owner 가 잡은 lease 는 실패로 돌려준다.")
+    void tryAcquire_ReturnsResultPerLeaseInOrder() {
+        // given
+        client.tryAcquire(List.of(new LockLease(KEY, "a")), 30_000L);
+
+        // when
+        boolean[] acquired = client.tryAcquire(List.of(new LockLease(KEY, "b"), new LockLease(OTHER_KEY, "b")), 30_000L);
+
+        // then
+        assertThat(acquired).containsExactly(false, true);
+        assertThat(redissonClient.getBucket(KEY, StringCodec.INSTANCE).get()).isEqualTo("a");
+    }
+
+    @Test
+    @DisplayName("같은 owner 가 다시 잡으면 만료 시간을 연장하고, 만료된 lease 는 다른 owner 가 잡을 수 있다.")
+    void tryAcquire_RenewsOwnLeaseAndTakesExpiredLease() throws InterruptedException {
+        // given
+        client.tryAcquire(List.of(new LockLease(KEY, "a")), 100L);
+
+        // when
+        boolean[] renewed = client.tryAcquire(List.of(new LockLease(KEY, "a")), 30_000L);
+        long ttl = redissonClient.getBucket(KEY).remainTimeToLive();
+        client.tryAcquire(List.of(new LockLease(OTHER_KEY, "a")), 100L);
+        Thread.sleep(200L);
+
+        // then
+        assertThat(renewed).containsExactly(true);
+        assertThat(ttl).isGreaterThan(1_000L);
+        assertThat(client.tryAcquire(List.of(new LockLease(OTHER_KEY, "b")), 30_000L)).containsExactly(true);
+    }
+
+    @Test
+    @DisplayName("해제는 같은 owner 의 lease 만 지운다.")
+    void release_DeletesOnlyOwnLease() {
+        // given
+        client.tryAcquire(List.of(new LockLease(KEY, "a")), 30_000L);
+
+        // when
+        client.release(List.of(new LockLease(KEY, "b")));
+        boolean[] whileHeld = client.tryAcquire(List.of(new LockLease(KEY, "b")), 30_000L);
+        client.release(List.of(new LockLease(KEY, "a")));
+
+        // then
+        assertThat(whileHeld).containsExactly(false);
+        assertThat(client.tryAcquire(List.of(new LockLease(KEY, "b")), 30_000L)).containsExactly(true);
+    }
+
+    @Test
+    @DisplayName("두 인스턴스가 Redis lease 를 함께 쓰면, 한쪽이 잡고 있는 유저의 작업은 다른 쪽에서 거절되고 해제 후에는 실행된다.")
+    void distributedLockManager_ExcludesAcrossInstances() {
+        // given
+        DistributedLockManager nodeA = new DistributedLockManager(new StripedLockManager(16, true, new long[0]),
+                client, "point:lock:", 30_000L, 1_000L, 0L, System::currentTimeMillis, false);
+        DistributedLockManager nodeB = new DistributedLockManager(new StripedLockManager(16, true, new long[0]),
+                client, "point:lock:", 30_000L, 1_000L, 0L, System::currentTimeMillis, false);
+        nodeA.executeWithLock(1L, () -> null);
+
+        // when & then
+        assertThatThrownBy(() -> nodeB.executeWithLock(1L, () -> null)).isInstanceOf(PointBusyException.class);
+        nodeA.close();
+        assertThat(nodeB.executeWithLock(1L, () -> "ok")).isEqualTo("ok");
+        nodeB.close();
+    }
+}
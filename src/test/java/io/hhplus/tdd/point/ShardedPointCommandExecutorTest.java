@@ -0,0 +1,105 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.execution.ShardedPointCommandExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardedPointCommandExecutorTest {
+
+    private static final long USER_ID = 1L;
+
+    ShardedPointCommandExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("같은 유저에 대한 명령은 요청한 순서대로 실행된다.")
+    void submit_ExecutesSameUserInOrder() {
+        // given
+        executor = new ShardedPointCommandExecutor(4, 1000);
+        List<Integer> executed = new ArrayList<>();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            final int order = i;
+            futures.add(executor.submit(USER_ID, () -> {
+                executed.add(order);
+                return order;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // then
+        assertThat(executed).hasSize(100).isSorted();
+    }
+
+    @Test
+    @DisplayName("명령에서 발생한 예외는 execute 호출자에게 그대로 전달된다.")
+    void execute_RethrowsCommandException() {
+        // given
+        executor = new ShardedPointCommandExecutor(2, 10);
+
+        // when & then
+        assertThatThrownBy(() -> executor.execute(USER_ID, () -> {
+            throw new IllegalArgumentException("충전 금액은 0원 이하일 수 없습니다.");
+        }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("충전 금액은 0원 이하일 수 없습니다.");
+    }
+
+    @Test
+    @DisplayName("샤드 스레드 안에서 같은 유저로 execute 를 호출하면 대기 없이 바로 실행된다.")
+    void execute_RunsInlineOnOwnShard() {
+        // given
+        executor = new ShardedPointCommandExecutor(2, 10);
+
+        // when
+        String result = executor.execute(USER_ID, () -> executor.execute(USER_ID, () -> "nested"));
+
+        // then
+        assertThat(result).isEqualTo("nested");
+    }
+
+    @Test
+    @DisplayName("메일박스가 가득 차면 RejectedExecutionException 예외가 발생한다.")
+    void submit_FailsWhenMailboxIsFull() throws InterruptedException {
+        // given: 샤드 스레드가 첫 명령에서 멈춰 있고, 메일박스 한 칸이 채워진 상태
+        executor = new ShardedPointCommandExecutor(1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(USER_ID, () -> {
+            started.countDown();
+            await(release);
+            return null;
+        });
+        started.await();
+        executor.submit(USER_ID, () -> null);
+
+        // when & then
+        assertThatThrownBy(() -> executor.submit(USER_ID, () -> null))
+                .isInstanceOf(RejectedExecutionException.class);
+        release.countDown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
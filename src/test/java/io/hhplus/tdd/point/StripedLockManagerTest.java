@@ -0,0 +1,211 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.lock.LockObserver;
+import io.hhplus.tdd.point.lock.PointBusyException;
+import io.hhplus.tdd.point.lock.StripedLockManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedLockManagerTest {
+
+    private static final long USER_ID = 1L;
+    private static final long HOT_USER_ID = 2L;
+
+    @Test
+    @DisplayName("스트라이프 수는 2의 거듭제곱으로 올림된다.")
+    void create_RoundsStripesUpToPowerOfTwo() {
+        assertThat(new StripedLockManager(1000, true, new long[0]).stripeCount()).isEqualTo(1024);
+        assertThat(new StripedLockManager(1, true, new long[0]).stripeCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("스트라이프 수가 0 이하이면 IllegalArgumentException 예외가 발생한다.")
+    void create_FailsWhenStripesIsNotPositive() {
+        assertThatThrownBy(() -> new StripedLockManager(0, true, new long[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("같은 유저에 대한 작업은 동시에 요청해도 순차적으로 실행된다.")
+    void executeWithLock_SerializesSameUser() throws InterruptedException {
+        // given
+        StripedLockManager lockManager = new StripedLockManager(16, true, new long[0]);
+        final int threadCount = 20;
+        final ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        final CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+        final long[] counter = {0L};
+
+        // when: 락 없이는 갱신이 유실되는 읽기-쓰기를 동시에 수행
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    lockManager.executeWithLock(USER_ID, () -> {
+                        long current = counter[0];
+                        Thread.yield();
+                        counter[0] = current + 1;
+                        return null;
+                    });
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+        countDownLatch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(counter[0]).isEqualTo(threadCount);
+    }
+
+    @Test
+    @DisplayName("전용 락이 지정된 유저는 같은 스트라이프의 다른 유저가 락을 잡고 있어도 기다리지 않는다.")
+    void executeWithLock_HotUserDoesNotShareStripe() throws Exception {
+        // given: 스트라이프가 하나뿐이라 전용 락이 없다면 모든 유저가 같은 락을 공유한다.
+        StripedLockManager lockManager = new StripedLockManager(1, true, new long[]{HOT_USER_ID});
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> lockManager.executeWithLock(USER_ID, () -> {
+            locked.countDown();
+            await(release);
+            return null;
+        }));
+        locked.await();
+
+        // when
+        String result = CompletableFuture.supplyAsync(() -> lockManager.executeWithLock(HOT_USER_ID, () -> "done"))
+                .get(1, TimeUnit.SECONDS);
+
+        // then
+        assertThat(result).isEqualTo("done");
+        release.countDown();
+        holder.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("락을 해제하면 관찰자에게 대기 시간과 점유 시간이 전달되고, 바로 잡은 경우 대기 시간은 0 이다.")
+    void executeWithLock_NotifiesObserverWithWaitAndHoldTime() throws Exception {
+        // given
+        List<long[]> records = new CopyOnWriteArrayList<>();
+        StripedLockManager lockManager = new StripedLockManager(16, true, new long[0],
+                (userId, waitNanos, holdNanos) -> records.add(new long[]{userId, waitNanos, holdNanos}));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> lockManager.executeWithLock(USER_ID, () -> {
+            locked.countDown();
+            await(release);
+            return null;
+        }));
+        locked.await();
+
+        // when: 락을 잡고 있는 동안 같은 유저가 락을 기다린다.
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> lockManager.executeWithLock(USER_ID, () -> "done"));
+        while (lockManager.queuedThreadCount() == 0) {
+            Thread.onSpinWait();
+        }
+        assertThat(lockManager.lockedCount()).isEqualTo(1);
+        release.countDown();
+        holder.get(1, TimeUnit.SECONDS);
+        waiter.get(1, TimeUnit.SECONDS);
+
+        // then
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0)[0]).isEqualTo(USER_ID);
+        assertThat(records.get(0)[1]).isZero();
+        assertThat(records.get(0)[2]).isPositive();
+        assertThat(records.get(1)[1]).isPositive();
+    }
+
+    @Test
+    @DisplayName("락 대기 시간이 지나도록 락을 잡지 못하면 기다리지 않고 PointBusyException 예외가 발생한다.")
+    void executeWithLock_FailsFastAfterLockTimeout() throws Exception {
+        // given
+        StripedLockManager lockManager = new StripedLockManager(16, true, new long[0], 50L, LockObserver.NOOP);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> lockManager.executeWithLock(USER_ID, () -> {
+            locked.countDown();
+            await(release);
+            return null;
+        }));
+        locked.await();
+
+        // when & then
+        assertThatThrownBy(() -> lockManager.executeWithLock(USER_ID, () -> "done"))
+                .isInstanceOf(PointBusyException.class);
+        release.countDown();
+        holder.get(1, TimeUnit.SECONDS);
+        assertThat(lockManager.executeWithLock(USER_ID, () -> "done")).isEqualTo("done");
+    }
+
+    @Test
+    @DisplayName("락 대기 시간은 체인에 들어온 때부터 재므로, 체인에서 이미 대기 시간을 다 쓴 작업은 락이 비어 있어도 거절된다.")
+    void executeWithLock_MeasuresTimeoutFromQueuedAt() {
+        // given
+        StripedLockManager lockManager = new StripedLockManager(16, true, new long[0], 50L, LockObserver.NOOP);
+        long queuedAt = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(60L);
+
+        // when & then
+        assertThatThrownBy(() -> lockManager.executeWithLock(USER_ID, queuedAt, 3, () -> "late"))
+                .isInstanceOf(PointBusyException.class);
+        assertThat(lockManager.executeWithLock(USER_ID, System.nanoTime(), 3, () -> "on time")).isEqualTo("on time");
+    }
+
+    @Test
+    @DisplayName("스트라이프를 공유하는 다른 유저의 락을 기다리면 경합 원인은 락을 잡고 있던 유저로 전달된다.")
+    void executeWithLock_ReportsHolderAsContentionCause() throws Exception {
+        // given: 스트라이프가 하나뿐이라 두 유저가 같은 락을 공유한다.
+        List<long[]> contentions = new CopyOnWriteArrayList<>();
+        StripedLockManager lockManager = new StripedLockManager(1, true, new long[0], new LockObserver() {
+            @Override
+            public void onContended(long userId, long holderUserId, int queueLength, long waitNanos) {
+                contentions.add(new long[]{userId, holderUserId, waitNanos});
+            }
+
+            @Override
+            public void onUnlocked(long userId, long waitNanos, long holdNanos) {
+            }
+        });
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> lockManager.executeWithLock(HOT_USER_ID, () -> {
+            locked.countDown();
+            await(release);
+            return null;
+        }));
+        locked.await();
+
+        // when
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> lockManager.executeWithLock(USER_ID, () -> "done"));
+        while (lockManager.queuedThreadCount() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        holder.get(1, TimeUnit.SECONDS);
+        waiter.get(1, TimeUnit.SECONDS);
+
+        // then
+        assertThat(contentions).hasSize(1);
+        assertThat(contentions.get(0)[0]).isEqualTo(USER_ID);
+        assertThat(contentions.get(0)[1]).isEqualTo(HOT_USER_ID);
+        assertThat(contentions.get(0)[2]).isPositive();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.domain.PointHistory;
+import io.hhplus.tdd.point.domain.TransactionType;
+import io.hhplus.tdd.point.infrastructure.PointHistoryStore;
+import io.hhplus.tdd.point.infrastructure.TablePointHistoryStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TablePointHistoryStoreTest {
+
+    private static final long USER_ID = 1L;
+    private static final long OTHER_USER_ID = 2L;
+
+    PointHistoryStore pointHistoryStore = new TablePointHistoryStore(new PointHistoryTable());
+
+    @Test
+    @DisplayName("유저별 내역 조회 시 해당 유저의 내역만 기록된 순서대로 반환된다.")
+    void selectAllByUserId_ReturnsOnlyUserHistoriesInOrder() {
+        // given
+        pointHistoryStore.insert(USER_ID, 1000L, TransactionType.CHARGE, 1L);
+        pointHistoryStore.insert(OTHER_USER_ID, 500L, TransactionType.CHARGE, 2L);
+        pointHistoryStore.insert(USER_ID, -300L, TransactionType.USE, 3L);
+
+        // when
+        List<PointHistory> histories = pointHistoryStore.selectAllByUserId(USER_ID);
+
+        // then
+        assertThat(histories).extracting(PointHistory::userId).containsOnly(USER_ID);
+        assertThat(histories).extracting(PointHistory::amount).containsExactly(1000L, -300L);
+    }
+
+    @Test
+    @DisplayName("내역이 없는 유저를 조회하면 빈 목록이 반환된다.")
+    void selectAllByUserId_ReturnsEmptyWhenNoHistory() {
+        assertThat(pointHistoryStore.selectAllByUserId(USER_ID)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 내역을 기록해도 모든 내역이 고유한 ID로 인덱싱된다.")
+    void insert_IsSafeUnderConcurrentInserts() throws InterruptedException {
+        // given
+        final int threadCount = 10;
+        final ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        final CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            final long userId = i % 2 == 0 ? USER_ID : OTHER_USER_ID;
+            executorService.submit(() -> {
+                try {
+                    pointHistoryStore.insert(userId, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+        countDownLatch.await();
+        executorService.shutdown();
+
+        // then
+        List<PointHistory> userHistories = pointHistoryStore.selectAllByUserId(USER_ID);
+        List<PointHistory> otherUserHistories = pointHistoryStore.selectAllByUserId(OTHER_USER_ID);
+        assertThat(userHistories).hasSize(5);
+        assertThat(otherUserHistories).hasSize(5);
+        assertThat(userHistories).extracting(PointHistory::id).doesNotContainAnyElementsOf(
+                otherUserHistories.stream().map(PointHistory::id).toList());
+    }
+
+    @Test
+    @DisplayName("커서 이후의 내역을 limit 건까지 ID 순서대로 조회한다.")
+    void selectByUserId_ReturnsHistoriesAfterCursor() {
+        // given
+        for (long millis = 1; millis <= 5; millis++) {
+            pointHistoryStore.insert(USER_ID, 100L * millis, TransactionType.CHARGE, millis);
+        }
+        long cursor = pointHistoryStore.selectAllByUserId(USER_ID).get(1).id();
+
+        // when
+        List<PointHistory> histories = pointHistoryStore.selectByUserId(USER_ID, cursor, Long.MIN_VALUE, Long.MAX_VALUE, 2);
+
+        // then
+        assertThat(histories).extracting(PointHistory::amount).containsExactly(300L, 400L);
+    }
+
+    @Test
+    @DisplayName("조회 기간이 주어지면 updateMillis 가 기간 안에 드는 내역만 조회한다.")
+    void selectByUserId_ReturnsHistoriesInPeriod() {
+        // given
+        for (long millis = 1; millis <= 5; millis++) {
+            pointHistoryStore.insert(USER_ID, 100L * millis, TransactionType.CHARGE, millis * 1000L);
+        }
+
+        // when
+        List<PointHistory> histories = pointHistoryStore.selectByUserId(USER_ID, 0L, 2000L, 4000L, 10);
+
+        // then
+        assertThat(histories).extracting(PointHistory::updateMillis).containsExactly(2000L, 3000L, 4000L);
+    }
+}
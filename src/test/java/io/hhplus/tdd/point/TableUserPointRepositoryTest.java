@@ -0,0 +1,101 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.infrastructure.TableUserPointRepository;
+import io.hhplus.tdd.point.infrastructure.VersionedUserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TableUserPointRepositoryTest {
+
+    private static final long USER_ID = 1L;
+
+    @Mock
+    UserPointTable userPointTable;
+
+    @Test
+    @DisplayName("버전을 들면 저장할 때마다 버전이 오르고, 버전이 같을 때만 조건부 저장이 반영된다.")
+    void compareAndSet_SavesOnlyWhenVersionMatches() {
+        // given
+        TableUserPointRepository repository = new TableUserPointRepository(userPointTable, true);
+        when(userPointTable.insertOrUpdate(USER_ID, 1_000L)).thenReturn(new UserPoint(USER_ID, 1_000L, 1L));
+        when(userPointTable.insertOrUpdate(USER_ID, 1_500L)).thenReturn(new UserPoint(USER_ID, 1_500L, 2L));
+        repository.insertOrUpdate(USER_ID, 1_000L);
+
+        // when
+        VersionedUserPoint stale = repository.compareAndSet(USER_ID, 0L, 9_999L, ignored -> { });
+        VersionedUserPoint saved = repository.compareAndSet(USER_ID, 1L, 1_500L, ignored -> { });
+
+        // then
+        assertThat(stale).isNull();
+        assertThat(saved).isEqualTo(new VersionedUserPoint(new UserPoint(USER_ID, 1_500L, 2L), 2L));
+    }
+
+    @Test
+    @DisplayName("버전을 들지 않으면 버전 조회와 조건부 저장에 IllegalStateException 예외가 발생한다.")
+    void compareAndSet_FailsWhenNotVersioned() {
+        // given
+        TableUserPointRepository repository = new TableUserPointRepository(userPointTable);
+
+        // when & then
+        assertThatThrownBy(() -> repository.selectVersionedById(USER_ID))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> repository.compareAndSet(USER_ID, 0L, 1_000L, ignored -> { }))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("서로 다른 유저의 저장과 복구도 UserPointTable 에 동시에 쓰지 않는다.")
+    void insertOrUpdate_SerializesTableWritesAcrossUsers() throws InterruptedException {
+        // given
+        TableUserPointRepository repository = new TableUserPointRepository(userPointTable);
+        AtomicInteger writing = new AtomicInteger();
+        AtomicInteger maxWriting = new AtomicInteger();
+        when(userPointTable.insertOrUpdate(anyLong(), anyLong())).thenAnswer(invocation -> {
+            maxWriting.accumulateAndGet(writing.incrementAndGet(), Math::max);
+            TimeUnit.MILLISECONDS.sleep(1);
+            writing.decrementAndGet();
+            return new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 0L);
+        });
+        final int threadCount = 40;
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        CountDownLatch countDownLatch = new CountDownLatch(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            final long userId = i + 1;
+            executorService.submit(() -> {
+                try {
+                    if (userId % 2 == 0) {
+                        repository.insertOrUpdate(userId, 100L);
+                    } else {
+                        repository.restore(userId, 100L, 1L);
+                    }
+                } finally {
+                    countDownLatch.countDown();
+                }
+            });
+        }
+        countDownLatch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(maxWriting.get()).isEqualTo(1);
+    }
+}
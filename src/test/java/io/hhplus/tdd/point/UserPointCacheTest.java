@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.domain.UserPoint;
+import io.hhplus.tdd.point.infrastructure.UserPointCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserPointCacheTest {
+
+    @Test
+    @DisplayName("캐시에 있는 유저는 hit, 없는 유저는 miss 로 집계된다.")
+    void get_CountsHitAndMiss() {
+        // given
+        UserPointCache cache = new UserPointCache(10);
+        cache.put(new UserPoint(1L, 1000L, 0L));
+
+        // when
+        UserPoint hit = cache.get(1L);
+        UserPoint miss = cache.get(2L);
+
+        // then
+        assertThat(hit.point()).isEqualTo(1000L);
+        assertThat(miss).isNull();
+        assertThat(cache.stats().hitCount()).isEqualTo(1L);
+        assertThat(cache.stats().missCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용되지 않은 유저부터 제거된다.")
+    void put_EvictsLeastRecentlyUsed() {
+        // given
+        UserPointCache cache = new UserPointCache(2);
+        cache.put(new UserPoint(1L, 100L, 0L));
+        cache.put(new UserPoint(2L, 200L, 0L));
+        cache.get(1L);
+
+        // when
+        cache.put(new UserPoint(3L, 300L, 0L));
+
+        // then
+        assertThat(cache.peek(1L)).isNotNull();
+        assertThat(cache.peek(2L)).isNull();
+        assertThat(cache.peek(3L)).isNotNull();
+        assertThat(cache.stats().evictionCount()).isEqualTo(1L);
+        assertThat(cache.stats().size()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("같은 유저를 다시 저장하면 최신 포인트로 갱신된다.")
+    void put_OverwritesExistingUser() {
+        // given
+        UserPointCache cache = new UserPointCache(10);
+        cache.put(new UserPoint(1L, 100L, 0L));
+
+        // when
+        cache.put(new UserPoint(1L, 700L, 1L));
+
+        // then
+        assertThat(cache.peek(1L).point()).isEqualTo(700L);
+        assertThat(cache.stats().size()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("최대 크기가 0이면 아무것도 저장하지 않는다.")
+    void put_DisabledWhenMaxSizeIsZero() {
+        // given
+        UserPointCache cache = new UserPointCache(0);
+
+        // when
+        cache.put(new UserPoint(1L, 100L, 0L));
+
+        // then
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("최대 크기가 음수이면 IllegalArgumentException 예외가 발생한다.")
+    void create_FailsWhenMaxSizeIsNegative() {
+        assertThatThrownBy(() -> new UserPointCache(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}